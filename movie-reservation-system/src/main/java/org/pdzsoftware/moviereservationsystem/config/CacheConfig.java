@@ -1,20 +1,76 @@
 package org.pdzsoftware.moviereservationsystem.config;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
+import org.pdzsoftware.moviereservationsystem.util.CatalogVersions;
+import org.pdzsoftware.moviereservationsystem.util.TwoTierCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig {
+    public static final String MOVIES_CACHE = "movies";
+    public static final String MOVIE_PAGES_CACHE = "movie-pages";
+    public static final String SESSION_PAGES_CACHE = "session-pages";
+    public static final String SESSION_DETAILS_CACHE = "session-details";
+
+    // Specs use the caffeine spec syntax, stats are always recorded so hit rates show up under cache.gets
+    @Value("${app.cache.movies.spec:maximumSize=2000,expireAfterWrite=10m}")
+    private String moviesSpec;
+    @Value("${app.cache.movies.remote-ttl-minutes:30}")
+    private long moviesRemoteTtlMinutes;
+    @Value("${app.cache.movie-pages.spec:maximumSize=5000,expireAfterWrite=1m}")
+    private String moviePagesSpec;
+    @Value("${app.cache.movie-pages.remote-ttl-minutes:5}")
+    private long moviePagesRemoteTtlMinutes;
+    @Value("${app.cache.session-pages.spec:maximumSize=5000,expireAfterWrite=1m}")
+    private String sessionPagesSpec;
+    @Value("${app.cache.session-pages.remote-ttl-minutes:2}")
+    private long sessionPagesRemoteTtlMinutes;
+    @Value("${app.cache.session-details.spec:maximumSize=2000,expireAfterWrite=5m}")
+    private String sessionDetailsSpec;
+    @Value("${app.cache.invalidation-channel:catalog-cache-invalidations}")
+    private String invalidationChannel;
+
     @Bean
-    public CacheManager cacheManager() {
-        // TODO: implement caffeine dynamic caching to improve performance
-        return new CaffeineCacheManager();
+    public CacheManager cacheManager(RedisTemplate<String, String> template,
+                                     ObjectMapper objectMapper,
+                                     CatalogVersions catalogVersions,
+                                     MeterRegistry meterRegistry) {
+        ObjectMapper compactMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                buildTwoTierCache(MOVIES_CACHE, moviesSpec, moviesRemoteTtlMinutes,
+                        TwoTierCache.jsonCodec(compactMapper, MovieResponse.class), template, catalogVersions, meterRegistry),
+                buildTwoTierCache(MOVIE_PAGES_CACHE, moviePagesSpec, moviePagesRemoteTtlMinutes,
+                        TwoTierCache.pageCodec(compactMapper, MovieResponse.class), template, catalogVersions, meterRegistry),
+                buildTwoTierCache(SESSION_PAGES_CACHE, sessionPagesSpec, sessionPagesRemoteTtlMinutes,
+                        TwoTierCache.pageCodec(compactMapper, SessionResponse.class), template, catalogVersions, meterRegistry),
+                new CaffeineCache(SESSION_DETAILS_CACHE, buildCache(SESSION_DETAILS_CACHE, sessionDetailsSpec))
+        ));
+
+        return cacheManager;
     }
 
     @Bean
@@ -23,4 +79,26 @@ public class CacheConfig {
         container.setConnectionFactory(connectionFactory);
         return container;
     }
+
+    private TwoTierCache buildTwoTierCache(String name,
+                                           String spec,
+                                           long remoteTtlMinutes,
+                                           TwoTierCache.Codec codec,
+                                           RedisTemplate<String, String> template,
+                                           CatalogVersions catalogVersions,
+                                           MeterRegistry meterRegistry) {
+        Cache<String, Object> localCache = buildCache(name, spec);
+
+        // Boot only binds metrics for cache types it knows, so the local tier is monitored here
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name);
+
+        // Catalog ETags change along with the evicted entries
+        return new TwoTierCache(name, localCache, template, codec,
+                Duration.ofMinutes(remoteTtlMinutes), invalidationChannel, catalogVersions::bump, meterRegistry);
+    }
+
+    private static <K, V> Cache<K, V> buildCache(String name, String spec) {
+        log.info("[CacheConfig] Configuring cache: {} with spec: {}", name, spec);
+        return Caffeine.from(spec).recordStats().build();
+    }
 }
@@ -0,0 +1,18 @@
+package org.pdzsoftware.moviereservationsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class JobConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService reconciliationExecutor(@Value("${app.jobs.reconciliation.parallelism:8}") int parallelism) {
+        // Java 17 has no virtual threads, so a small fixed pool bounds the concurrent payment provider calls
+        return Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("booking-reconciliation-"));
+    }
+}
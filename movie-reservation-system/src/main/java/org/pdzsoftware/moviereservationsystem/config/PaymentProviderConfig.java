@@ -0,0 +1,77 @@
+package org.pdzsoftware.moviereservationsystem.config;
+
+import com.stripe.StripeClient;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Configuration
+public class PaymentProviderConfig {
+    private static final String PAYMENT_PROVIDER = "payment-provider";
+
+    @Value("${app.payments.provider.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Bean
+    @Profile("!simulated-payments")
+    public StripeClient stripeClient(@Value("${stripe.api-key}") String apiKey,
+                                     @Value("${app.payments.provider.connect-timeout-ms:2000}") int connectTimeoutMs,
+                                     @Value("${app.payments.provider.read-timeout-ms:8000}") int readTimeoutMs,
+                                     @Value("${app.payments.provider.max-network-retries:1}") int maxNetworkRetries) {
+        // Concurrency is capped by the bulkhead below rather than by the connection pool, which is JVM-wide
+        return StripeClient.builder()
+                .setApiKey(apiKey)
+                .setConnectTimeout(connectTimeoutMs)
+                .setReadTimeout(readTimeoutMs)
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+    }
+
+    @Bean
+    public Bulkhead paymentProviderBulkhead(MeterRegistry meterRegistry,
+                                            @Value("${app.payments.provider.max-wait-ms:100}") long maxWaitMs) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMs))
+                .build());
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(PAYMENT_PROVIDER);
+    }
+
+    @Bean
+    public CircuitBreaker paymentProviderCircuitBreaker(MeterRegistry meterRegistry,
+                                                        @Value("${app.payments.provider.failure-rate-threshold:50}") float failureRateThreshold,
+                                                        @Value("${app.payments.provider.slow-call-threshold-ms:3000}") long slowCallThresholdMs,
+                                                        @Value("${app.payments.provider.open-state-wait-ms:30000}") long openStateWaitMs) {
+        // Only provider side failures count, a rejected request (e.g. already expired session) says nothing about its health
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(50)
+                .minimumNumberOfCalls(20)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .waitDurationInOpenState(Duration.ofMillis(openStateWaitMs))
+                .permittedNumberOfCallsInHalfOpenState(5)
+                .recordExceptions(ApiConnectionException.class, ApiException.class, RateLimitException.class)
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(PAYMENT_PROVIDER);
+    }
+}
@@ -50,10 +50,15 @@ public class SecurityConfig {
                         .requestMatchers(builder.matcher(POST, "/api/auth/refresh-token")).permitAll()
                         .requestMatchers(builder.matcher(DELETE, "/api/auth/logout")).permitAll()
                         .requestMatchers(builder.matcher(GET, "/api/movies")).permitAll()
+                        .requestMatchers(builder.matcher(GET, "/api/movies/autocomplete")).permitAll()
+                        .requestMatchers(builder.matcher(GET, "/api/movies/scroll")).permitAll()
                         .requestMatchers(builder.matcher(GET, "/api/movies/{id}")).permitAll()
                         .requestMatchers(builder.matcher(GET, "/api/movies/{id}/sessions")).permitAll()
+                        .requestMatchers(builder.matcher(GET, "/api/movies/{id}/sessions/scroll")).permitAll()
                         .requestMatchers(builder.matcher(PATCH, "/api/bookings/validate-qr-code")).permitAll()
                         .requestMatchers(builder.matcher(POST, "/api/webhooks/stripe")).permitAll()
+                        // Only mapped when the simulated-payments profile is active
+                        .requestMatchers(builder.matcher(POST, "/api/simulated-payments/checkouts/{checkoutId}/pay")).permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
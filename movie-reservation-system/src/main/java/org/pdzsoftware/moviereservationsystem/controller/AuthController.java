@@ -5,13 +5,14 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.pdzsoftware.moviereservationsystem.dto.AuthTokensDto;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
 import org.pdzsoftware.moviereservationsystem.dto.request.LoginRequest;
 import org.pdzsoftware.moviereservationsystem.dto.request.SignupRequest;
 import org.pdzsoftware.moviereservationsystem.service.AuthService;
-import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
-    private final JwtUtils jwtUtils;
 
     @GetMapping("/check")
     public ResponseEntity<Void> checkAuth(@CookieValue("refreshToken") String refreshToken) {
@@ -32,9 +32,9 @@ public class AuthController {
 
     @PostMapping("/ws")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<String> authForWebsocket(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<String> authForWebsocket(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                                    @RequestParam String clientId) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
         return ResponseEntity.status(HttpStatus.CREATED).body(authService.authForWebsocket(userId, clientId));
     }
 
@@ -3,20 +3,22 @@ package org.pdzsoftware.moviereservationsystem.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
 import org.pdzsoftware.moviereservationsystem.dto.request.BookingRequest;
 import org.pdzsoftware.moviereservationsystem.dto.request.CheckoutInfoRequest;
 import org.pdzsoftware.moviereservationsystem.dto.request.TokenRequest;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
 import org.pdzsoftware.moviereservationsystem.usecase.*;
-import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -33,21 +35,19 @@ public class BookingController {
     private final GetUserBookingsUseCase getUserBookings;
     private final CancelBookingUseCase cancelBooking;
 
-    private final JwtUtils jwtUtils;
-
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<BookingResponse> createBooking(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<BookingResponse> createBooking(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                                          @RequestBody @Valid BookingRequest bookingRequest) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
         return ResponseEntity.status(HttpStatus.CREATED).body(createBooking.execute(userId, bookingRequest));
     }
 
     @PostMapping("/{id}/qr-code")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<byte[]> createQrCode(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<byte[]> createQrCode(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                                @PathVariable Long id) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
 
         byte[] qrCode = createQrCode.execute(id, userId);
 
@@ -66,27 +66,37 @@ public class BookingController {
 
     @PatchMapping("/{id}/try-confirming")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<Boolean> tryConfirmingPayment(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<Boolean> tryConfirmingPayment(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                                         @RequestBody @Valid CheckoutInfoRequest checkoutInfoRequest,
                                                         @PathVariable Long id) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
         return ResponseEntity.status(HttpStatus.OK).body(tryConfirmingPayment.execute(userId, id, checkoutInfoRequest));
     }
 
     @GetMapping
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<Page<BookingDetailedResponse>> getUserBookings(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<Page<BookingDetailedResponse>> getUserBookings(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                                                          @RequestParam(required = false) List<BookingStatus> statuses,
                                                                          @RequestParam(defaultValue = "0") int page) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
         return ResponseEntity.status(HttpStatus.OK).body(getUserBookings.execute(userId, statuses, page));
     }
 
+    // Keyset alternative to the paged listing, deep slices cost the same as the first one
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<CursorSliceResponse<BookingDetailedResponse>> scrollUserBookings(@AuthenticationPrincipal AuthenticatedUserDto principal,
+                                                                                           @RequestParam(required = false) List<BookingStatus> statuses,
+                                                                                           @RequestParam(required = false) String cursor) {
+        Long userId = principal.getUserId();
+        return ResponseEntity.status(HttpStatus.OK).body(getUserBookings.scroll(userId, statuses, cursor));
+    }
+
     @PatchMapping("/{id}/cancel")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<Void> cancelBooking(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<Void> cancelBooking(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                               @PathVariable Long id) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
         cancelBooking.execute(userId, id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
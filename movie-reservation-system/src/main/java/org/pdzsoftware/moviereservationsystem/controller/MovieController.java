@@ -2,20 +2,29 @@ package org.pdzsoftware.moviereservationsystem.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieSuggestionResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
 import org.pdzsoftware.moviereservationsystem.usecase.GetMovieListUseCase;
 import org.pdzsoftware.moviereservationsystem.usecase.GetMovieSessionsUseCase;
+import org.pdzsoftware.moviereservationsystem.usecase.GetMovieSuggestionsUseCase;
 import org.pdzsoftware.moviereservationsystem.usecase.GetMovieUseCase;
+import org.pdzsoftware.moviereservationsystem.util.CatalogVersions;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -25,17 +34,51 @@ public class MovieController {
     private final GetMovieListUseCase getMovieList;
     private final GetMovieUseCase getMovie;
     private final GetMovieSessionsUseCase getMovieSessions;
+    private final GetMovieSuggestionsUseCase getMovieSuggestions;
+    private final CatalogVersions catalogVersions;
+
+    // Also the ETag time bucket, so a tag never outlives what a cache in front may serve on its own
+    @Value("${app.http.catalog-max-age-seconds:60}")
+    private long catalogMaxAgeSeconds;
+    @Value("${app.http.sessions-max-age-seconds:10}")
+    private long sessionsMaxAgeSeconds;
 
     @GetMapping
     public ResponseEntity<Page<MovieResponse>> getMovieList(@RequestParam(required = false) String search,
                                                             @RequestParam(required = false) List<MovieGenre> genres,
-                                                            @RequestParam(defaultValue = "0") int page) {
-        return ResponseEntity.status(HttpStatus.OK).body(getMovieList.execute(search, genres, page));
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            WebRequest request) {
+        Duration maxAge = Duration.ofSeconds(catalogMaxAgeSeconds);
+        String eTag = catalogVersions.catalogETag(maxAge);
+
+        return conditionally(request, eTag, maxAge, () -> getMovieList.execute(search, genres, page));
+    }
+
+    // Keyset alternative to the paged listing, deep slices cost the same as the first one
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorSliceResponse<MovieResponse>> scrollMovieList(@RequestParam(required = false) String search,
+                                                                              @RequestParam(required = false) List<MovieGenre> genres,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              WebRequest request) {
+        Duration maxAge = Duration.ofSeconds(catalogMaxAgeSeconds);
+        String eTag = catalogVersions.catalogETag(maxAge);
+
+        return conditionally(request, eTag, maxAge, () -> getMovieList.scroll(search, genres, cursor));
+    }
+
+    // Served from the in-memory title index, no query runs per keystroke
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<MovieSuggestionResponse>> getMovieSuggestions(@RequestParam String query,
+                                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(getMovieSuggestions.execute(query, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MovieResponse> getMovie(@PathVariable Long id) {
-        return ResponseEntity.status(HttpStatus.OK).body(getMovie.execute(id));
+    public ResponseEntity<MovieResponse> getMovie(@PathVariable Long id, WebRequest request) {
+        Duration maxAge = Duration.ofSeconds(catalogMaxAgeSeconds);
+        String eTag = catalogVersions.movieETag(id, maxAge);
+
+        return conditionally(request, eTag, maxAge, () -> getMovie.execute(id));
     }
 
     @GetMapping("/{id}/sessions")
@@ -44,7 +87,49 @@ public class MovieController {
                                                                   @DateTimeFormat(pattern = "yyyy/MM/dd")
                                                                   LocalDate sessionDate,
                                                                   @RequestParam(required = false) Long theaterId,
-                                                                  @RequestParam(defaultValue = "0") int page) {
-        return ResponseEntity.status(HttpStatus.OK).body(getMovieSessions.execute(id, sessionDate, theaterId, page));
+                                                                  @RequestParam(defaultValue = "0") int page,
+                                                                  WebRequest request) {
+        // Shorter lived, seat availability is part of the response
+        Duration maxAge = Duration.ofSeconds(sessionsMaxAgeSeconds);
+        String eTag = catalogVersions.movieETag(id, maxAge);
+
+        return conditionally(request, eTag, maxAge, () -> getMovieSessions.execute(id, sessionDate, theaterId, page));
+    }
+
+    @GetMapping("/{id}/sessions/scroll")
+    public ResponseEntity<CursorSliceResponse<SessionResponse>> scrollMovieSessions(@PathVariable Long id,
+                                                                                    @RequestParam(required = false)
+                                                                                    @DateTimeFormat(pattern = "yyyy/MM/dd")
+                                                                                    LocalDate sessionDate,
+                                                                                    @RequestParam(required = false) Long theaterId,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    WebRequest request) {
+        Duration maxAge = Duration.ofSeconds(sessionsMaxAgeSeconds);
+        String eTag = catalogVersions.movieETag(id, maxAge);
+
+        return conditionally(request, eTag, maxAge, () -> getMovieSessions.scroll(id, sessionDate, theaterId, cursor));
+    }
+
+    // The body is only built when the client's copy is stale, without an ETag it's always built
+    private static <T> ResponseEntity<T> conditionally(WebRequest request,
+                                                       String eTag,
+                                                       Duration maxAge,
+                                                       Supplier<T> body) {
+        if (eTag == null) {
+            return ResponseEntity.status(HttpStatus.OK).cacheControl(publicFor(maxAge)).body(body.get());
+        }
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(publicFor(maxAge)).build();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(eTag)
+                .cacheControl(publicFor(maxAge))
+                .body(body.get());
+    }
+
+    private static CacheControl publicFor(Duration maxAge) {
+        return CacheControl.maxAge(maxAge).cachePublic();
     }
 }
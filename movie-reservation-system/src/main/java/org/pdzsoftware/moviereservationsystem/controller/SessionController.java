@@ -1,14 +1,15 @@
 package org.pdzsoftware.moviereservationsystem.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse;
 import org.pdzsoftware.moviereservationsystem.usecase.GetSessionDetailedUseCase;
 import org.pdzsoftware.moviereservationsystem.usecase.ReleaseSeatFromCacheUseCase;
 import org.pdzsoftware.moviereservationsystem.usecase.ReserveSeatInCacheUseCase;
-import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,8 +20,6 @@ public class SessionController {
     private final ReserveSeatInCacheUseCase reserveSeatInCache;
     private final ReleaseSeatFromCacheUseCase releaseSeatFromCache;
 
-    private final JwtUtils jwtUtils;
-
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<SessionDetailedResponse> getSessionDetailed(@PathVariable Long id) {
@@ -29,22 +28,22 @@ public class SessionController {
 
     @PostMapping("/{id}/seats/{seatId}/cache")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<Void> reserveSeatInCache(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<Void> reserveSeatInCache(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                                    @PathVariable Long id,
                                                    @PathVariable Long seatId,
                                                    @RequestParam String clientId) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
         reserveSeatInCache.execute(userId, id, seatId, clientId);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
     @DeleteMapping("/{id}/seats/{seatId}/cache")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<Void> releaseSeatFromCache(@CookieValue("accessToken") String accessToken,
+    public ResponseEntity<Void> releaseSeatFromCache(@AuthenticationPrincipal AuthenticatedUserDto principal,
                                                      @PathVariable Long id,
                                                      @PathVariable Long seatId,
                                                      @RequestParam String clientId) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+        Long userId = principal.getUserId();
         releaseSeatFromCache.execute(userId, id, seatId, clientId);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
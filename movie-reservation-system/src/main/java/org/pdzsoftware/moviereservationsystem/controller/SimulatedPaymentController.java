@@ -0,0 +1,24 @@
+package org.pdzsoftware.moviereservationsystem.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.pdzsoftware.moviereservationsystem.service.impl.SimulatedPaymentService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import static org.pdzsoftware.moviereservationsystem.service.impl.SimulatedPaymentService.SIMULATED_PAYMENTS_PATH;
+
+@RestController
+@Profile("simulated-payments")
+@RequestMapping(SIMULATED_PAYMENTS_PATH)
+@RequiredArgsConstructor
+public class SimulatedPaymentController {
+    private final SimulatedPaymentService simulatedPaymentService;
+
+    // Stands in for the provider's hosted checkout page, returns whether the simulated payment succeeded
+    @PostMapping("/checkouts/{checkoutId}/pay")
+    public ResponseEntity<Boolean> payCheckout(@PathVariable String checkoutId) {
+        return ResponseEntity.status(HttpStatus.OK).body(simulatedPaymentService.completeCheckout(checkoutId));
+    }
+}
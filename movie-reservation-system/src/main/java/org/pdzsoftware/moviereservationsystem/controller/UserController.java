@@ -1,13 +1,13 @@
 package org.pdzsoftware.moviereservationsystem.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.UserProfileResponse;
 import org.pdzsoftware.moviereservationsystem.usecase.GetUserProfileUseCase;
-import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,12 +18,10 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController {
     private final GetUserProfileUseCase getUserProfile;
 
-    private final JwtUtils jwtUtils;
-
     @GetMapping("/fromToken")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<UserProfileResponse> getUserProfileFromToken(@CookieValue("accessToken") String accessToken) {
-        Long userId = jwtUtils.getUserIdFromToken(accessToken);
+    public ResponseEntity<UserProfileResponse> getUserProfileFromToken(@AuthenticationPrincipal AuthenticatedUserDto principal) {
+        Long userId = principal.getUserId();
         return ResponseEntity.status(HttpStatus.OK).body(getUserProfile.execute(userId));
     }
 }
\ No newline at end of file
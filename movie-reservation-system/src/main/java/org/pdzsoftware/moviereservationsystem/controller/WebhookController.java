@@ -5,7 +5,7 @@ import com.stripe.model.Event;
 import com.stripe.net.Webhook;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.pdzsoftware.moviereservationsystem.service.impl.StripeWebhookService;
+import org.pdzsoftware.moviereservationsystem.service.impl.WebhookInboxService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,7 +19,7 @@ public class WebhookController {
     @Value("${stripe.webhook-secret}")
     private String webhookSecret;
 
-    private final StripeWebhookService stripeWebhookService;
+    private final WebhookInboxService webhookInboxService;
 
     @PostMapping("/stripe")
     public ResponseEntity<Void> handleStripeWebhook(
@@ -27,7 +27,9 @@ public class WebhookController {
             @RequestHeader("Stripe-Signature") String sigHeader) {
         try {
             Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
-            stripeWebhookService.handleStripeEvent(event);
+
+            // Acknowledged once stored, the inbox worker handles it asynchronously
+            webhookInboxService.store(event, payload);
 
             return ResponseEntity.status(HttpStatus.OK).build();
         } catch (StripeException ex) {
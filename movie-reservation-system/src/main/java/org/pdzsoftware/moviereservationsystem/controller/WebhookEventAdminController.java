@@ -0,0 +1,24 @@
+package org.pdzsoftware.moviereservationsystem.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.pdzsoftware.moviereservationsystem.service.impl.WebhookInboxService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/webhook-events")
+@RequiredArgsConstructor
+public class WebhookEventAdminController {
+    private final WebhookInboxService webhookInboxService;
+
+    // Returns how many failed events were queued again
+    @PostMapping("/redrive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> redriveFailedEvents() {
+        return ResponseEntity.status(HttpStatus.OK).body(webhookInboxService.redriveFailed());
+    }
+}
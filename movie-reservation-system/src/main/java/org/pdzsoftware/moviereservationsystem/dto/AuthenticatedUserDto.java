@@ -0,0 +1,22 @@
+package org.pdzsoftware.moviereservationsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.time.Instant;
+
+// Principal built from a verified token, controllers read it instead of parsing the token again
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUserDto implements AuthenticatedPrincipal {
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final Instant expiresAt;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,13 @@
+package org.pdzsoftware.moviereservationsystem.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingCheckoutRefDto {
+    private Long id;
+    private String checkoutId;
+}
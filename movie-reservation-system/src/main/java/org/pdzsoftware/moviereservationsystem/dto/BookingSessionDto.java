@@ -0,0 +1,48 @@
+package org.pdzsoftware.moviereservationsystem.dto;
+
+import lombok.Getter;
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
+import org.pdzsoftware.moviereservationsystem.enums.Language;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Session and movie of a booking, read together in one row
+@Getter
+public class BookingSessionDto {
+    private final Long bookingId;
+    private final SessionResponse session;
+    private final MovieResponse movie;
+
+    public BookingSessionDto(Long bookingId,
+                             Long sessionId,
+                             LocalDateTime startTime,
+                             LocalDateTime endTime,
+                             Language audioLanguage,
+                             boolean hasSubtitles,
+                             boolean isThreeD,
+                             BigDecimal standardSeatPrice,
+                             BigDecimal vipSeatPrice,
+                             BigDecimal pwdSeatPrice,
+                             Long theaterId,
+                             String theaterName,
+                             String theaterLogoUrl,
+                             String theaterAddress,
+                             String screenName,
+                             Long movieId,
+                             String title,
+                             String description,
+                             MovieGenre genre,
+                             int minutesDuration,
+                             String posterUrl,
+                             LocalDate releaseDate) {
+        this.bookingId = bookingId;
+        this.session = new SessionResponse(sessionId, startTime, endTime, audioLanguage, hasSubtitles, isThreeD,
+                standardSeatPrice, vipSeatPrice, pwdSeatPrice, theaterId, theaterName, theaterLogoUrl,
+                theaterAddress, screenName);
+        this.movie = new MovieResponse(movieId, title, description, genre, minutesDuration, posterUrl, releaseDate);
+    }
+}
@@ -0,0 +1,16 @@
+package org.pdzsoftware.moviereservationsystem.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovieSessionCountDto {
+    private Long movieId;
+    private long upcomingSessionCount;
+    private LocalDateTime nextStartTime;
+}
@@ -0,0 +1,15 @@
+package org.pdzsoftware.moviereservationsystem.dto;
+
+import lombok.*;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovieTitleRefDto {
+    private Long id;
+    private String title;
+    private MovieGenre genre;
+}
@@ -0,0 +1,15 @@
+package org.pdzsoftware.moviereservationsystem.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionEndRefDto {
+    private Long id;
+    private LocalDateTime endTime;
+}
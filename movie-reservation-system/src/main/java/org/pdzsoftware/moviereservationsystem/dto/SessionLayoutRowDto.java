@@ -0,0 +1,44 @@
+package org.pdzsoftware.moviereservationsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.pdzsoftware.moviereservationsystem.enums.Language;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+import org.pdzsoftware.moviereservationsystem.enums.SeatType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One seat of a session, repeated with the session, theater and movie it belongs to
+@Getter
+@AllArgsConstructor
+public class SessionLayoutRowDto {
+    private Long sessionId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Language audioLanguage;
+    private boolean hasSubtitles;
+    private boolean isThreeD;
+    private BigDecimal standardSeatPrice;
+    private BigDecimal vipSeatPrice;
+    private BigDecimal pwdSeatPrice;
+    private Long theaterId;
+    private String theaterName;
+    private String theaterLogoUrl;
+    private String theaterAddress;
+    private String screenName;
+    private Long movieId;
+    private String title;
+    private String description;
+    private MovieGenre genre;
+    private int minutesDuration;
+    private String posterUrl;
+    private LocalDate releaseDate;
+
+    // Null when the screen has no seats, the session is still returned
+    private Long seatId;
+    private String seatRow;
+    private Integer seatNumber;
+    private SeatType seatType;
+}
@@ -1,5 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import org.pdzsoftware.moviereservationsystem.enums.SeatType;
@@ -15,6 +16,10 @@ public class BookedSeatResponse {
     private SeatType seatType;
     private BigDecimal seatPrice;
 
+    // Only set by the batched lookup, to group seats back onto their bookings
+    @JsonIgnore
+    private Long bookingId;
+
     public BookedSeatResponse(Long id,
                               String seatRow,
                               int seatNumber,
@@ -26,4 +31,14 @@ public class BookedSeatResponse {
         this.seatType = seatType;
         this.seatPrice = seatPrice;
     }
+
+    public BookedSeatResponse(Long id,
+                              String seatRow,
+                              int seatNumber,
+                              SeatType seatType,
+                              BigDecimal seatPrice,
+                              Long bookingId) {
+        this(id, seatRow, seatNumber, seatType, seatPrice);
+        this.bookingId = bookingId;
+    }
 }
@@ -1,5 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Getter;
 import lombok.Setter;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
@@ -21,6 +22,10 @@ public class BookingDetailedResponse {
     private LocalDateTime expiresAt;
     private boolean checkoutCompleted;
 
+    // Only set by the keyset listing, the time its cursor sorts on
+    @JsonIgnore
+    private LocalDateTime sortTime;
+
     private MovieResponse movie;
     private SessionResponse session;
     private List<BookedSeatResponse> bookedSeats;
@@ -44,4 +49,18 @@ public class BookingDetailedResponse {
         this.expiresAt = expiresAt;
         this.checkoutCompleted = paymentIntentId != null;
     }
+
+    public BookingDetailedResponse(Long id,
+                                   BookingStatus bookingStatus,
+                                   BigDecimal totalPrice,
+                                   String checkoutId,
+                                   String checkoutUrl,
+                                   LocalDateTime createdAt,
+                                   LocalDateTime updatedAt,
+                                   LocalDateTime expiresAt,
+                                   String paymentIntentId,
+                                   LocalDateTime sortTime) {
+        this(id, bookingStatus, totalPrice, checkoutId, checkoutUrl, createdAt, updatedAt, expiresAt, paymentIntentId);
+        this.sortTime = sortTime;
+    }
 }
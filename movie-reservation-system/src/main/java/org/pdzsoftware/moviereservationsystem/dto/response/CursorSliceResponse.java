@@ -0,0 +1,16 @@
+package org.pdzsoftware.moviereservationsystem.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CursorSliceResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
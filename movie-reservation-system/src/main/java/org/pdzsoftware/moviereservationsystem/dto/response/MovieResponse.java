@@ -1,6 +1,7 @@
 package org.pdzsoftware.moviereservationsystem.dto.response;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
 
@@ -8,6 +9,7 @@ import java.time.LocalDate;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class MovieResponse {
     private Long id;
     private String title;
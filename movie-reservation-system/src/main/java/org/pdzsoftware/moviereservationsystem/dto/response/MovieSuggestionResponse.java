@@ -0,0 +1,15 @@
+package org.pdzsoftware.moviereservationsystem.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class MovieSuggestionResponse {
+    private Long id;
+    private String title;
+    private MovieGenre genre;
+}
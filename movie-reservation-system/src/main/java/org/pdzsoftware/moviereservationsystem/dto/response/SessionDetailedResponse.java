@@ -58,4 +58,11 @@ public class SessionDetailedResponse {
         this.theaterAddress = theaterAddress;
         this.screenName = screenName;
     }
+
+    // Copies the session fields, cached instances are shared and must not be modified
+    public SessionDetailedResponse(SessionDetailedResponse other) {
+        this(other.id, other.startTime, other.endTime, other.audioLanguage, other.hasSubtitles, other.isThreeD,
+                other.standardSeatPrice, other.vipSeatPrice, other.pwdSeatPrice, other.theaterId, other.theaterName,
+                other.theaterLogoUrl, other.theaterAddress, other.screenName);
+    }
 }
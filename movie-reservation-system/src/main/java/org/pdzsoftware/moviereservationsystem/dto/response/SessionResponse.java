@@ -1,6 +1,7 @@
 package org.pdzsoftware.moviereservationsystem.dto.response;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.pdzsoftware.moviereservationsystem.enums.Language;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class SessionResponse {
     private Long id;
     private LocalDateTime startTime;
@@ -55,4 +57,11 @@ public class SessionResponse {
         this.theaterAddress = theaterAddress;
         this.screenName = screenName;
     }
+
+    // Copies the session fields, cached instances are shared and must not be modified
+    public SessionResponse(SessionResponse other) {
+        this(other.id, other.startTime, other.endTime, other.audioLanguage, other.hasSubtitles, other.isThreeD,
+                other.standardSeatPrice, other.vipSeatPrice, other.pwdSeatPrice, other.theaterId, other.theaterName,
+                other.theaterLogoUrl, other.theaterAddress, other.screenName);
+    }
 }
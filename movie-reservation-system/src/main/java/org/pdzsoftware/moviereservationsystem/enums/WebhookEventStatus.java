@@ -0,0 +1,5 @@
+package org.pdzsoftware.moviereservationsystem.enums;
+
+public enum WebhookEventStatus {
+    RECEIVED, PROCESSING, PROCESSED, FAILED
+}
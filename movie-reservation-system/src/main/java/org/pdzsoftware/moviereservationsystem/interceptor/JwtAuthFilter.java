@@ -1,15 +1,16 @@
 package org.pdzsoftware.moviereservationsystem.interceptor;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
 import org.pdzsoftware.moviereservationsystem.exception.ErrorResponse;
 import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
 import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
+import org.pdzsoftware.moviereservationsystem.util.VerifiedTokenCache;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,7 +21,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 
-import static org.pdzsoftware.moviereservationsystem.util.JwtUtils.ROLE;
+import static org.pdzsoftware.moviereservationsystem.service.impl.SimulatedPaymentService.SIMULATED_PAYMENTS_PATH;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 
 @Slf4j
@@ -28,6 +29,7 @@ import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     private static final List<String> PUBLIC_ENDPOINTS = List.of(
             "/api/auth/check",
@@ -37,7 +39,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             "/api/auth/logout",
             "/api/movies",
             "/api/webhooks",
-            "/api/bookings/validate-qr-code"
+            "/api/bookings/validate-qr-code",
+            SIMULATED_PAYMENTS_PATH
     );
 
     @Override
@@ -52,30 +55,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = parseToken(req);
 
-        if (token != null) {
-            try {
-                if (!jwtUtils.isJwtValid(token)) {
-                    throw new UnauthorizedException("Invalid JWT token");
-                }
-
-                Claims claims = jwtUtils.getAllClaimsFromToken(token);
-
-                String username = claims.getSubject();
-                String role = claims.get(ROLE, String.class);
-
-                List<SimpleGrantedAuthority> authorities = Collections.singletonList(
-                        new SimpleGrantedAuthority(role));
+        try {
+            // Verified once here, controllers get the principal through @AuthenticationPrincipal.
+            // A missing token is rejected here too, instead of ending the chain with an empty response
+            AuthenticatedUserDto principal = verifiedTokenCache.verify(token);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+            List<SimpleGrantedAuthority> authorities = Collections.singletonList(
+                    new SimpleGrantedAuthority(principal.getRole()));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal, null, authorities);
 
-                filterChain.doFilter(req, res);
-            } catch (UnauthorizedException e) {
-                handleException(req, res, e);
-            }
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        } catch (UnauthorizedException e) {
+            handleException(req, res, e);
+            return;
         }
+
+        filterChain.doFilter(req, res);
     }
 
     private boolean isPublicEndpoint(String requestURI) {
@@ -3,8 +3,8 @@ package org.pdzsoftware.moviereservationsystem.interceptor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.pdzsoftware.moviereservationsystem.dto.event.ClientDisconnectedEvent;
-import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
 import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
+import org.pdzsoftware.moviereservationsystem.util.VerifiedTokenCache;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -28,6 +28,7 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
 
     private final ApplicationEventPublisher eventPublisher;
     private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -54,12 +55,7 @@ public class WebSocketChannelInterceptor implements ChannelInterceptor {
     private Long getUserIdFromHeaders(List<String> authHeaders) {
         if (authHeaders != null && !authHeaders.isEmpty()) {
             String jwt = jwtUtils.parseJwt(authHeaders.get(0));
-
-            if (!jwtUtils.isJwtValid(jwt)) {
-                throw new UnauthorizedException("Invalid JWT token");
-            }
-
-            return jwtUtils.getUserIdFromToken(jwt);
+            return verifiedTokenCache.verify(jwt).getUserId();
         } else {
             throw new IllegalArgumentException("No Authorization header in STOMP CONNECT");
         }
@@ -3,12 +3,19 @@ package org.pdzsoftware.moviereservationsystem.listener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.pdzsoftware.moviereservationsystem.dto.event.BookingCreatedEvent;
+import org.pdzsoftware.moviereservationsystem.dto.event.BookingStatusUpdatedEvent;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.util.JobScheduler;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.AWAITING_PAYMENT;
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.PAYMENT_RETRY;
 
 @Slf4j
 @Service
@@ -26,4 +33,14 @@ public class BookingExpirationListener {
                 booking.getId(), booking.getExpiresAt().plus(GRACE_PERIOD_MS, ChronoUnit.MILLIS)
         );
     }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusUpdated(BookingStatusUpdatedEvent event) {
+        Booking booking = event.getBooking();
+
+        // Once a booking left the payment statuses (paid, expired...), its expiration timer has nothing to do
+        if (!Set.of(AWAITING_PAYMENT, PAYMENT_RETRY).contains(booking.getBookingStatus())) {
+            jobScheduler.cancelBookingExpiration(booking.getId());
+        }
+    }
 }
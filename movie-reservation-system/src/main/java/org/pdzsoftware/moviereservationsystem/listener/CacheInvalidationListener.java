@@ -0,0 +1,45 @@
+package org.pdzsoftware.moviereservationsystem.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.util.TwoTierCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class CacheInvalidationListener implements MessageListener {
+    private final CacheManager cacheManager;
+
+    public CacheInvalidationListener(RedisMessageListenerContainer listenerContainer,
+                                     CacheManager cacheManager,
+                                     @Value("${app.cache.invalidation-channel:catalog-cache-invalidations}") String channel) {
+        this.cacheManager = cacheManager;
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody());
+
+        // Messages are "<cache name>:<key>", keys may contain colons themselves
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            log.warn("[CacheInvalidationListener] Ignoring malformed invalidation message: {}", body);
+            return;
+        }
+
+        String cacheName = body.substring(0, separator);
+        String cacheKey = body.substring(separator + 1);
+        Cache cache = cacheManager.getCache(cacheName);
+
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.evictLocal(cacheKey);
+        }
+    }
+}
@@ -14,6 +14,8 @@ import org.pdzsoftware.moviereservationsystem.service.SessionService;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.Set;
 
@@ -38,7 +40,8 @@ public class SeatStatusListener {
         ));
     }
 
-    @EventListener
+    // After commit, so batched webhook transitions only broadcast once they are persisted
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     public void onBookingStatusUpdated(BookingStatusUpdatedEvent event) {
         Booking booking = event.getBooking();
 
@@ -0,0 +1,23 @@
+package org.pdzsoftware.moviereservationsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "MovieSessionSummary")
+@Table(name = "tb_movie_session_summary")
+public class MovieSessionSummary {
+    // One row per movie, maintained by the summary job instead of aggregated on every listing
+    @Id
+    @Column(name = "movie_fk")
+    private Long movieId;
+    private long upcomingSessionCount;
+    private LocalDateTime nextStartTime;
+    private LocalDateTime refreshedAt;
+}
@@ -0,0 +1,29 @@
+package org.pdzsoftware.moviereservationsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "RefreshToken")
+@Table(name = "tb_refresh_token")
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // SHA-256 of the token ID (jti), fixed size and indexed, the raw token is never stored
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    // One user can have many refresh tokens, one per device
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_fk", nullable = false)
+    private User user;
+}
@@ -2,6 +2,8 @@ package org.pdzsoftware.moviereservationsystem.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.pdzsoftware.moviereservationsystem.enums.Language;
 
 import java.math.BigDecimal;
@@ -29,7 +31,10 @@ public class Session {
     private BigDecimal standardSeatPrice;
     private BigDecimal vipSeatPrice;
     private BigDecimal pwdSeatPrice;
+    // The summary job finds changed sessions by these, rows inserted outside the app get the column defaults
+    @CreationTimestamp
     private LocalDateTime createdAt;
+    @UpdateTimestamp
     private LocalDateTime updatedAt;
 
     // Many sessions can belong to one movie
@@ -22,8 +22,6 @@ public class User {
     private String userName;
     private String email;
     private String passwordHash;
-    @Column(length = 1024)
-    private String refreshToken;
     @Enumerated(EnumType.STRING)
     private UserRole userRole;
     private LocalDateTime createdAt;
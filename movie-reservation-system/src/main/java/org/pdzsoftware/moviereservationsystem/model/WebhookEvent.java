@@ -0,0 +1,38 @@
+package org.pdzsoftware.moviereservationsystem.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.pdzsoftware.moviereservationsystem.enums.WebhookEventStatus;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "WebhookEvent")
+@Table(name = "tb_webhook_event")
+public class WebhookEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    // Unique, so a redelivered event is rejected by the database
+    @Column(unique = true, nullable = false)
+    private String providerEventId;
+    private String eventType;
+    // Processing lane key, events for the same booking are handled in arrival order
+    private Long bookingId;
+    @Column(columnDefinition = "text")
+    private String payload;
+    @Enumerated(EnumType.STRING)
+    private WebhookEventStatus eventStatus;
+    private int attempts;
+    // Pushed back after each failed attempt, the worker only picks events that are due
+    private LocalDateTime nextAttemptAt;
+    @Column(length = 1024)
+    private String lastError;
+    private LocalDateTime receivedAt;
+    private LocalDateTime claimedAt;
+    private LocalDateTime processedAt;
+}
@@ -3,9 +3,11 @@ package org.pdzsoftware.moviereservationsystem.repository;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookedSeatResponse;
 import org.pdzsoftware.moviereservationsystem.model.BookedSeat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -62,20 +64,20 @@ public interface BookedSeatRepository extends JpaRepository<BookedSeat, Long> {
                     s.seatRow,
                     s.seatNumber,
                     s.seatType,
-                    bs.seatPrice
+                    bs.seatPrice,
+                    b.id
                 )
                 FROM BookedSeat bs
                 JOIN bs.seat s
                 JOIN bs.booking b
-                WHERE b.id = :bookingId
+                WHERE b.id IN :bookingIds
             """)
-    List<BookedSeatResponse> findResponseByBookingId(@Param("bookingId") Long bookingId);
+    List<BookedSeatResponse> findResponsesByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 
+    @Modifying
     @Query("""
-                SELECT bs.id
-                FROM BookedSeat bs
-                JOIN bs.booking b
-                ON b.id IN :bookingIds
+                DELETE FROM BookedSeat bs
+                WHERE bs.booking.id IN :bookingIds
             """)
-    Set<Long> findIdsToDelete(@Param("bookingIds") Set<Long> bookingIds);
+    int deleteAllByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 }
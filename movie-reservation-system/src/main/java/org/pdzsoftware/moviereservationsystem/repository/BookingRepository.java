@@ -1,5 +1,8 @@
 package org.pdzsoftware.moviereservationsystem.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.pdzsoftware.moviereservationsystem.dto.BookingCheckoutRefDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
@@ -8,12 +11,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("""
@@ -60,29 +64,200 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                         @Param("statuses") List<BookingStatus> statuses,
                                                         Pageable pageable);
 
+    // Keyset variant of the listing. Same composite ordering plus the ID as tie-breaker, the status rank and the
+    // time it sorts on (ascending for the first two ranks, descending after) are computed once per row
     @Query("""
-                SELECT b
+                select new org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse(
+                    r.id,
+                    r.bookingStatus,
+                    r.totalPrice,
+                    r.checkoutId,
+                    r.checkoutUrl,
+                    r.createdAt,
+                    r.updatedAt,
+                    r.expiresAt,
+                    r.paymentIntentId,
+                    r.sortTime
+                )
+                FROM (
+                    SELECT
+                        b.id AS id,
+                        b.bookingStatus AS bookingStatus,
+                        b.totalPrice AS totalPrice,
+                        b.checkoutId AS checkoutId,
+                        b.checkoutUrl AS checkoutUrl,
+                        b.createdAt AS createdAt,
+                        b.updatedAt AS updatedAt,
+                        b.expiresAt AS expiresAt,
+                        b.paymentIntentId AS paymentIntentId,
+                        CASE
+                            WHEN b.bookingStatus = 'AWAITING_PAYMENT'
+                                OR b.bookingStatus = 'PAYMENT_RETRY' THEN 1
+                            WHEN b.bookingStatus = 'PAYMENT_CONFIRMED' THEN 2
+                            WHEN b.bookingStatus = 'AWAITING_CANCELLATION' THEN 3
+                            WHEN b.bookingStatus = 'CANCELLED' THEN 4
+                            WHEN b.bookingStatus = 'PAST' THEN 5
+                            ELSE 6
+                        END AS statusRank,
+                        CASE
+                            WHEN b.bookingStatus = 'AWAITING_PAYMENT'
+                                OR b.bookingStatus = 'PAYMENT_RETRY' THEN b.expiresAt
+                            WHEN b.bookingStatus = 'PAYMENT_CONFIRMED' THEN s.startTime
+                            ELSE b.updatedAt
+                        END AS sortTime
+                    FROM User u
+                    JOIN u.bookings b
+                    JOIN b.session s
+                    WHERE u.id = :userId
+                    AND b.bookingStatus IN :statuses
+                ) r
+                ORDER BY
+                    r.statusRank ASC,
+                    CASE WHEN r.statusRank <= 2 THEN r.sortTime ELSE NULL END ASC,
+                    CASE WHEN r.statusRank > 2 THEN r.sortTime ELSE NULL END DESC,
+                    r.id ASC
+            """)
+    List<BookingDetailedResponse> findFirstDetailedByFilters(@Param("userId") Long userId,
+                                                             @Param("statuses") List<BookingStatus> statuses,
+                                                             Pageable pageable);
+
+    // The cursor carries the status rank, sort time and ID of the last row of the previous slice
+    @Query("""
+                select new org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse(
+                    r.id,
+                    r.bookingStatus,
+                    r.totalPrice,
+                    r.checkoutId,
+                    r.checkoutUrl,
+                    r.createdAt,
+                    r.updatedAt,
+                    r.expiresAt,
+                    r.paymentIntentId,
+                    r.sortTime
+                )
+                FROM (
+                    SELECT
+                        b.id AS id,
+                        b.bookingStatus AS bookingStatus,
+                        b.totalPrice AS totalPrice,
+                        b.checkoutId AS checkoutId,
+                        b.checkoutUrl AS checkoutUrl,
+                        b.createdAt AS createdAt,
+                        b.updatedAt AS updatedAt,
+                        b.expiresAt AS expiresAt,
+                        b.paymentIntentId AS paymentIntentId,
+                        CASE
+                            WHEN b.bookingStatus = 'AWAITING_PAYMENT'
+                                OR b.bookingStatus = 'PAYMENT_RETRY' THEN 1
+                            WHEN b.bookingStatus = 'PAYMENT_CONFIRMED' THEN 2
+                            WHEN b.bookingStatus = 'AWAITING_CANCELLATION' THEN 3
+                            WHEN b.bookingStatus = 'CANCELLED' THEN 4
+                            WHEN b.bookingStatus = 'PAST' THEN 5
+                            ELSE 6
+                        END AS statusRank,
+                        CASE
+                            WHEN b.bookingStatus = 'AWAITING_PAYMENT'
+                                OR b.bookingStatus = 'PAYMENT_RETRY' THEN b.expiresAt
+                            WHEN b.bookingStatus = 'PAYMENT_CONFIRMED' THEN s.startTime
+                            ELSE b.updatedAt
+                        END AS sortTime
+                    FROM User u
+                    JOIN u.bookings b
+                    JOIN b.session s
+                    WHERE u.id = :userId
+                    AND b.bookingStatus IN :statuses
+                ) r
+                WHERE r.statusRank > :afterRank
+                OR (r.statusRank = :afterRank
+                    AND ((:afterRank <= 2 AND r.sortTime > :afterTime)
+                        OR (:afterRank > 2 AND r.sortTime < :afterTime)
+                        OR (r.sortTime = :afterTime AND r.id > :afterId)))
+                ORDER BY
+                    r.statusRank ASC,
+                    CASE WHEN r.statusRank <= 2 THEN r.sortTime ELSE NULL END ASC,
+                    CASE WHEN r.statusRank > 2 THEN r.sortTime ELSE NULL END DESC,
+                    r.id ASC
+            """)
+    List<BookingDetailedResponse> findDetailedByFiltersAfter(@Param("userId") Long userId,
+                                                             @Param("statuses") List<BookingStatus> statuses,
+                                                             @Param("afterRank") int afterRank,
+                                                             @Param("afterTime") LocalDateTime afterTime,
+                                                             @Param("afterId") Long afterId,
+                                                             Pageable pageable);
+
+    @Query("""
+                select new org.pdzsoftware.moviereservationsystem.dto.BookingCheckoutRefDto(
+                    b.id,
+                    b.checkoutId
+                )
                 FROM Booking b
                 WHERE b.bookingStatus = 'EXPIRED'
+                AND b.id > :afterId
+                ORDER BY b.id ASC
             """)
-    List<Booking> findExpiredBookings();
+    List<BookingCheckoutRefDto> findExpiredRefsAfterId(@Param("afterId") Long afterId,
+                                                       Pageable pageable);
 
     @Query("""
                 SELECT b.id
                 FROM Booking b
                 WHERE b.bookingStatus = 'AWAITING_DELETION'
                 AND b.updatedAt <= :threshold
+                ORDER BY b.id ASC
+            """)
+    List<Long> findIdsToDelete(@Param("threshold") LocalDateTime threshold,
+                               Pageable pageable);
+
+    // Native for the upsert, a chunk retried after a failed delete is skipped instead of archived twice
+    @Modifying
+    @Query(value = """
+                insert into tb_booking_archive (booking_id, user_fk, session_fk, booking_status, total_price,
+                                                checkout_id, payment_intent_id, refund_id, created_at, updated_at,
+                                                expires_at, booked_seats, archived_at)
+                select b.id, b.user_fk, b.session_fk, b.booking_status, b.total_price,
+                       b.checkout_id, b.payment_intent_id, b.refund_id, b.created_at, b.updated_at,
+                       b.expires_at,
+                       coalesce((
+                           select jsonb_agg(jsonb_build_object('seatId', bs.seat_id, 'seatPrice', bs.seat_price)
+                                            order by bs.id)
+                           from tb_booked_seat bs
+                           where bs.booking_id = b.id
+                       ), cast('[]' as jsonb)),
+                       :now
+                from tb_booking b
+                where b.id in :bookingIds
+                on conflict (booking_id) do nothing
+            """, nativeQuery = true)
+    int archiveByIds(@Param("bookingIds") Collection<Long> bookingIds,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+                UPDATE Booking b
+                SET b.bookingStatus = PAST, b.updatedAt = :now
+                WHERE b.bookingStatus = PAYMENT_CONFIRMED
+                AND b.session.id IN :sessionIds
             """)
-    Set<Long> findIdsToDelete(@Param("threshold") LocalDateTime threshold);
+    int markBookingsAsPastBySessionIds(@Param("sessionIds") Collection<Long> sessionIds,
+                                       @Param("now") LocalDateTime now);
 
+    // Confirmations that landed after their session had already passed the watermark. Only bookings whose status
+    // changed after the given time are looked at, a range on the (booking_status, updated_at) index
     @Modifying
     @Query("""
                 UPDATE Booking b
                 SET b.bookingStatus = PAST, b.updatedAt = :now
                 WHERE b.bookingStatus = PAYMENT_CONFIRMED
-                AND b.session.endTime <= :now
+                AND b.updatedAt > :confirmedAfter
+                AND EXISTS (
+                    SELECT 1
+                    FROM Session s
+                    WHERE s.id = b.session.id
+                    AND s.endTime <= :now
+                )
             """)
-    int markBookingsAsPastIfSessionEnded(@Param("now") LocalDateTime now);
+    int markConfirmedBookingsAsPastIfSessionEnded(@Param("confirmedAfter") LocalDateTime confirmedAfter,
+                                                  @Param("now") LocalDateTime now);
 
     @Query("""
                 SELECT b
@@ -92,4 +267,48 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             """)
     Optional<Booking> findByIdAndUserId(@Param("bookingId") Long bookingId,
                                         @Param("userId") Long userId);
+
+    // Compare-and-set transition, only wins if the row still has the status the caller validated against
+    @Modifying
+    @Query("""
+                UPDATE Booking b
+                SET b.bookingStatus = :newStatus,
+                    b.updatedAt = :now,
+                    b.paymentIntentId = COALESCE(b.paymentIntentId, :paymentIntentId),
+                    b.refundId = COALESCE(b.refundId, :refundId)
+                WHERE b.id = :bookingId
+                AND b.bookingStatus = :expectedStatus
+            """)
+    int updateStatusIfCurrent(@Param("bookingId") Long bookingId,
+                              @Param("expectedStatus") BookingStatus expectedStatus,
+                              @Param("newStatus") BookingStatus newStatus,
+                              @Param("paymentIntentId") String paymentIntentId,
+                              @Param("refundId") String refundId,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+                UPDATE Booking b
+                SET b.paymentIntentId = :paymentIntentId, b.updatedAt = :now
+                WHERE b.id = :bookingId
+                AND b.paymentIntentId IS NULL
+            """)
+    int updatePaymentIntentIdIfAbsent(@Param("bookingId") Long bookingId,
+                                      @Param("paymentIntentId") String paymentIntentId,
+                                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+                UPDATE Booking b
+                SET b.updatedAt = :now
+                WHERE b.id = :bookingId
+                AND b.bookingStatus = :expectedStatus
+            """)
+    int touchIfCurrent(@Param("bookingId") Long bookingId,
+                       @Param("expectedStatus") BookingStatus expectedStatus,
+                       @Param("now") LocalDateTime now);
+
+    // Read only, writes go through the conditional updates above, so loaded entities are never dirty checked
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Booking> findReadOnlyByIdIn(Collection<Long> bookingIds);
 }
@@ -1,5 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.repository;
 
+import org.pdzsoftware.moviereservationsystem.dto.MovieTitleRefDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
 import org.pdzsoftware.moviereservationsystem.model.User;
@@ -21,18 +22,16 @@ public interface MovieRepository extends JpaRepository<User, Long> {
                     m.description,
                     m.genre,
                     m.minutesDuration,
-                    COUNT(s),
+                    COALESCE(ss.upcomingSessionCount, 0L),
                     m.posterUrl,
                     m.releaseDate
                 )
                 FROM Movie m
-                LEFT JOIN Session s 
-                    ON s.movie = m 
-                    AND s.startTime >= :threshold
+                LEFT JOIN MovieSessionSummary ss
+                    ON ss.movieId = m.id
                 WHERE (:search IS NULL OR LOWER(m.title) LIKE LOWER(CAST(CONCAT('%', :search, '%') as text)))
                 AND (:genres IS NULL OR m.genre IN :genres)
-                GROUP BY m.id
-                ORDER BY CASE WHEN COUNT(s) > 0 THEN 0 ELSE 1 END ASC, m.title ASC\s
+                ORDER BY CASE WHEN ss.upcomingSessionCount > 0 THEN 0 ELSE 1 END ASC, m.title ASC
             """,
             countQuery = """
                         SELECT COUNT(DISTINCT m)
@@ -44,10 +43,11 @@ public interface MovieRepository extends JpaRepository<User, Long> {
     Page<MovieResponse> findResponsesByFilters(
             @Param("search") String search,
             @Param("genres") List<MovieGenre> genres,
-            @Param("threshold") LocalDateTime threshold,
             Pageable pageable
     );
 
+    // Keyset variant of the listing, ordered by (title, id) so the next slice seeks past the last row
+    // Untitled movies are left out, they'd have no key to seek past
     @Query(value = """
                 select new org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse(
                     m.id,
@@ -55,14 +55,24 @@ public interface MovieRepository extends JpaRepository<User, Long> {
                     m.description,
                     m.genre,
                     m.minutesDuration,
+                    COALESCE(ss.upcomingSessionCount, 0L),
                     m.posterUrl,
                     m.releaseDate
                 )
                 FROM Movie m
-                WHERE :id = m.id
+                LEFT JOIN MovieSessionSummary ss
+                    ON ss.movieId = m.id
+                WHERE (:search IS NULL OR LOWER(m.title) LIKE LOWER(CAST(CONCAT('%', :search, '%') as text)))
+                AND (:genres IS NULL OR m.genre IN :genres)
+                AND m.title IS NOT NULL
+                ORDER BY m.title ASC, m.id ASC
             """
     )
-    Optional<MovieResponse> findResponseById(@Param("id") Long id);
+    List<MovieResponse> findFirstResponsesByFilters(
+            @Param("search") String search,
+            @Param("genres") List<MovieGenre> genres,
+            Pageable pageable
+    );
 
     @Query(value = """
                 select new org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse(
@@ -71,13 +81,65 @@ public interface MovieRepository extends JpaRepository<User, Long> {
                     m.description,
                     m.genre,
                     m.minutesDuration,
+                    COALESCE(ss.upcomingSessionCount, 0L),
                     m.posterUrl,
                     m.releaseDate
                 )
-                FROM Session s
-                JOIN s.movie m
-                WHERE :sessionId = s.id
+                FROM Movie m
+                LEFT JOIN MovieSessionSummary ss
+                    ON ss.movieId = m.id
+                WHERE (:search IS NULL OR LOWER(m.title) LIKE LOWER(CAST(CONCAT('%', :search, '%') as text)))
+                AND (:genres IS NULL OR m.genre IN :genres)
+                AND (m.title, m.id) > (:afterTitle, :afterId)
+                ORDER BY m.title ASC, m.id ASC
+            """
+    )
+    List<MovieResponse> findResponsesByFiltersAfter(
+            @Param("search") String search,
+            @Param("genres") List<MovieGenre> genres,
+            @Param("afterTitle") String afterTitle,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query(value = """
+                select new org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse(
+                    m.id,
+                    m.title,
+                    m.description,
+                    m.genre,
+                    m.minutesDuration,
+                    m.posterUrl,
+                    m.releaseDate
+                )
+                FROM Movie m
+                WHERE :id = m.id
+            """
+    )
+    Optional<MovieResponse> findResponseById(@Param("id") Long id);
+
+    @Query(value = """
+                select new org.pdzsoftware.moviereservationsystem.dto.MovieTitleRefDto(
+                    m.id,
+                    m.title,
+                    m.genre
+                )
+                FROM Movie m
+            """
+    )
+    List<MovieTitleRefDto> findTitleRefs();
+
+    @Query(value = """
+                SELECT COUNT(m)
+                FROM Movie m
+            """
+    )
+    long countMovies();
+
+    @Query(value = """
+                SELECT MAX(m.updatedAt)
+                FROM Movie m
             """
     )
-    Optional<MovieResponse> findResponseBySessionId(@Param("sessionId") Long sessionId);
+    Optional<LocalDateTime> findLatestUpdatedAt();
 }
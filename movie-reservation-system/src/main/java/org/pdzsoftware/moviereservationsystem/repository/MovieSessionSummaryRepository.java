@@ -0,0 +1,51 @@
+package org.pdzsoftware.moviereservationsystem.repository;
+
+import org.pdzsoftware.moviereservationsystem.dto.MovieSessionCountDto;
+import org.pdzsoftware.moviereservationsystem.model.MovieSessionSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface MovieSessionSummaryRepository extends JpaRepository<MovieSessionSummary, Long> {
+    @Query(value = """
+                SELECT m.id
+                FROM Movie m
+                WHERE NOT EXISTS (
+                    SELECT 1
+                    FROM MovieSessionSummary ss
+                    WHERE ss.movieId = m.id
+                )
+            """
+    )
+    Set<Long> findMovieIdsWithoutSummary();
+
+    @Query(value = """
+                SELECT ss.movieId
+                FROM MovieSessionSummary ss
+                WHERE ss.nextStartTime < :threshold
+            """
+    )
+    Set<Long> findMovieIdsWithNextStartBefore(@Param("threshold") LocalDateTime threshold);
+
+    @Query(value = """
+                select new org.pdzsoftware.moviereservationsystem.dto.MovieSessionCountDto(
+                    m.id,
+                    COUNT(s),
+                    MIN(s.startTime)
+                )
+                FROM Movie m
+                LEFT JOIN Session s
+                    ON s.movie = m
+                    AND s.startTime >= :threshold
+                WHERE m.id IN :movieIds
+                GROUP BY m.id
+            """
+    )
+    List<MovieSessionCountDto> countUpcomingSessions(@Param("movieIds") Collection<Long> movieIds,
+                                                     @Param("threshold") LocalDateTime threshold);
+}
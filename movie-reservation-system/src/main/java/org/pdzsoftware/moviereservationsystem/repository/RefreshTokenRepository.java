@@ -0,0 +1,36 @@
+package org.pdzsoftware.moviereservationsystem.repository;
+
+import org.pdzsoftware.moviereservationsystem.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    @Query("""
+                SELECT rt
+                FROM RefreshToken rt
+                JOIN FETCH rt.user
+                WHERE rt.tokenHash = :tokenHash
+            """)
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    boolean existsByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("""
+                DELETE FROM RefreshToken rt
+                WHERE rt.tokenHash = :tokenHash
+            """)
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("""
+                DELETE FROM RefreshToken rt
+                WHERE rt.expiresAt < :threshold
+            """)
+    int deleteExpiredBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -1,6 +1,5 @@
 package org.pdzsoftware.moviereservationsystem.repository;
 
-import org.pdzsoftware.moviereservationsystem.dto.response.SeatResponse;
 import org.pdzsoftware.moviereservationsystem.model.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -71,20 +70,4 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
                 WHERE b.id = :bookingId
             """)
     Set<Long> findIdsByBookingId(@Param("bookingId") Long bookingId);
-
-    @Query("""
-                select new org.pdzsoftware.moviereservationsystem.dto.response.SeatResponse(
-                    st.id,
-                    st.seatRow,
-                    st.seatNumber,
-                    st.seatType
-                )
-                FROM Session s
-                JOIN s.screen sc
-                JOIN sc.seats st
-                WHERE s.id = :sessionId
-            """)
-    List<SeatResponse> findResponsesBySessionId(
-            @Param("sessionId") Long sessionId
-    );
 }
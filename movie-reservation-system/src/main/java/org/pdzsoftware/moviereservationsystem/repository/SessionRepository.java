@@ -1,6 +1,8 @@
 package org.pdzsoftware.moviereservationsystem.repository;
 
-import org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.dto.BookingSessionDto;
+import org.pdzsoftware.moviereservationsystem.dto.SessionEndRefDto;
+import org.pdzsoftware.moviereservationsystem.dto.SessionLayoutRowDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
 import org.pdzsoftware.moviereservationsystem.model.Session;
 import org.springframework.data.domain.Page;
@@ -10,7 +12,10 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface SessionRepository extends JpaRepository<Session, Long> {
     @Query("""
@@ -47,6 +52,7 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
                                                  @Param("theaterId") Long theaterId,
                                                  Pageable pageable);
 
+    // Keyset variant of the listing, ordered by (startTime, id) so the next slice seeks past the last row
     @Query("""
                 select new org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse(
                     s.id,
@@ -64,13 +70,93 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
                     t.fullAddressLine,
                     sc.screenName
                 )
+                FROM Session s
+                JOIN s.screen sc
+                JOIN sc.theater t
+                WHERE s.movie.id = :id
+                AND s.startTime >= :threshold
+                AND s.startTime >= :startOfFirstDay
+                AND s.startTime < :endOfLastDay
+                AND (:theaterId IS NULL OR t.id = :theaterId)
+                ORDER BY s.startTime ASC, s.id ASC
+            """)
+    List<SessionResponse> findFirstResponsesByFilters(@Param("id") Long id,
+                                                      @Param("threshold") LocalDateTime threshold,
+                                                      @Param("startOfFirstDay") LocalDateTime startOfFirstDay,
+                                                      @Param("endOfLastDay") LocalDateTime endOfLastDay,
+                                                      @Param("theaterId") Long theaterId,
+                                                      Pageable pageable);
+
+    @Query("""
+                select new org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse(
+                    s.id,
+                    s.startTime,
+                    s.endTime,
+                    s.audioLanguage,
+                    s.hasSubtitles,
+                    s.isThreeD,
+                    s.standardSeatPrice,
+                    s.vipSeatPrice,
+                    s.pwdSeatPrice,
+                    t.id,
+                    t.theaterName,
+                    t.logoUrl,
+                    t.fullAddressLine,
+                    sc.screenName
+                )
+                FROM Session s
+                JOIN s.screen sc
+                JOIN sc.theater t
+                WHERE s.movie.id = :id
+                AND s.startTime >= :threshold
+                AND s.startTime >= :startOfFirstDay
+                AND s.startTime < :endOfLastDay
+                AND (:theaterId IS NULL OR t.id = :theaterId)
+                AND (s.startTime, s.id) > (:afterStartTime, :afterId)
+                ORDER BY s.startTime ASC, s.id ASC
+            """)
+    List<SessionResponse> findResponsesByFiltersAfter(@Param("id") Long id,
+                                                      @Param("threshold") LocalDateTime threshold,
+                                                      @Param("startOfFirstDay") LocalDateTime startOfFirstDay,
+                                                      @Param("endOfLastDay") LocalDateTime endOfLastDay,
+                                                      @Param("theaterId") Long theaterId,
+                                                      @Param("afterStartTime") LocalDateTime afterStartTime,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    @Query("""
+                select new org.pdzsoftware.moviereservationsystem.dto.BookingSessionDto(
+                    b.id,
+                    s.id,
+                    s.startTime,
+                    s.endTime,
+                    s.audioLanguage,
+                    s.hasSubtitles,
+                    s.isThreeD,
+                    s.standardSeatPrice,
+                    s.vipSeatPrice,
+                    s.pwdSeatPrice,
+                    t.id,
+                    t.theaterName,
+                    t.logoUrl,
+                    t.fullAddressLine,
+                    sc.screenName,
+                    m.id,
+                    m.title,
+                    m.description,
+                    m.genre,
+                    m.minutesDuration,
+                    m.posterUrl,
+                    m.releaseDate
+                )
                 FROM Booking b
                 JOIN b.session s
                 JOIN s.screen sc
                 JOIN sc.theater t
-                WHERE b.id = :bookingId
+                JOIN s.movie m
+                WHERE b.id IN :bookingIds
             """)
-    Optional<SessionResponse> findResponseByBookingId(@Param("bookingId") Long bookingId);
+    List<BookingSessionDto> findResponsesByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 
     @Query("""
                 SELECT s.id
@@ -80,8 +166,9 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
             """)
     Optional<Long> findIdByBookingId(@Param("bookingId") Long bookingId);
 
+    // Session, theater, movie and seat layout in one round trip, one row per seat
     @Query("""
-                select new org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse(
+                select new org.pdzsoftware.moviereservationsystem.dto.SessionLayoutRowDto(
                     s.id,
                     s.startTime,
                     s.endTime,
@@ -95,12 +182,49 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
                     t.theaterName,
                     t.logoUrl,
                     t.fullAddressLine,
-                    sc.screenName
+                    sc.screenName,
+                    m.id,
+                    m.title,
+                    m.description,
+                    m.genre,
+                    m.minutesDuration,
+                    m.posterUrl,
+                    m.releaseDate,
+                    st.id,
+                    st.seatRow,
+                    st.seatNumber,
+                    st.seatType
                 )
                 FROM Session s
                 JOIN s.screen sc
                 JOIN sc.theater t
+                JOIN s.movie m
+                LEFT JOIN sc.seats st
                 WHERE s.id = :id
             """)
-    Optional<SessionDetailedResponse> findDetailedResponseById(@Param("id") Long id);
+    List<SessionLayoutRowDto> findLayoutRowsById(@Param("id") Long id);
+
+    @Query("""
+                select new org.pdzsoftware.moviereservationsystem.dto.SessionEndRefDto(
+                    s.id,
+                    s.endTime
+                )
+                FROM Session s
+                WHERE s.endTime <= :now
+                AND (s.endTime > :afterEndTime OR (s.endTime = :afterEndTime AND s.id > :afterId))
+                ORDER BY s.endTime ASC, s.id ASC
+            """)
+    List<SessionEndRefDto> findEndedAfter(@Param("afterEndTime") LocalDateTime afterEndTime,
+                                          @Param("afterId") Long afterId,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    @Query(value = """
+                SELECT DISTINCT s.movie.id
+                FROM Session s
+                WHERE s.createdAt > :since
+                OR s.updatedAt > :since
+            """
+    )
+    Set<Long> findMovieIdsWithSessionsChangedAfter(@Param("since") LocalDateTime since);
 }
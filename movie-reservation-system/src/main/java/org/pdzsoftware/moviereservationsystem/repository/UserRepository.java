@@ -13,15 +13,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    @Query("""
-                SELECT u
-                FROM User u
-                WHERE u.refreshToken IS NOT NULL
-                AND u.refreshToken = :refreshToken
-            """)
-    Optional<User> findByRefreshToken(String refreshToken);
-
-
     @Query("""
                 SELECT u.id
                 FROM Booking b
@@ -0,0 +1,72 @@
+package org.pdzsoftware.moviereservationsystem.repository;
+
+import org.pdzsoftware.moviereservationsystem.enums.WebhookEventStatus;
+import org.pdzsoftware.moviereservationsystem.model.WebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+    // Due events only, skipping those whose booking still has an earlier event retrying, stuck or failed
+    @Query("""
+                SELECT e.id
+                FROM WebhookEvent e
+                WHERE e.eventStatus = :eventStatus
+                AND e.nextAttemptAt <= :now
+                AND NOT EXISTS (
+                    SELECT 1
+                    FROM WebhookEvent p
+                    WHERE p.bookingId = e.bookingId
+                    AND p.id < e.id
+                    AND (p.eventStatus IN (PROCESSING, FAILED)
+                        OR (p.eventStatus = RECEIVED AND p.nextAttemptAt > :now))
+                )
+                ORDER BY e.id
+            """)
+    List<Long> findIdsByStatus(@Param("eventStatus") WebhookEventStatus eventStatus,
+                               @Param("now") LocalDateTime now,
+                               Pageable pageable);
+
+    // Compare-and-set claim, so only one worker can move an event out of RECEIVED
+    @Modifying
+    @Query("""
+                UPDATE WebhookEvent e
+                SET e.eventStatus = PROCESSING, e.claimedAt = :now
+                WHERE e.id IN :ids
+                AND e.eventStatus = RECEIVED
+            """)
+    int claimAll(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Gives back events claimed by a worker that died before finishing them
+    @Modifying
+    @Query("""
+                UPDATE WebhookEvent e
+                SET e.eventStatus = RECEIVED
+                WHERE e.eventStatus = PROCESSING
+                AND e.claimedAt < :threshold
+            """)
+    int releaseStaleClaims(@Param("threshold") LocalDateTime threshold);
+
+    // Gives failed events a fresh set of attempts, e.g. once the bug that failed them is fixed
+    @Modifying
+    @Query("""
+                UPDATE WebhookEvent e
+                SET e.eventStatus = RECEIVED, e.attempts = 0, e.nextAttemptAt = :now
+                WHERE e.eventStatus = FAILED
+            """)
+    int redriveFailed(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+                DELETE FROM WebhookEvent e
+                WHERE e.eventStatus = PROCESSED
+                AND e.processedAt < :threshold
+            """)
+    int deleteProcessedBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -3,9 +3,11 @@ package org.pdzsoftware.moviereservationsystem.service;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookedSeatResponse;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public interface BookedSeatService {
-    List<BookedSeatResponse> findResponsesByBookingId(Long bookingId);
+    Map<Long, List<BookedSeatResponse>> findResponsesByBookingIds(Collection<Long> bookingIds);
 }
@@ -1,6 +1,7 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.model.Seat;
@@ -20,4 +21,5 @@ public interface BookingService {
     Optional<Booking> findByIdAndUserId(Long id, Long userId);
 
     Page<BookingDetailedResponse> findDetailedByFilters(Long userId, List<BookingStatus> statuses, int page);
+    CursorSliceResponse<BookingDetailedResponse> findDetailedAfter(Long userId, List<BookingStatus> statuses, String cursor);
 }
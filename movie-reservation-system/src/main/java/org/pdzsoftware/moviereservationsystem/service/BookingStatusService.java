@@ -6,7 +6,7 @@ import org.springframework.stereotype.Service;
 
 @Service
 public interface BookingStatusService {
-    void validateAndUpdateStatus(Booking booking, BookingStatus newStatus);
+    boolean validateAndUpdateStatus(Booking booking, BookingStatus newStatus);
 
     void handleCheckoutCompleted(Booking booking, String checkoutId, String paymentIntentId);
     void handleCheckoutExpired(Booking booking, String checkoutId);
@@ -0,0 +1,12 @@
+package org.pdzsoftware.moviereservationsystem.service;
+
+import org.pdzsoftware.moviereservationsystem.dto.MovieTitleRefDto;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface MovieSearchService {
+    List<MovieTitleRefDto> suggest(String query, int limit);
+    void refreshIfChanged();
+}
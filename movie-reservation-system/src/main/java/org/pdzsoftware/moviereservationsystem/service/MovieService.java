@@ -1,5 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
 import org.springframework.data.domain.Page;
@@ -11,6 +12,6 @@ import java.util.Optional;
 @Service
 public interface MovieService {
     Optional<MovieResponse> findResponseById(Long movieId);
-    Optional<MovieResponse> findResponseBySessionId(Long sessionId);
     Page<MovieResponse> findResponsesByFilters(String search, List<MovieGenre> genres, int page);
+    CursorSliceResponse<MovieResponse> findResponsesAfter(String search, List<MovieGenre> genres, String cursor);
 }
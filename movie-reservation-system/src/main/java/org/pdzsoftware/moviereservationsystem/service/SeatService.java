@@ -1,6 +1,5 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
-import org.pdzsoftware.moviereservationsystem.dto.response.SeatResponse;
 import org.pdzsoftware.moviereservationsystem.model.Seat;
 import org.springframework.stereotype.Service;
 
@@ -11,7 +10,6 @@ import java.util.Set;
 @Service
 public interface SeatService {
     List<Seat> findByIds(Set<Long> seatIds, Long sessionId);
-    List<SeatResponse> findResponsesBySessionId(Long sessionId);
     Set<Long> findIdsByBookingId(Long bookingId);
     Set<Long> getTakenSeatIdsForSession(Set<Long> seatIds, Long sessionId);
     Map<Long, Boolean> getSeatAvailabilityForSessions(Set<Long> sessionIds);
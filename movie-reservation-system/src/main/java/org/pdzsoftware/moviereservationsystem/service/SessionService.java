@@ -1,5 +1,7 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
+import org.pdzsoftware.moviereservationsystem.dto.BookingSessionDto;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
 import org.pdzsoftware.moviereservationsystem.model.Session;
@@ -8,15 +10,18 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public interface SessionService {
     Optional<Session> findById(Long sessionId);
-    Optional<SessionResponse> findResponseByBookingId(Long bookingId);
+    Map<Long, BookingSessionDto> findResponsesByBookingIds(Collection<Long> bookingIds);
     Optional<Long> findIdByBookingId(Long bookingId);
     Optional<SessionDetailedResponse> findDetailedResponseById(Long sessionId);
     Page<SessionResponse> findResponsesByFilters(Long movieId, LocalDate sessionDate, Long theaterId, int page);
+    CursorSliceResponse<SessionResponse> findResponsesAfter(Long movieId, LocalDate sessionDate, Long theaterId, String cursor);
 
     boolean existsById(Long sessionId);
     boolean isExpired(LocalDateTime startTime);
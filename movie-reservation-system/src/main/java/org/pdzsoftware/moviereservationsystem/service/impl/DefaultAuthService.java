@@ -8,10 +8,13 @@ import org.pdzsoftware.moviereservationsystem.dto.request.SignupRequest;
 import org.pdzsoftware.moviereservationsystem.enums.UserRole;
 import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
+import org.pdzsoftware.moviereservationsystem.model.RefreshToken;
 import org.pdzsoftware.moviereservationsystem.model.User;
+import org.pdzsoftware.moviereservationsystem.repository.RefreshTokenRepository;
 import org.pdzsoftware.moviereservationsystem.repository.UserRepository;
 import org.pdzsoftware.moviereservationsystem.service.AuthService;
 import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
+import org.pdzsoftware.moviereservationsystem.util.TokenDigests;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,23 +22,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DefaultAuthService implements AuthService {
     private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
     private final AuthenticationManager authManager;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
 
     @Override
     public boolean isAuthenticated(String refreshToken) {
-        if (!jwtUtils.isJwtValid(refreshToken)) {
+        String tokenId = jwtUtils.getValidTokenId(refreshToken);
+        if (tokenId == null) {
             return false;
         }
 
-        return userRepository.findByRefreshToken(refreshToken).isPresent();
+        return refreshTokenRepository.existsByTokenHash(TokenDigests.sha256Hex(tokenId));
     }
 
     @Override
@@ -86,25 +93,33 @@ public class DefaultAuthService implements AuthService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public AuthTokensDto refreshToken(String refreshToken) {
-        if (!jwtUtils.isJwtValid(refreshToken)) {
+        String tokenId = jwtUtils.getValidTokenId(refreshToken);
+        if (tokenId == null) {
             throw new UnauthorizedException("Invalid refresh token");
         }
 
-        User user = userRepository.findByRefreshToken(refreshToken).orElseThrow(() ->
-                new UnauthorizedException("User not found for provided refresh token"));
+        String tokenHash = TokenDigests.sha256Hex(tokenId);
+        RefreshToken storedToken = refreshTokenRepository.findByTokenHash(tokenHash)
+                .orElseThrow(() -> new UnauthorizedException("User not found for provided refresh token"));
 
-        return generateAuthInformation(user);
+        // Rotated, the presented token can't be used again, and of two concurrent refreshes only one wins
+        if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+            throw new UnauthorizedException("Refresh token already used");
+        }
+
+        return generateAuthInformation(storedToken.getUser());
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void revokeRefreshToken(String refreshToken) {
-        User user = userRepository.findByRefreshToken(refreshToken).orElse(null);
-        if (user == null) return;
+        String tokenId = jwtUtils.getValidTokenId(refreshToken);
+        if (tokenId == null) return;
 
-        user.setRefreshToken(null);
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        // Logout only ends this session's refresh token, access tokens already handed out stay valid until they expire
+        refreshTokenRepository.deleteByTokenHash(TokenDigests.sha256Hex(tokenId));
     }
 
     private String hashPassword(String password) {
@@ -112,12 +127,18 @@ public class DefaultAuthService implements AuthService {
     }
 
     private AuthTokensDto generateAuthInformation(User user) {
+        String tokenId = UUID.randomUUID().toString();
         String accessToken = jwtUtils.generateAccessToken(user);
-        String refreshToken = jwtUtils.generateRefreshToken(user);
+        String refreshToken = jwtUtils.generateRefreshToken(user, tokenId);
 
-        user.setRefreshToken(refreshToken);
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
+        // One row per issued refresh token, so every device keeps its own session
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(TokenDigests.sha256Hex(tokenId))
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(jwtUtils.getRefreshTokenExpirationMs(), ChronoUnit.MILLIS))
+                .build());
 
         return AuthTokensDto.builder()
                 .userId(user.getId())
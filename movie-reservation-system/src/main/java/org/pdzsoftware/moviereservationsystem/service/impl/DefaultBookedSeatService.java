@@ -6,16 +6,23 @@ import org.pdzsoftware.moviereservationsystem.repository.BookedSeatRepository;
 import org.pdzsoftware.moviereservationsystem.service.BookedSeatService;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultBookedSeatService implements BookedSeatService {
     private final BookedSeatRepository bookedSeatRepository;
 
+    // Keyed by booking ID, bookings without seats are simply absent
     @Override
-    public List<BookedSeatResponse> findResponsesByBookingId(Long bookingId) {
-        return bookedSeatRepository.findResponseByBookingId(bookingId);
+    public Map<Long, List<BookedSeatResponse>> findResponsesByBookingIds(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) return Map.of();
+
+        return bookedSeatRepository.findResponsesByBookingIds(bookingIds).stream()
+                .collect(Collectors.groupingBy(BookedSeatResponse::getBookingId));
     }
 }
 
@@ -3,10 +3,12 @@ package org.pdzsoftware.moviereservationsystem.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
 import org.pdzsoftware.moviereservationsystem.model.*;
 import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
 import org.pdzsoftware.moviereservationsystem.service.BookingService;
+import org.pdzsoftware.moviereservationsystem.util.CursorCodec;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,7 +27,20 @@ import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
 @Service
 @RequiredArgsConstructor
 public class DefaultBookingService implements BookingService {
+    private static final int SLICE_SIZE = 15;
+
+    // Default: all but expired and awaiting_deletion
+    private static final List<BookingStatus> LISTED_STATUSES = List.of(
+            AWAITING_PAYMENT,
+            PAYMENT_RETRY,
+            PAYMENT_CONFIRMED,
+            AWAITING_CANCELLATION,
+            CANCELLED,
+            PAST
+    );
+
     private final BookingRepository bookingRepository;
+    private final CursorCodec cursorCodec;
 
     @Override
     public Booking createAndSaveBooking(User user,
@@ -65,21 +80,33 @@ public class DefaultBookingService implements BookingService {
                                                                int page) {
         Pageable pageable = PageRequest.of(page, 15);
 
-        // Default: all but expired and awaiting_deletion
-        if (statuses == null || statuses.isEmpty()) {
-            statuses = List.of(
-                    AWAITING_PAYMENT,
-                    PAYMENT_RETRY,
-                    PAYMENT_CONFIRMED,
-                    AWAITING_CANCELLATION,
-                    CANCELLED,
-                    PAST
-            );
-        }
+        if (statuses == null || statuses.isEmpty()) statuses = LISTED_STATUSES;
 
         return bookingRepository.findDetailedByFilters(userId, statuses, pageable);
     }
 
+    // Same ordering as the paged listing, the cursor is the status rank, the time it sorts on and the ID
+    @Override
+    public CursorSliceResponse<BookingDetailedResponse> findDetailedAfter(Long userId,
+                                                                          List<BookingStatus> statuses,
+                                                                          String cursor) {
+        if (statuses == null || statuses.isEmpty()) statuses = LISTED_STATUSES;
+
+        BookingCursor after = cursorCodec.decode(cursor, parts -> new BookingCursor(
+                Integer.valueOf(parts.get(0)), LocalDateTime.parse(parts.get(1)), Long.valueOf(parts.get(2))
+        ));
+        Pageable pageable = PageRequest.of(0, SLICE_SIZE + 1);
+
+        List<BookingDetailedResponse> bookings = after == null
+                ? bookingRepository.findFirstDetailedByFilters(userId, statuses, pageable)
+                : bookingRepository.findDetailedByFiltersAfter(userId, statuses,
+                        after.rank(), after.sortTime(), after.id(), pageable);
+
+        return cursorCodec.toSlice(bookings, SLICE_SIZE, booking -> new Object[]{
+                rankOf(booking.getBookingStatus()), booking.getSortTime(), booking.getId()
+        });
+    }
+
     private List<BookedSeat> generateBookedSeatEntities(Booking booking, List<Seat> seats) {
         List<BookedSeat> bookedSeats = new ArrayList<>();
         Session session = booking.getSession();
@@ -113,4 +140,19 @@ public class DefaultBookingService implements BookingService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add)
                 .setScale(2, RoundingMode.HALF_UP);
     }
+
+    // Mirrors the status rank of the listing queries
+    private static int rankOf(BookingStatus status) {
+        return switch (status) {
+            case AWAITING_PAYMENT, PAYMENT_RETRY -> 1;
+            case PAYMENT_CONFIRMED -> 2;
+            case AWAITING_CANCELLATION -> 3;
+            case CANCELLED -> 4;
+            case PAST -> 5;
+            default -> 6;
+        };
+    }
+
+    private record BookingCursor(Integer rank, LocalDateTime sortTime, Long id) {
+    }
 }
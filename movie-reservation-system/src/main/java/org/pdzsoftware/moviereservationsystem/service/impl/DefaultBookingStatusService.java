@@ -11,12 +11,15 @@ import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
 import org.pdzsoftware.moviereservationsystem.service.BookingStatusService;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
 
+// Rejections are thrown before anything is written, so they don't mark a caller's transaction rollback-only.
+// The webhook inbox handles a whole micro-batch in one transaction, and one rejected event must not sink the rest
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -28,8 +31,8 @@ public class DefaultBookingStatusService implements BookingStatusService {
     private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    public void validateAndUpdateStatus(Booking booking, BookingStatus newStatus) {
-        // TODO: maybe adding a fetch for the booking status from the database, in case other thread altered it
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = {ConflictException.class, NotFoundException.class})
+    public boolean validateAndUpdateStatus(Booking booking, BookingStatus newStatus) {
         BookingStatus currentStatus = booking.getBookingStatus();
 
         if (!currentStatus.canTransitionTo(newStatus)) {
@@ -38,17 +41,29 @@ public class DefaultBookingStatusService implements BookingStatusService {
             throw new ConflictException("Booking cannot transition from " + currentStatus + " to " + newStatus);
         }
 
+        // Conditional on the status validated above, so a concurrent transition (webhook vs job) can't be overwritten
+        LocalDateTime now = LocalDateTime.now();
+        int updated = bookingRepository.updateStatusIfCurrent(booking.getId(), currentStatus, newStatus,
+                booking.getPaymentIntentId(), booking.getRefundId(), now);
+
+        if (updated == 0) {
+            log.warn("[DefaultBookingStatusService] Booking with ID: {} is no longer in status: {}, transition to status: {} lost to a concurrent update",
+                    booking.getId(), currentStatus, newStatus);
+            return false;
+        }
+
         booking.setBookingStatus(newStatus);
-        booking.setUpdatedAt(LocalDateTime.now());
-        booking = bookingRepository.save(booking);
+        booking.setUpdatedAt(now);
 
         log.info("[DefaultBookingStatusService] Booking with ID: {} updated from status: {} to status: {}",
                 booking.getId(), currentStatus, newStatus);
 
         eventPublisher.publishEvent(new BookingStatusUpdatedEvent(booking, ORIGIN_ID));
+        return true;
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = {ConflictException.class, NotFoundException.class})
     public void handleCheckoutCompleted(Booking booking, String checkoutId, String paymentIntentId) {
         String bookingCheckoutId = booking.getCheckoutId();
 
@@ -57,15 +72,22 @@ public class DefaultBookingStatusService implements BookingStatusService {
 
         checkCheckoutIdsMatch(booking.getId(), checkoutId, bookingCheckoutId);
 
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingRepository.updatePaymentIntentIdIfAbsent(booking.getId(), paymentIntentId, now) == 0) {
+            log.info("[DefaultBookingStatusService] Booking with ID: {} already got its paymentIntentId from a concurrent update",
+                    booking.getId());
+            return;
+        }
+
         booking.setPaymentIntentId(paymentIntentId);
-        booking.setUpdatedAt(LocalDateTime.now());
-        bookingRepository.save(booking);
+        booking.setUpdatedAt(now);
 
         log.info("[DefaultBookingStatusService] Booking with ID: {} updated with paymentIntentId: {} from checkout completion event",
                 booking.getId(), paymentIntentId);
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = {ConflictException.class, NotFoundException.class})
     public void handleCheckoutExpired(Booking booking, String checkoutId) {
         String bookingCheckoutId = booking.getCheckoutId();
 
@@ -78,6 +100,7 @@ public class DefaultBookingStatusService implements BookingStatusService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = {ConflictException.class, NotFoundException.class})
     public void handlePaymentSuccess(Booking booking, String paymentIntentId) {
         String bookingPaymentIntentId = booking.getPaymentIntentId();
 
@@ -98,13 +121,16 @@ public class DefaultBookingStatusService implements BookingStatusService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = {ConflictException.class, NotFoundException.class})
     public void handlePaymentFailed(Booking booking, String paymentIntentId) {
         String bookingPaymentIntentId = booking.getPaymentIntentId();
 
         // If payment fails more than once, just change updatedAt
         if (booking.getBookingStatus().equals(PAYMENT_RETRY)) {
-            booking.setUpdatedAt(LocalDateTime.now());
-            bookingRepository.save(booking);
+            LocalDateTime now = LocalDateTime.now();
+            if (bookingRepository.touchIfCurrent(booking.getId(), PAYMENT_RETRY, now) > 0) {
+                booking.setUpdatedAt(now);
+            }
             return;
         }
 
@@ -121,6 +147,7 @@ public class DefaultBookingStatusService implements BookingStatusService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = {ConflictException.class, NotFoundException.class})
     public void handlePaymentRefunded(Booking booking, String refundId) {
         String bookingRefundId = booking.getRefundId();
 
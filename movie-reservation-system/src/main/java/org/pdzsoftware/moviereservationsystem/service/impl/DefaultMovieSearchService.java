@@ -0,0 +1,58 @@
+package org.pdzsoftware.moviereservationsystem.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.MovieTitleRefDto;
+import org.pdzsoftware.moviereservationsystem.repository.MovieRepository;
+import org.pdzsoftware.moviereservationsystem.service.MovieSearchService;
+import org.pdzsoftware.moviereservationsystem.util.TitleNgramIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DefaultMovieSearchService implements MovieSearchService {
+    private final MovieRepository movieRepository;
+
+    // Swapped as a whole, readers always see one complete index
+    private volatile TitleNgramIndex index = TitleNgramIndex.empty();
+    private volatile String indexedSignature;
+
+    @Override
+    public List<MovieTitleRefDto> suggest(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    // Every node keeps its own index, so no lease here, and the check is two aggregate queries when nothing changed
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:30000}")
+    public void refreshIfChanged() {
+        String signature = getCatalogSignature();
+        if (Objects.equals(signature, indexedSignature)) return;
+
+        long start = System.currentTimeMillis();
+        TitleNgramIndex rebuilt = TitleNgramIndex.build(movieRepository.findTitleRefs());
+
+        index = rebuilt;
+        indexedSignature = signature;
+
+        log.info("[DefaultMovieSearchService] Rebuilt title index with {} movie(s) in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    // Inserts and deletes move the count, edits move the latest update time
+    private String getCatalogSignature() {
+        long count = movieRepository.countMovies();
+        LocalDateTime latestUpdate = movieRepository.findLatestUpdatedAt().orElse(null);
+
+        return count + ":" + latestUpdate;
+    }
+}
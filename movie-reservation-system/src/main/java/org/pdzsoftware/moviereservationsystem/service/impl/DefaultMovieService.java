@@ -1,46 +1,71 @@
 package org.pdzsoftware.moviereservationsystem.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
 import org.pdzsoftware.moviereservationsystem.repository.MovieRepository;
 import org.pdzsoftware.moviereservationsystem.service.MovieService;
+import org.pdzsoftware.moviereservationsystem.util.CursorCodec;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.MOVIES_CACHE;
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.MOVIE_PAGES_CACHE;
+
 @Service
 @RequiredArgsConstructor
 public class DefaultMovieService implements MovieService {
-    private static final Duration TOLERATED_PERIOD = Duration.ofMinutes(20L);
+    private static final int SLICE_SIZE = 15;
 
     private final MovieRepository movieRepository;
+    private final CursorCodec cursorCodec;
 
     @Override
+    @Cacheable(cacheNames = MOVIES_CACHE, sync = true)
     public Optional<MovieResponse> findResponseById(Long movieId) {
         return movieRepository.findResponseById(movieId);
     }
 
+    // Search goes last and is marked when present, so a null search can't share an entry with "null"
     @Override
-    public Optional<MovieResponse> findResponseBySessionId(Long sessionId) {
-        return movieRepository.findResponseBySessionId(sessionId);
-    }
-
-    @Override
+    @Cacheable(cacheNames = MOVIE_PAGES_CACHE,
+            key = "#page + ':' + #genres + ':' + (#search == null ? '-' : '+' + #search)", sync = true)
     public Page<MovieResponse> findResponsesByFilters(String search,
                                                       List<MovieGenre> genres,
                                                       int page) {
         if (genres != null && genres.isEmpty()) genres = null;
 
         Pageable pageable = PageRequest.of(page, 15);
-        LocalDateTime threshold = LocalDateTime.now().minus(TOLERATED_PERIOD);
 
-        return movieRepository.findResponsesByFilters(search, genres, threshold, pageable);
+        // Upcoming session counts come from the summary kept by MovieSessionSummaryJob
+        return movieRepository.findResponsesByFilters(search, genres, pageable);
+    }
+
+    // Ordered by title then ID, the cursor is the last pair returned
+    @Override
+    public CursorSliceResponse<MovieResponse> findResponsesAfter(String search,
+                                                                 List<MovieGenre> genres,
+                                                                 String cursor) {
+        if (genres != null && genres.isEmpty()) genres = null;
+
+        MovieCursor after = cursorCodec.decode(cursor,
+                parts -> new MovieCursor(parts.get(0), Long.valueOf(parts.get(1))));
+        Pageable pageable = PageRequest.of(0, SLICE_SIZE + 1);
+
+        List<MovieResponse> movies = after == null
+                ? movieRepository.findFirstResponsesByFilters(search, genres, pageable)
+                : movieRepository.findResponsesByFiltersAfter(search, genres, after.title(), after.id(), pageable);
+
+        return cursorCodec.toSlice(movies, SLICE_SIZE, movie -> new Object[]{movie.getTitle(), movie.getId()});
+    }
+
+    private record MovieCursor(String title, Long id) {
     }
 }
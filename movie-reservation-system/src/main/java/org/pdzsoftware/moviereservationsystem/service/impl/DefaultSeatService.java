@@ -3,7 +3,6 @@ package org.pdzsoftware.moviereservationsystem.service.impl;
 import com.google.common.collect.Sets;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.pdzsoftware.moviereservationsystem.dto.response.SeatResponse;
 import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException;
 import org.pdzsoftware.moviereservationsystem.model.Seat;
 import org.pdzsoftware.moviereservationsystem.repository.BookedSeatRepository;
@@ -28,11 +27,6 @@ public class DefaultSeatService implements SeatService {
         return seatRepository.findAllByIds(seatIds, sessionId);
     }
 
-    @Override
-    public List<SeatResponse> findResponsesBySessionId(Long sessionId) {
-        return seatRepository.findResponsesBySessionId(sessionId);
-    }
-
     @Override
     public Set<Long> findIdsByBookingId(Long bookingId) {
         return seatRepository.findIdsByBookingId(bookingId);
@@ -2,11 +2,18 @@ package org.pdzsoftware.moviereservationsystem.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.BookingSessionDto;
+import org.pdzsoftware.moviereservationsystem.dto.SessionLayoutRowDto;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.SeatResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
 import org.pdzsoftware.moviereservationsystem.model.Session;
 import org.pdzsoftware.moviereservationsystem.repository.SessionRepository;
 import org.pdzsoftware.moviereservationsystem.service.SessionService;
+import org.pdzsoftware.moviereservationsystem.util.CursorCodec;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -15,7 +22,16 @@ import org.springframework.stereotype.Service;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.SESSION_DETAILS_CACHE;
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.SESSION_PAGES_CACHE;
 
 @Slf4j
 @Service
@@ -23,16 +39,23 @@ import java.util.Optional;
 public class DefaultSessionService implements SessionService {
     public static final Duration TOLERATED_PERIOD = Duration.ofMinutes(20L);
 
+    private static final int SLICE_SIZE = 15;
+
     private final SessionRepository sessionRepository;
+    private final CursorCodec cursorCodec;
 
     @Override
     public Optional<Session> findById(Long sessionId) {
         return sessionRepository.findById(sessionId);
     }
 
+    // Keyed by booking ID, bookings without a session are simply absent
     @Override
-    public Optional<SessionResponse> findResponseByBookingId(Long bookingId) {
-        return sessionRepository.findResponseByBookingId(bookingId);
+    public Map<Long, BookingSessionDto> findResponsesByBookingIds(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) return Map.of();
+
+        return sessionRepository.findResponsesByBookingIds(bookingIds).stream()
+                .collect(Collectors.toMap(BookingSessionDto::getBookingId, Function.identity()));
     }
 
     @Override
@@ -40,12 +63,22 @@ public class DefaultSessionService implements SessionService {
         return sessionRepository.findIdByBookingId(bookingId);
     }
 
+    // Comes with its movie and seat layout, seats are never marked taken here.
+    // Cached copy is shared, callers must not mutate it
     @Override
+    @Cacheable(cacheNames = SESSION_DETAILS_CACHE, unless = "#result == null")
     public Optional<SessionDetailedResponse> findDetailedResponseById(Long sessionId) {
-        return sessionRepository.findDetailedResponseById(sessionId);
+        List<SessionLayoutRowDto> rows = sessionRepository.findLayoutRowsById(sessionId);
+
+        if (rows.isEmpty()) return Optional.empty();
+
+        return Optional.of(toDetailedResponse(rows));
     }
 
+    // Cached copy is shared, callers must not mutate it
     @Override
+    @Cacheable(cacheNames = SESSION_PAGES_CACHE,
+            key = "#page + ':' + #movieId + ':' + #theaterId + ':' + #sessionDate", sync = true)
     public Page<SessionResponse> findResponsesByFilters(Long movieId,
                                                         LocalDate sessionDate,
                                                         Long theaterId,
@@ -60,6 +93,31 @@ public class DefaultSessionService implements SessionService {
         return sessionRepository.findResponsesByFilters(movieId, threshold, startOfFirstDay, endOfLastDay, theaterId, pageable);
     }
 
+    // Ordered by start time then ID, the cursor is the last pair returned
+    @Override
+    public CursorSliceResponse<SessionResponse> findResponsesAfter(Long movieId,
+                                                                   LocalDate sessionDate,
+                                                                   Long theaterId,
+                                                                   String cursor) {
+        LocalDateTime threshold = LocalDateTime.now().minus(TOLERATED_PERIOD);
+
+        LocalDateTime startOfFirstDay = getStartOfFirstDay(sessionDate);
+        LocalDateTime endOfLastDay = getEndOfLastDay(sessionDate);
+
+        SessionCursor after = cursorCodec.decode(cursor,
+                parts -> new SessionCursor(LocalDateTime.parse(parts.get(0)), Long.valueOf(parts.get(1))));
+        Pageable pageable = PageRequest.of(0, SLICE_SIZE + 1);
+
+        List<SessionResponse> sessions = after == null
+                ? sessionRepository.findFirstResponsesByFilters(movieId, threshold,
+                        startOfFirstDay, endOfLastDay, theaterId, pageable)
+                : sessionRepository.findResponsesByFiltersAfter(movieId, threshold,
+                        startOfFirstDay, endOfLastDay, theaterId, after.startTime(), after.id(), pageable);
+
+        return cursorCodec.toSlice(sessions, SLICE_SIZE,
+                session -> new Object[]{session.getStartTime(), session.getId()});
+    }
+
     @Override
     public boolean existsById(Long sessionId) {
         return sessionRepository.existsById(sessionId);
@@ -81,4 +139,48 @@ public class DefaultSessionService implements SessionService {
                 sessionDate.atStartOfDay() :
                 LocalDate.now().atStartOfDay();
     }
+
+    private static SessionDetailedResponse toDetailedResponse(List<SessionLayoutRowDto> rows) {
+        SessionLayoutRowDto first = rows.get(0);
+
+        SessionDetailedResponse response = new SessionDetailedResponse(
+                first.getSessionId(),
+                first.getStartTime(),
+                first.getEndTime(),
+                first.getAudioLanguage(),
+                first.isHasSubtitles(),
+                first.isThreeD(),
+                first.getStandardSeatPrice(),
+                first.getVipSeatPrice(),
+                first.getPwdSeatPrice(),
+                first.getTheaterId(),
+                first.getTheaterName(),
+                first.getTheaterLogoUrl(),
+                first.getTheaterAddress(),
+                first.getScreenName()
+        );
+
+        response.setMovie(new MovieResponse(
+                first.getMovieId(),
+                first.getTitle(),
+                first.getDescription(),
+                first.getGenre(),
+                first.getMinutesDuration(),
+                first.getPosterUrl(),
+                first.getReleaseDate()
+        ));
+
+        List<SeatResponse> seats = new ArrayList<>(rows.size());
+
+        for (SessionLayoutRowDto row : rows) {
+            if (row.getSeatId() == null) continue;
+            seats.add(new SeatResponse(row.getSeatId(), row.getSeatRow(), row.getSeatNumber(), row.getSeatType()));
+        }
+
+        response.setSeats(seats);
+        return response;
+    }
+
+    private record SessionCursor(LocalDateTime startTime, Long id) {
+    }
 }
@@ -1,5 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.service.impl;
 
+import com.google.common.collect.Lists;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException;
@@ -23,6 +24,8 @@ public class RedisSeatCacheService implements SeatCacheService {
     private static final String KEY_PREFIX = "Seat:";
     private static final String VALUE_PREFIX = "UserID:";
 
+    private static final int MULTI_GET_BATCH_SIZE = 1000;
+
     private final RedisTemplate<String, String> template;
 
     @Override
@@ -117,28 +120,39 @@ public class RedisSeatCacheService implements SeatCacheService {
 
     @Override
     public Set<Long> findTakenIdsBySessionId(Long sessionId, Set<Long> seatIds) {
-        try {
-            Set<Long> takenSeatIds = new HashSet<>(seatIds);
-            takenSeatIds.removeIf(seatId -> !template.hasKey(buildSeatKey(seatId, sessionId)));
-            return takenSeatIds;
-        } catch (Exception ex) {
-            log.error("[RedisSeatCacheService] Error finding taken seat IDs in Redis", ex);
-            throw new InternalErrorException("Internal error finding taken seat IDs in cache");
-        }
+        return findTakenIdsBySessionIds(Map.of(sessionId, seatIds)).get(sessionId);
     }
 
+    // One MGET per batch of seat keys instead of an EXISTS round trip per seat
     @Override
     public Map<Long, Set<Long>> findTakenIdsBySessionIds(Map<Long, Set<Long>> seatIdsBySessionId) {
-        Map<Long, Set<Long>> takenIdsBySessionId = new HashMap<>();
+        try {
+            Map<Long, Set<Long>> takenIdsBySessionId = new HashMap<>();
+            List<SeatKey> seatKeys = new ArrayList<>();
 
-        seatIdsBySessionId.forEach((sessionId, seatIds) -> {
-            Set<Long> takenSeatIds = findTakenIdsBySessionId(sessionId, seatIds);
-            takenIdsBySessionId.put(sessionId, takenSeatIds);
-        });
+            seatIdsBySessionId.forEach((sessionId, seatIds) -> {
+                takenIdsBySessionId.put(sessionId, new HashSet<>());
+                seatIds.forEach(seatId -> seatKeys.add(new SeatKey(sessionId, seatId)));
+            });
 
-        return takenIdsBySessionId;
-    }
+            for (List<SeatKey> batch : Lists.partition(seatKeys, MULTI_GET_BATCH_SIZE)) {
+                List<String> values = template.opsForValue().multiGet(batch.stream().map(SeatKey::key).toList());
+                if (values == null) continue;
+
+                for (int i = 0; i < batch.size(); i++) {
+                    if (values.get(i) == null) continue;
+
+                    SeatKey seatKey = batch.get(i);
+                    takenIdsBySessionId.get(seatKey.sessionId()).add(seatKey.seatId());
+                }
+            }
 
+            return takenIdsBySessionId;
+        } catch (Exception ex) {
+            log.error("[RedisSeatCacheService] Error finding taken seat IDs in Redis", ex);
+            throw new InternalErrorException("Internal error finding taken seat IDs in cache");
+        }
+    }
 
     private boolean doAllValuesMatch(List<String> values, String targetValue) {
         return values.stream().filter(Objects::nonNull).allMatch(value -> value.equals(targetValue));
@@ -155,5 +169,10 @@ public class RedisSeatCacheService implements SeatCacheService {
     private static List<String> buildSeatKeys(Set<Long> seatIds, Long sessionId) {
         return seatIds.stream().map(id -> KEY_PREFIX + id + ":" + sessionId).toList();
     }
-}
 
+    private record SeatKey(Long sessionId, Long seatId) {
+        private String key() {
+            return buildSeatKey(seatId, sessionId);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package org.pdzsoftware.moviereservationsystem.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+import com.stripe.exception.ApiConnectionException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
+import org.pdzsoftware.moviereservationsystem.dto.response.BookingResponse;
+import org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus;
+import org.pdzsoftware.moviereservationsystem.enums.PaymentStatus;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException;
+import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
+import org.pdzsoftware.moviereservationsystem.model.Booking;
+import org.pdzsoftware.moviereservationsystem.model.User;
+import org.pdzsoftware.moviereservationsystem.service.PaymentService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// In-process stand-in for the payment provider, so the booking flow can be load tested without Stripe.
+// Webhooks are signed with the configured secret and posted to the real webhook endpoint over local HTTP.
+@Slf4j
+@Service
+@Profile("simulated-payments")
+@RequiredArgsConstructor
+public class SimulatedPaymentService implements PaymentService {
+    public static final String SIMULATED_PAYMENTS_PATH = "/api/simulated-payments";
+    private static final String WEBHOOK_PATH = "/api/webhooks/stripe";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Value("${stripe.webhook-secret}")
+    private String webhookSecret;
+
+    @Value("${app.payments.simulated.latency-ms:50}")
+    private long latencyMs;
+    @Value("${app.payments.simulated.latency-jitter-ms:50}")
+    private long latencyJitterMs;
+    @Value("${app.payments.simulated.failure-rate:0.0}")
+    private double failureRate;
+    @Value("${app.payments.simulated.payment-failure-rate:0.0}")
+    private double paymentFailureRate;
+    @Value("${app.payments.simulated.webhook-delay-ms:100}")
+    private long webhookDelayMs;
+    @Value("${app.payments.simulated.webhook-threads:4}")
+    private int webhookThreads;
+
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    private final Map<String, SimulatedCheckout> checkouts = new ConcurrentHashMap<>();
+    private final RestClient restClient = RestClient.create();
+    private ScheduledExecutorService webhookExecutor;
+
+    @PostConstruct
+    public void init() {
+        webhookExecutor = Executors.newScheduledThreadPool(webhookThreads, new CustomizableThreadFactory("simulated-webhooks-"));
+        log.warn("[SimulatedPaymentService] Using simulated payment provider, no real payments will be processed");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        webhookExecutor.shutdownNow();
+    }
+
+    @Override
+    public BookingResponse createCheckout(User user,
+                                          Booking booking,
+                                          String successUrl,
+                                          String cancelUrl,
+                                          String movieTitle) throws Exception {
+        simulateProviderCall();
+
+        SimulatedCheckout checkout = new SimulatedCheckout();
+        checkout.setId("cs_sim_" + UUID.randomUUID());
+        checkout.setBookingId(booking.getId());
+        checkout.setUserId(user.getId());
+        checkout.setCheckoutStatus(CheckoutStatus.PENDING);
+        checkout.setPaymentStatus(PaymentStatus.PENDING);
+        checkouts.put(checkout.getId(), checkout);
+
+        log.info("[SimulatedPaymentService] Checkout session with ID: {} created for booking with ID: {}",
+                checkout.getId(), booking.getId());
+
+        return BookingResponse.builder()
+                .bookingId(booking.getId())
+                .checkoutId(checkout.getId())
+                .checkoutUrl(getBaseUrl() + SIMULATED_PAYMENTS_PATH + "/checkouts/" + checkout.getId() + "/pay")
+                .build();
+    }
+
+    @Override
+    public String createRefund(Booking booking, Long userId) throws Exception {
+        simulateProviderCall();
+
+        String refundId = "re_sim_" + UUID.randomUUID();
+        log.info("[SimulatedPaymentService] Refund with ID: {} created for booking with ID: {}", refundId, booking.getId());
+
+        Map<String, Object> refund = new LinkedHashMap<>();
+        refund.put("id", refundId);
+        refund.put("object", "refund");
+        refund.put("status", "succeeded");
+        refund.put("payment_intent", booking.getPaymentIntentId());
+        refund.put("metadata", buildMetadata(booking.getId(), userId));
+        deliverWebhook(StripeWebhookService.REFUND_UPDATED, refund);
+
+        return refundId;
+    }
+
+    @Override
+    public PaymentInfoDto getPaymentInfoBySessionId(String sessionId) throws Exception {
+        simulateProviderCall();
+
+        SimulatedCheckout checkout = getCheckout(sessionId);
+        return PaymentInfoDto.builder()
+                .checkoutId(checkout.getId())
+                .paymentIntentId(checkout.getPaymentIntentId())
+                .checkoutStatus(checkout.getCheckoutStatus())
+                .paymentStatus(checkout.getPaymentStatus())
+                .build();
+    }
+
+    @Override
+    public void expireCheckoutSession(String sessionId) throws Exception {
+        simulateProviderCall();
+
+        SimulatedCheckout checkout = getCheckout(sessionId);
+        synchronized (checkout) {
+            if (checkout.getCheckoutStatus() != CheckoutStatus.PENDING) {
+                throw new ConflictException("Only open checkout sessions can be expired");
+            }
+            checkout.setCheckoutStatus(CheckoutStatus.EXPIRED);
+        }
+
+        deliverWebhook(StripeWebhookService.CHECKOUT_SESSION_EXPIRED, buildSessionObject(checkout, "expired", "unpaid"));
+    }
+
+    // Plays the customer's part on the hosted checkout page, the payment outcome follows the configured failure rate
+    public boolean completeCheckout(String sessionId) {
+        SimulatedCheckout checkout = getCheckout(sessionId);
+        boolean succeeded = ThreadLocalRandom.current().nextDouble() >= paymentFailureRate;
+
+        synchronized (checkout) {
+            if (checkout.getCheckoutStatus() != CheckoutStatus.PENDING) {
+                throw new ConflictException("Checkout session is no longer open");
+            }
+            checkout.setCheckoutStatus(CheckoutStatus.COMPLETED);
+            checkout.setPaymentIntentId("pi_sim_" + UUID.randomUUID());
+            checkout.setPaymentStatus(succeeded ? PaymentStatus.SUCCEEDED : PaymentStatus.FAILED);
+        }
+
+        deliverWebhook(StripeWebhookService.CHECKOUT_SESSION_COMPLETED,
+                buildSessionObject(checkout, "complete", succeeded ? "paid" : "unpaid"));
+
+        Map<String, Object> paymentIntent = new LinkedHashMap<>();
+        paymentIntent.put("id", checkout.getPaymentIntentId());
+        paymentIntent.put("object", "payment_intent");
+        paymentIntent.put("status", succeeded ? "succeeded" : "requires_payment_method");
+        paymentIntent.put("metadata", buildMetadata(checkout.getBookingId(), checkout.getUserId()));
+        deliverWebhook(succeeded ? StripeWebhookService.PAYMENT_INTENT_SUCCEEDED
+                : StripeWebhookService.PAYMENT_INTENT_PAYMENT_FAILED, paymentIntent);
+
+        return succeeded;
+    }
+
+    private SimulatedCheckout getCheckout(String sessionId) {
+        SimulatedCheckout checkout = checkouts.get(sessionId);
+        if (checkout == null) {
+            log.error("[SimulatedPaymentService] Checkout session not found for ID: {}", sessionId);
+            throw new NotFoundException("Checkout session not found for given ID");
+        }
+        return checkout;
+    }
+
+    private void simulateProviderCall() throws ApiConnectionException, InterruptedException {
+        long jitter = latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0;
+        Thread.sleep(latencyMs + jitter);
+
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new ApiConnectionException("Simulated payment provider failure");
+        }
+    }
+
+    private void deliverWebhook(String type, Map<String, Object> dataObject) {
+        webhookExecutor.schedule(() -> postWebhook(type, dataObject), webhookDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void postWebhook(String type, Map<String, Object> dataObject) {
+        try {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("id", "evt_sim_" + UUID.randomUUID());
+            event.put("object", "event");
+            event.put("api_version", Stripe.API_VERSION);
+            event.put("created", Instant.now().getEpochSecond());
+            event.put("type", type);
+            event.put("data", Map.of("object", dataObject));
+
+            String payload = objectMapper.writeValueAsString(event);
+
+            restClient.post()
+                    .uri(getBaseUrl() + WEBHOOK_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header("Stripe-Signature", sign(payload))
+                    .body(payload)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (Exception ex) {
+            log.error("[SimulatedPaymentService] Error delivering simulated webhook of type: {}", type, ex);
+        }
+    }
+
+    // Same scheme as the provider's signature header, so the webhook endpoint verifies it unchanged
+    private String sign(String payload) throws Exception {
+        long timestamp = Instant.now().getEpochSecond();
+
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+        byte[] signature = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+
+        return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+    }
+
+    // Resolved per call, since the port is only known once the server has started
+    private String getBaseUrl() {
+        String port = environment.getProperty("local.server.port", environment.getProperty("server.port", "8080"));
+        return environment.getProperty("app.payments.simulated.base-url", "http://localhost:" + port);
+    }
+
+    private static Map<String, Object> buildSessionObject(SimulatedCheckout checkout, String status, String paymentStatus) {
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("id", checkout.getId());
+        session.put("object", "checkout.session");
+        session.put("status", status);
+        session.put("payment_status", paymentStatus);
+        session.put("payment_intent", checkout.getPaymentIntentId());
+        session.put("metadata", buildMetadata(checkout.getBookingId(), checkout.getUserId()));
+        return session;
+    }
+
+    private static Map<String, String> buildMetadata(Long bookingId, Long userId) {
+        return Map.of(BOOKING_ID_KEY, String.valueOf(bookingId), USER_ID_KEY, String.valueOf(userId));
+    }
+
+    @Getter
+    @Setter
+    private static class SimulatedCheckout {
+        private String id;
+        private Long bookingId;
+        private Long userId;
+        private String paymentIntentId;
+        private CheckoutStatus checkoutStatus;
+        private PaymentStatus paymentStatus;
+    }
+}
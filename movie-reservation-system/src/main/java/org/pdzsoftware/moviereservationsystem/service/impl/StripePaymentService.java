@@ -1,6 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.service.impl;
 
-import com.stripe.Stripe;
+import com.stripe.StripeClient;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.Refund;
@@ -9,34 +9,44 @@ import com.stripe.param.RefundCreateParams;
 import com.stripe.param.checkout.SessionCreateParams;
 import com.stripe.param.checkout.SessionCreateParams.LineItem;
 import com.stripe.param.checkout.SessionCreateParams.PaymentIntentData;
-import jakarta.annotation.PostConstruct;
+import com.stripe.param.checkout.SessionRetrieveParams;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingResponse;
 import org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus;
 import org.pdzsoftware.moviereservationsystem.enums.PaymentStatus;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.model.User;
 import org.pdzsoftware.moviereservationsystem.service.PaymentService;
-import org.springframework.beans.factory.annotation.Value;
+import org.pdzsoftware.moviereservationsystem.util.PaymentInfoCache;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
+@Profile("!simulated-payments")
 @RequiredArgsConstructor
 public class StripePaymentService implements PaymentService {
-    @Value("${stripe.api-key}")
-    private String stripeApiKey;
+    private static final String PROVIDER_CALLS_METRIC = "payment.provider.calls";
 
-    @PostConstruct
-    public void init() {
-        Stripe.apiKey = stripeApiKey;
-    }
+    private final StripeClient stripeClient;
+    private final CircuitBreaker paymentProviderCircuitBreaker;
+    private final Bulkhead paymentProviderBulkhead;
+    private final PaymentInfoCache paymentInfoCache;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public BookingResponse createCheckout(User user,
@@ -58,7 +68,7 @@ public class StripePaymentService implements PaymentService {
                 .putMetadata(USER_ID_KEY, String.valueOf(user.getId()))
                 .build();
 
-        Session session = Session.create(params);
+        Session session = callProvider("create_checkout", () -> stripeClient.checkout().sessions().create(params));
 
         log.info("[StripePaymentService] Checkout session with ID: {} created for booking with ID: {}",
                 session.getId(), booking.getId());
@@ -79,7 +89,7 @@ public class StripePaymentService implements PaymentService {
                 .putMetadata(USER_ID_KEY, String.valueOf(userId))
                 .build();
 
-        Refund refund = Refund.create(params);
+        Refund refund = callProvider("create_refund", () -> stripeClient.refunds().create(params));
         log.info("[StripePaymentService] Refund with ID: {} created for booking with ID: {} and paymentIntentId: {}",
                 refund.getId(), booking.getId(), booking.getPaymentIntentId());
 
@@ -88,7 +98,19 @@ public class StripePaymentService implements PaymentService {
 
     @Override
     public PaymentInfoDto getPaymentInfoBySessionId(String sessionId) throws Exception {
-        Session session = Session.retrieve(sessionId);
+        // A terminal status seen before (or pushed by a webhook) can't change, so the provider isn't asked again
+        Optional<PaymentInfoDto> cachedPaymentInfo = paymentInfoCache.get(sessionId);
+        if (cachedPaymentInfo.isPresent()) {
+            return cachedPaymentInfo.get();
+        }
+
+        // Expanding the payment intent inline saves a second round trip to the provider
+        SessionRetrieveParams params = SessionRetrieveParams.builder()
+                .addExpand("payment_intent")
+                .build();
+
+        Session session = callProvider("retrieve_checkout",
+                () -> stripeClient.checkout().sessions().retrieve(sessionId, params));
 
         PaymentInfoDto paymentInfo = new PaymentInfoDto();
 
@@ -105,10 +127,17 @@ public class StripePaymentService implements PaymentService {
         // No payment was even tried
         if (session.getPaymentIntent() == null || !paymentInfo.getCheckoutStatus().equals(CheckoutStatus.COMPLETED)) {
             paymentInfo.setPaymentStatus(PaymentStatus.PENDING);
+            paymentInfoCache.putIfTerminal(paymentInfo);
             return paymentInfo;
         }
 
-        PaymentIntent paymentIntent = PaymentIntent.retrieve(session.getPaymentIntent());
+        PaymentIntent paymentIntent = session.getPaymentIntentObject();
+        if (paymentIntent == null) {
+            // Only happens if the expansion didn't come back, so fall back to fetching it
+            String paymentIntentId = session.getPaymentIntent();
+            paymentIntent = callProvider("retrieve_payment_intent",
+                    () -> stripeClient.paymentIntents().retrieve(paymentIntentId));
+        }
 
         paymentInfo.setPaymentIntentId(paymentIntent.getId());
         paymentInfo.setPaymentStatus(
@@ -120,13 +149,54 @@ public class StripePaymentService implements PaymentService {
                 }
         );
 
+        paymentInfoCache.putIfTerminal(paymentInfo);
         return paymentInfo;
     }
 
     @Override
     public void expireCheckoutSession(String sessionId) throws StripeException {
-        Session session = Session.retrieve(sessionId);
-        session.expire();
+        // Expiring by ID directly, no need to retrieve the session first
+        callProvider("expire_checkout", () -> stripeClient.checkout().sessions().expire(sessionId));
+    }
+
+    // Every provider call goes through the bulkhead and circuit breaker, so a slow or failing provider
+    // gets rejected fast instead of holding request threads until the timeouts
+    private <T> T callProvider(String operation, ProviderCall<T> call) throws StripeException {
+        try {
+            paymentProviderBulkhead.acquirePermission();
+        } catch (BulkheadFullException ex) {
+            meterRegistry.counter(PROVIDER_CALLS_METRIC, "operation", operation, "outcome", "bulkhead_full").increment();
+            log.warn("[StripePaymentService] Too many concurrent payment provider calls, rejecting: {}", operation);
+            throw new ServiceUnavailableException("Payment provider is busy, please try again shortly");
+        }
+
+        try {
+            paymentProviderCircuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException ex) {
+            paymentProviderBulkhead.releasePermission();
+            meterRegistry.counter(PROVIDER_CALLS_METRIC, "operation", operation, "outcome", "circuit_open").increment();
+            log.warn("[StripePaymentService] Payment provider circuit is open, rejecting: {}", operation);
+            throw new ServiceUnavailableException("Payment provider is unavailable, please try again shortly");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.execute();
+            paymentProviderCircuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meterRegistry.counter(PROVIDER_CALLS_METRIC, "operation", operation, "outcome", "success").increment();
+            return result;
+        } catch (StripeException | RuntimeException ex) {
+            paymentProviderCircuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, ex);
+            meterRegistry.counter(PROVIDER_CALLS_METRIC, "operation", operation, "outcome", "error").increment();
+            throw ex;
+        } finally {
+            paymentProviderBulkhead.onComplete();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ProviderCall<T> {
+        T execute() throws StripeException;
     }
 
     private static LineItem createLineItem(Booking booking, String productName) {
@@ -3,15 +3,23 @@ package org.pdzsoftware.moviereservationsystem.service.impl;
 import com.stripe.model.Event;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.Refund;
+import com.stripe.model.StripeObject;
 import com.stripe.model.checkout.Session;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
+import org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus;
+import org.pdzsoftware.moviereservationsystem.enums.PaymentStatus;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.service.BookingService;
 import org.pdzsoftware.moviereservationsystem.service.BookingStatusService;
+import org.pdzsoftware.moviereservationsystem.util.PaymentInfoCache;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.function.BiFunction;
+
 import static org.pdzsoftware.moviereservationsystem.service.PaymentService.BOOKING_ID_KEY;
 import static org.pdzsoftware.moviereservationsystem.service.PaymentService.USER_ID_KEY;
 
@@ -27,27 +35,37 @@ public class StripeWebhookService {
 
     private final BookingService bookingService;
     private final BookingStatusService bookingStatusService;
+    private final PaymentInfoCache paymentInfoCache;
 
     public void handleStripeEvent(Event event) {
+        handleStripeEvent(event, this::getBooking);
+    }
+
+    // Same handling, resolving bookings from a batch loaded up front instead of one query per event
+    public void handleStripeEvent(Event event, Map<Long, Booking> bookingsById) {
+        handleStripeEvent(event, (bookingId, userId) -> getLoadedBooking(bookingsById, bookingId, userId));
+    }
+
+    private void handleStripeEvent(Event event, BiFunction<Long, Long, Booking> bookingLookup) {
         String type = event.getType();
 
         log.info("[StripeWebhookService] Received stripe event of type: {}", type);
 
         switch (type) {
             case CHECKOUT_SESSION_COMPLETED:
-                handleCheckoutCompleted(event);
+                handleCheckoutCompleted(event, bookingLookup);
                 break;
             case PAYMENT_INTENT_SUCCEEDED:
-                handlePaymentSuccess(event);
+                handlePaymentSuccess(event, bookingLookup);
                 break;
             case CHECKOUT_SESSION_EXPIRED:
-                handleCheckoutExpired(event);
+                handleCheckoutExpired(event, bookingLookup);
                 break;
             case PAYMENT_INTENT_PAYMENT_FAILED:
-                handlePaymentFailed(event);
+                handlePaymentFailed(event, bookingLookup);
                 break;
             case REFUND_UPDATED:
-                handleRefundUpdate(event);
+                handleRefundUpdate(event, bookingLookup);
                 break;
             default:
                 log.warn("[StripeWebhookService] Stripe event ignored, type not recognized: {}", type);
@@ -57,63 +75,113 @@ public class StripeWebhookService {
         log.info("[StripeWebhookService] Successfully handled stripe event of type: {}", type);
     }
 
-    private void handleCheckoutCompleted(Event event) {
+    private void handleCheckoutCompleted(Event event, BiFunction<Long, Long, Booking> bookingLookup) {
         Session session = (Session) event.getData().getObject();
 
+        // Lets the jobs skip the provider lookup once the checkout is known to be paid
+        if ("paid".equals(session.getPaymentStatus())) {
+            paymentInfoCache.putIfTerminal(PaymentInfoDto.builder()
+                    .checkoutId(session.getId())
+                    .paymentIntentId(session.getPaymentIntent())
+                    .checkoutStatus(CheckoutStatus.COMPLETED)
+                    .paymentStatus(PaymentStatus.SUCCEEDED)
+                    .build());
+        }
+
         Long bookingId = Long.valueOf(session.getMetadata().get(BOOKING_ID_KEY));
         Long userId = Long.valueOf(session.getMetadata().get(USER_ID_KEY));
-        Booking booking = getBooking(bookingId, userId);
+        Booking booking = bookingLookup.apply(bookingId, userId);
 
         bookingStatusService.handleCheckoutCompleted(booking, session.getId(), session.getPaymentIntent());
     }
 
-    private void handlePaymentSuccess(Event event) {
+    private void handlePaymentSuccess(Event event, BiFunction<Long, Long, Booking> bookingLookup) {
         PaymentIntent paymentIntent = (PaymentIntent) event.getData().getObject();
 
         Long bookingId = Long.valueOf(paymentIntent.getMetadata().get(BOOKING_ID_KEY));
         Long userId = Long.valueOf(paymentIntent.getMetadata().get(USER_ID_KEY));
-        Booking booking = getBooking(bookingId, userId);
+        Booking booking = bookingLookup.apply(bookingId, userId);
 
         bookingStatusService.handlePaymentSuccess(booking, paymentIntent.getId());
     }
 
-    private void handleCheckoutExpired(Event event) {
+    private void handleCheckoutExpired(Event event, BiFunction<Long, Long, Booking> bookingLookup) {
         Session checkoutSession = (Session) event.getData().getObject();
 
+        paymentInfoCache.putIfTerminal(PaymentInfoDto.builder()
+                .checkoutId(checkoutSession.getId())
+                .checkoutStatus(CheckoutStatus.EXPIRED)
+                .paymentStatus(PaymentStatus.PENDING)
+                .build());
+
         Long bookingId = Long.valueOf(checkoutSession.getMetadata().get(BOOKING_ID_KEY));
         Long userId = Long.valueOf(checkoutSession.getMetadata().get(USER_ID_KEY));
-        Booking booking = getBooking(bookingId, userId);
+        Booking booking = bookingLookup.apply(bookingId, userId);
 
         bookingStatusService.handleCheckoutExpired(booking, checkoutSession.getId());
     }
 
-    private void handlePaymentFailed(Event event) {
+    private void handlePaymentFailed(Event event, BiFunction<Long, Long, Booking> bookingLookup) {
         PaymentIntent paymentIntent = (PaymentIntent) event.getData().getObject();
 
         Long bookingId = Long.valueOf(paymentIntent.getMetadata().get(BOOKING_ID_KEY));
         Long userId = Long.valueOf(paymentIntent.getMetadata().get(USER_ID_KEY));
-        Booking booking = getBooking(bookingId, userId);
+        Booking booking = bookingLookup.apply(bookingId, userId);
 
         bookingStatusService.handlePaymentFailed(booking, paymentIntent.getId());
     }
 
-    private void handleRefundUpdate(Event event) {
+    private void handleRefundUpdate(Event event, BiFunction<Long, Long, Booking> bookingLookup) {
         Refund refund = (Refund) event.getData().getObject();
 
         // Only process successful refund updates
         if ("succeeded".equals(refund.getStatus())) {
             Long bookingId = Long.valueOf(refund.getMetadata().get(BOOKING_ID_KEY));
             Long userId = Long.valueOf(refund.getMetadata().get(USER_ID_KEY));
-            Booking booking = getBooking(bookingId, userId);
+            Booking booking = bookingLookup.apply(bookingId, userId);
 
             bookingStatusService.handlePaymentRefunded(booking, refund.getId());
         }
     }
 
+    // Booking the event refers to, read from the metadata set when creating checkouts and refunds
+    public Long resolveBookingId(Event event) {
+        StripeObject object = event.getData() == null ? null : event.getData().getObject();
+
+        Map<String, String> metadata = null;
+        if (object instanceof Session session) {
+            metadata = session.getMetadata();
+        } else if (object instanceof PaymentIntent paymentIntent) {
+            metadata = paymentIntent.getMetadata();
+        } else if (object instanceof Refund refund) {
+            metadata = refund.getMetadata();
+        }
+
+        if (metadata == null || metadata.get(BOOKING_ID_KEY) == null) return null;
+
+        try {
+            return Long.valueOf(metadata.get(BOOKING_ID_KEY));
+        } catch (NumberFormatException ex) {
+            log.warn("[StripeWebhookService] Invalid booking ID in metadata of event with ID: {}", event.getId());
+            return null;
+        }
+    }
+
     private Booking getBooking(Long bookingId, Long userId) {
         return bookingService.findByIdAndUserId(bookingId, userId).orElseThrow(() -> {
             log.error("[StripeWebhookService] Booking not found for ID: {} and user ID: {}", bookingId, userId);
             return new NotFoundException("Booking not found for given ID and user ID");
         });
     }
+
+    private Booking getLoadedBooking(Map<Long, Booking> bookingsById, Long bookingId, Long userId) {
+        Booking booking = bookingsById.get(bookingId);
+
+        if (booking == null || !booking.getUser().getId().equals(userId)) {
+            log.error("[StripeWebhookService] Booking not found for ID: {} and user ID: {}", bookingId, userId);
+            throw new NotFoundException("Booking not found for given ID and user ID");
+        }
+
+        return booking;
+    }
 }
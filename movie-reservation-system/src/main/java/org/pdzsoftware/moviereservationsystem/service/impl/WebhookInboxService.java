@@ -0,0 +1,64 @@
+package org.pdzsoftware.moviereservationsystem.service.impl;
+
+import com.stripe.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.model.WebhookEvent;
+import org.pdzsoftware.moviereservationsystem.repository.WebhookEventRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.pdzsoftware.moviereservationsystem.enums.WebhookEventStatus.RECEIVED;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookInboxService {
+    public static final String INBOX_METRIC = "webhook.inbox.events";
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final StripeWebhookService stripeWebhookService;
+    private final MeterRegistry meterRegistry;
+
+    // Only stores the verified event, so the provider is acknowledged right away and processing happens later
+    public void store(Event event, String payload) {
+        LocalDateTime now = LocalDateTime.now();
+
+        WebhookEvent webhookEvent = WebhookEvent.builder()
+                .providerEventId(event.getId())
+                .eventType(event.getType())
+                .bookingId(stripeWebhookService.resolveBookingId(event))
+                .payload(payload)
+                .eventStatus(RECEIVED)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .receivedAt(now)
+                .build();
+
+        try {
+            webhookEventRepository.saveAndFlush(webhookEvent);
+            meterRegistry.counter(INBOX_METRIC, "outcome", "received").increment();
+
+            log.info("[WebhookInboxService] Stored webhook event with ID: {} and type: {} for booking with ID: {}",
+                    event.getId(), event.getType(), webhookEvent.getBookingId());
+        } catch (DataIntegrityViolationException ex) {
+            // Redelivery of an event that's already in the inbox, the unique event ID drops it
+            meterRegistry.counter(INBOX_METRIC, "outcome", "duplicate").increment();
+            log.info("[WebhookInboxService] Ignoring duplicate webhook event with ID: {}", event.getId());
+        }
+    }
+
+    // Failed events hold back the later events of their booking, redriving them releases those as well
+    @Transactional(rollbackFor = Exception.class)
+    public int redriveFailed() {
+        int redriven = webhookEventRepository.redriveFailed(LocalDateTime.now());
+        meterRegistry.counter(INBOX_METRIC, "outcome", "redriven").increment(redriven);
+
+        log.info("[WebhookInboxService] Redrove {} failed webhook event(s)", redriven);
+        return redriven;
+    }
+}
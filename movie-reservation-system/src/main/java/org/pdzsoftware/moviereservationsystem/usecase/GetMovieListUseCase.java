@@ -1,5 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.usecase;
 
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
 import org.springframework.data.domain.Page;
@@ -10,4 +11,5 @@ import java.util.List;
 @Service
 public interface GetMovieListUseCase {
     Page<MovieResponse> execute(String search, List<MovieGenre> genres, int page);
+    CursorSliceResponse<MovieResponse> scroll(String search, List<MovieGenre> genres, String cursor);
 }
@@ -1,5 +1,6 @@
 package org.pdzsoftware.moviereservationsystem.usecase;
 
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
@@ -9,4 +10,5 @@ import java.time.LocalDate;
 @Service
 public interface GetMovieSessionsUseCase {
     Page<SessionResponse> execute(Long movieId, LocalDate sessionDate, Long theaterId, int page);
+    CursorSliceResponse<SessionResponse> scroll(Long movieId, LocalDate sessionDate, Long theaterId, String cursor);
 }
@@ -0,0 +1,11 @@
+package org.pdzsoftware.moviereservationsystem.usecase;
+
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieSuggestionResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public interface GetMovieSuggestionsUseCase {
+    List<MovieSuggestionResponse> execute(String query, int limit);
+}
@@ -1,6 +1,7 @@
 package org.pdzsoftware.moviereservationsystem.usecase;
 
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
@@ -10,4 +11,5 @@ import java.util.List;
 @Service
 public interface GetUserBookingsUseCase {
     Page<BookingDetailedResponse> execute(Long userId, List<BookingStatus> statuses, int page);
+    CursorSliceResponse<BookingDetailedResponse> scroll(Long userId, List<BookingStatus> statuses, String cursor);
 }
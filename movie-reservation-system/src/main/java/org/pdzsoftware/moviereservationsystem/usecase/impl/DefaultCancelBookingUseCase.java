@@ -2,8 +2,10 @@ package org.pdzsoftware.moviereservationsystem.usecase.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.InternalErrorException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.service.BookingService;
 import org.pdzsoftware.moviereservationsystem.service.BookingStatusService;
@@ -47,7 +49,11 @@ public class DefaultCancelBookingUseCase implements CancelBookingUseCase {
         String refundId = tryCreatingRefund(userId, booking);
 
         booking.setRefundId(refundId);
-        bookingStatusService.validateAndUpdateStatus(booking, AWAITING_CANCELLATION);
+        if (!bookingStatusService.validateAndUpdateStatus(booking, AWAITING_CANCELLATION)) {
+            log.error("[DefaultCancelBookingUseCase] Booking with ID: {} changed status while creating refund with ID: {}",
+                    booking.getId(), refundId);
+            throw new ConflictException("Booking status changed while cancelling");
+        }
     }
 
     private String tryCreatingRefund(Long userId, Booking booking) {
@@ -55,6 +61,10 @@ public class DefaultCancelBookingUseCase implements CancelBookingUseCase {
             log.info("[DefaultCancelBookingUseCase] Creating refund for booking with ID: {} and paymentIntentId: {}",
                     booking.getId(), booking.getPaymentIntentId());
             return paymentService.createRefund(booking, userId);
+        } catch (ServiceUnavailableException e) {
+            log.warn("[DefaultCancelBookingUseCase] Payment provider unavailable, refund not created for booking with ID: {}",
+                    booking.getId());
+            throw e;
         } catch (Exception e) {
             log.error("[DefaultCancelBookingUseCase] Error creating refund for booking with ID: {} and paymentIntentId: {}",
                     booking.getId(), booking.getPaymentIntentId(), e);
@@ -9,6 +9,7 @@ import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException
 import org.pdzsoftware.moviereservationsystem.exception.custom.GoneException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.InternalErrorException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.model.Seat;
 import org.pdzsoftware.moviereservationsystem.model.Session;
@@ -98,6 +99,11 @@ public class DefaultCreateBookingUseCase implements CreateBookingUseCase {
                     bookingRequest.getCancelUrl(),
                     session.getMovie().getTitle()
             );
+        } catch (ServiceUnavailableException e) {
+            // Payment provider is degraded, fail fast with a retryable status instead of a generic error
+            log.warn("[DefaultCreateBookingUseCase] Payment provider unavailable, checkout not created for booking with ID: {}",
+                    booking.getId());
+            throw e;
         } catch (Exception e) {
             log.error("[DefaultCreateBookingUseCase] Error creating checkout session for booking with ID: {}", booking.getId(), e);
             throw new InternalErrorException("Internal error creating checkout session");
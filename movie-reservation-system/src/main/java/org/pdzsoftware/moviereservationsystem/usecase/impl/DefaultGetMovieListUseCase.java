@@ -2,10 +2,12 @@ package org.pdzsoftware.moviereservationsystem.usecase.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
 import org.pdzsoftware.moviereservationsystem.service.MovieService;
 import org.pdzsoftware.moviereservationsystem.usecase.GetMovieListUseCase;
+import org.pdzsoftware.moviereservationsystem.util.SingleFlight;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
@@ -15,10 +17,19 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class DefaultGetMovieListUseCase implements GetMovieListUseCase {
+    private static final String SINGLE_FLIGHT_GROUP = "movie-list";
+
     private final MovieService movieService;
+    private final SingleFlight singleFlight;
 
     @Override
     public Page<MovieResponse> execute(String search, List<MovieGenre> genres, int page) {
-        return movieService.findResponsesByFilters(search, genres, page);
+        String key = page + ":" + genres + ":" + (search == null ? "-" : "+" + search);
+        return singleFlight.execute(SINGLE_FLIGHT_GROUP, key, () -> movieService.findResponsesByFilters(search, genres, page));
+    }
+
+    @Override
+    public CursorSliceResponse<MovieResponse> scroll(String search, List<MovieGenre> genres, String cursor) {
+        return movieService.findResponsesAfter(search, genres, cursor);
     }
 }
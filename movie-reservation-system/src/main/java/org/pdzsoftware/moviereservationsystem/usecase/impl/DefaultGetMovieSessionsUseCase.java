@@ -2,14 +2,17 @@ package org.pdzsoftware.moviereservationsystem.usecase.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
 import org.pdzsoftware.moviereservationsystem.service.SeatService;
 import org.pdzsoftware.moviereservationsystem.service.SessionService;
 import org.pdzsoftware.moviereservationsystem.usecase.GetMovieSessionsUseCase;
+import org.pdzsoftware.moviereservationsystem.util.SingleFlight;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -18,22 +21,42 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class DefaultGetMovieSessionsUseCase implements GetMovieSessionsUseCase {
+    private static final String SINGLE_FLIGHT_GROUP = "movie-sessions";
+
     private final SessionService sessionService;
     private final SeatService seatService;
+    private final SingleFlight singleFlight;
 
     @Override
     public Page<SessionResponse> execute(Long movieId, LocalDate sessionDate, Long theaterId, int page) {
-        Page<SessionResponse> sessions = sessionService.findResponsesByFilters(movieId, sessionDate, theaterId, page);
+        String key = movieId + ":" + sessionDate + ":" + theaterId + ":" + page;
+        return singleFlight.execute(SINGLE_FLIGHT_GROUP, key, () -> loadSessions(movieId, sessionDate, theaterId, page));
+    }
+
+    @Override
+    public CursorSliceResponse<SessionResponse> scroll(Long movieId, LocalDate sessionDate, Long theaterId, String cursor) {
+        CursorSliceResponse<SessionResponse> sessions = sessionService.findResponsesAfter(movieId, sessionDate, theaterId, cursor);
+        setAvailability(sessions.getContent());
+        return sessions;
+    }
 
-        Set<Long> sessionIds = sessions.getContent().stream()
+    private Page<SessionResponse> loadSessions(Long movieId, LocalDate sessionDate, Long theaterId, int page) {
+        // Pages come from a shared cache, so availability is set on copies
+        Page<SessionResponse> sessions = sessionService.findResponsesByFilters(movieId, sessionDate, theaterId, page)
+                .map(SessionResponse::new);
+
+        setAvailability(sessions.getContent());
+        return sessions;
+    }
+
+    private void setAvailability(List<SessionResponse> sessions) {
+        Set<Long> sessionIds = sessions.stream()
                 .map(SessionResponse::getId).collect(Collectors.toSet());
 
         Map<Long, Boolean> sessionHasFreeSeats = seatService.getSeatAvailabilityForSessions(sessionIds);
 
-        sessions.getContent().forEach(session ->
+        sessions.forEach(session ->
             session.setHasFreeSeats(sessionHasFreeSeats.getOrDefault(session.getId(), true))
         );
-
-        return sessions;
     }
 }
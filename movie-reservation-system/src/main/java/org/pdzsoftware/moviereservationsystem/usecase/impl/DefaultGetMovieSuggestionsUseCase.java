@@ -0,0 +1,26 @@
+package org.pdzsoftware.moviereservationsystem.usecase.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieSuggestionResponse;
+import org.pdzsoftware.moviereservationsystem.service.MovieSearchService;
+import org.pdzsoftware.moviereservationsystem.usecase.GetMovieSuggestionsUseCase;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultGetMovieSuggestionsUseCase implements GetMovieSuggestionsUseCase {
+    private static final int MAX_SUGGESTIONS = 20;
+
+    private final MovieSearchService movieSearchService;
+
+    @Override
+    public List<MovieSuggestionResponse> execute(String query, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+
+        return movieSearchService.suggest(query, boundedLimit).stream()
+                .map(movie -> new MovieSuggestionResponse(movie.getId(), movie.getTitle(), movie.getGenre()))
+                .toList();
+    }
+}
@@ -2,15 +2,14 @@ package org.pdzsoftware.moviereservationsystem.usecase.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SeatResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse;
 import org.pdzsoftware.moviereservationsystem.exception.custom.GoneException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
-import org.pdzsoftware.moviereservationsystem.service.MovieService;
 import org.pdzsoftware.moviereservationsystem.service.SeatService;
 import org.pdzsoftware.moviereservationsystem.service.SessionService;
 import org.pdzsoftware.moviereservationsystem.usecase.GetSessionDetailedUseCase;
+import org.pdzsoftware.moviereservationsystem.util.SingleFlight;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,34 +20,40 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class DefaultGetSessionDetailedUseCase implements GetSessionDetailedUseCase {
+    private static final String SINGLE_FLIGHT_GROUP = "session-detailed";
+
     private final SessionService sessionService;
-    private final MovieService movieService;
     private final SeatService seatService;
+    private final SingleFlight singleFlight;
 
     @Override
     public SessionDetailedResponse execute(Long sessionId) {
-        SessionDetailedResponse detailedResponse = sessionService.findDetailedResponseById(sessionId).orElseThrow(() -> {
+        return singleFlight.execute(SINGLE_FLIGHT_GROUP, sessionId, () -> loadSession(sessionId));
+    }
+
+    private SessionDetailedResponse loadSession(Long sessionId) {
+        SessionDetailedResponse cachedResponse = sessionService.findDetailedResponseById(sessionId).orElseThrow(() -> {
             log.error("[DefaultGetSessionDetailedUseCase] Session not found for ID: {}", sessionId);
             return new NotFoundException("Session not found for given ID");
         });
 
-        if (sessionService.isExpired(detailedResponse.getStartTime())) {
+        if (sessionService.isExpired(cachedResponse.getStartTime())) {
             log.error("[DefaultGetSessionDetailedUseCase] Session with ID: {} is expired", sessionId);
             throw new GoneException("Session is expired");
         }
 
-        MovieResponse movieResponse = movieService.findResponseBySessionId(sessionId).orElseThrow(() -> {
-            log.error("[DefaultGetSessionDetailedUseCase] Movie not found for session ID: {}", sessionId);
-            return new NotFoundException("Movie not found for given session ID");
-        });
-
-        List<SeatResponse> seatResponses = seatService.findResponsesBySessionId(sessionId);
+        // Static part comes from one cached query, only the taken flags are read per request
+        List<SeatResponse> cachedSeats = cachedResponse.getSeats();
 
-        if (seatResponses.isEmpty()) {
+        if (cachedSeats.isEmpty()) {
             log.error("[DefaultGetSessionDetailedUseCase] Couldn't find any seats for session ID: {}", sessionId);
             throw new NotFoundException("No seats found for given session ID");
         }
 
+        // Session and seats come from a shared cache, so availability is set on copies
+        SessionDetailedResponse detailedResponse = new SessionDetailedResponse(cachedResponse);
+        List<SeatResponse> seatResponses = cachedSeats.stream().map(DefaultGetSessionDetailedUseCase::copyOf).toList();
+
         Set<Long> seatIds = seatResponses.stream().map(SeatResponse::getId).collect(Collectors.toSet());
         Set<Long> takenSeatIds = seatService.getTakenSeatIdsForSession(seatIds, sessionId);
 
@@ -56,9 +61,13 @@ public class DefaultGetSessionDetailedUseCase implements GetSessionDetailedUseCa
             seatResponse.setTaken(takenSeatIds.contains(seatResponse.getId()))
         );
 
-        detailedResponse.setMovie(movieResponse);
+        detailedResponse.setMovie(cachedResponse.getMovie());
         detailedResponse.setSeats(seatResponses);
 
         return detailedResponse;
     }
+
+    private static SeatResponse copyOf(SeatResponse response) {
+        return new SeatResponse(response.getId(), response.getSeatRow(), response.getSeatNumber(), response.getSeatType());
+    }
 }
@@ -2,21 +2,21 @@ package org.pdzsoftware.moviereservationsystem.usecase.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.BookingSessionDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookedSeatResponse;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
-import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
-import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
 import org.pdzsoftware.moviereservationsystem.service.BookedSeatService;
 import org.pdzsoftware.moviereservationsystem.service.BookingService;
-import org.pdzsoftware.moviereservationsystem.service.MovieService;
 import org.pdzsoftware.moviereservationsystem.service.SessionService;
 import org.pdzsoftware.moviereservationsystem.usecase.GetUserBookingsUseCase;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -24,32 +24,42 @@ import java.util.List;
 public class DefaultGetUserBookingsUseCase implements GetUserBookingsUseCase {
     private final BookingService bookingService;
     private final SessionService sessionService;
-    private final MovieService movieService;
     private final BookedSeatService bookedSeatService;
 
     @Override
     public Page<BookingDetailedResponse> execute(Long userId, List<BookingStatus> statuses, int page) {
         Page<BookingDetailedResponse> detailedResponses = bookingService.findDetailedByFilters(userId, statuses, page);
+        enrich(detailedResponses.getContent());
+        return detailedResponses;
+    }
 
-        // TODO: batch these calls to improve response time
-        detailedResponses.getContent().forEach(booking -> {
-            SessionResponse session = sessionService.findResponseByBookingId(booking.getId()).orElseThrow(() -> {
-                log.error("[DefaultGetUserBookingsUseCase] Session not found for booking ID: {}", booking.getId());
-                return new NotFoundException("Session not found for given booking ID");
-            });
+    @Override
+    public CursorSliceResponse<BookingDetailedResponse> scroll(Long userId, List<BookingStatus> statuses, String cursor) {
+        CursorSliceResponse<BookingDetailedResponse> detailedResponses = bookingService.findDetailedAfter(userId, statuses, cursor);
+        enrich(detailedResponses.getContent());
+        return detailedResponses;
+    }
 
-            MovieResponse movie = movieService.findResponseBySessionId(session.getId()).orElseThrow(() -> {
-                log.error("[DefaultGetUserBookingsUseCase] Movie not found for session ID: {}", session.getId());
-                return new NotFoundException("Movie not found for given session ID");
-            });
+    // Two queries for the whole page, session and movie come joined in one and the seats in the other
+    private void enrich(List<BookingDetailedResponse> bookings) {
+        if (bookings.isEmpty()) return;
 
-            List<BookedSeatResponse> bookedSeats = bookedSeatService.findResponsesByBookingId(booking.getId());
+        List<Long> bookingIds = bookings.stream().map(BookingDetailedResponse::getId).toList();
 
-            booking.setSession(session);
-            booking.setMovie(movie);
-            booking.setBookedSeats(bookedSeats);
-        });
+        Map<Long, BookingSessionDto> sessionsByBookingId = sessionService.findResponsesByBookingIds(bookingIds);
+        Map<Long, List<BookedSeatResponse>> seatsByBookingId = bookedSeatService.findResponsesByBookingIds(bookingIds);
 
-        return detailedResponses;
+        bookings.forEach(booking -> {
+            BookingSessionDto bookingSession = sessionsByBookingId.get(booking.getId());
+
+            if (bookingSession == null) {
+                log.error("[DefaultGetUserBookingsUseCase] Session not found for booking ID: {}", booking.getId());
+                throw new NotFoundException("Session not found for given booking ID");
+            }
+
+            booking.setSession(bookingSession.getSession());
+            booking.setMovie(bookingSession.getMovie());
+            booking.setBookedSeats(seatsByBookingId.getOrDefault(booking.getId(), List.of()));
+        });
     }
 }
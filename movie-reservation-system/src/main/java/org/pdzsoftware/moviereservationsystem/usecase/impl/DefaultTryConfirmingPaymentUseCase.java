@@ -7,6 +7,7 @@ import org.pdzsoftware.moviereservationsystem.dto.request.CheckoutInfoRequest;
 import org.pdzsoftware.moviereservationsystem.enums.PaymentStatus;
 import org.pdzsoftware.moviereservationsystem.exception.custom.InternalErrorException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.service.BookingService;
 import org.pdzsoftware.moviereservationsystem.service.BookingStatusService;
@@ -56,13 +57,17 @@ public class DefaultTryConfirmingPaymentUseCase implements TryConfirmingPaymentU
             booking.setPaymentIntentId(paymentInfo.getPaymentIntentId());
         }
 
-        bookingStatusService.validateAndUpdateStatus(booking, PAYMENT_CONFIRMED);
-        return true;
+        // Losing the transition means something else moved the booking first, the next poll reads the outcome
+        return bookingStatusService.validateAndUpdateStatus(booking, PAYMENT_CONFIRMED);
     }
 
     private PaymentInfoDto tryGettingPaymentInfo(String checkoutId) {
         try {
             return paymentService.getPaymentInfoBySessionId(checkoutId);
+        } catch (ServiceUnavailableException ex) {
+            log.warn("[DefaultTryConfirmingPaymentUseCase] Payment provider unavailable, can't get payment info for checkout ID: {}",
+                    checkoutId);
+            throw ex;
         } catch (Exception ex) {
             log.error("[DefaultTryConfirmingPaymentUseCase] Error getting payment info for checkout ID: {}",
                     checkoutId, ex);
@@ -1,24 +1,37 @@
 package org.pdzsoftware.moviereservationsystem.util;
 
+import com.google.common.util.concurrent.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.BookingCheckoutRefDto;
 import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
-import org.pdzsoftware.moviereservationsystem.exception.custom.InternalErrorException;
+import org.pdzsoftware.moviereservationsystem.dto.SessionEndRefDto;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.repository.BookedSeatRepository;
 import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
+import org.pdzsoftware.moviereservationsystem.repository.SessionRepository;
 import org.pdzsoftware.moviereservationsystem.service.BookingStatusService;
 import org.pdzsoftware.moviereservationsystem.service.PaymentService;
 import org.pdzsoftware.moviereservationsystem.usecase.CancelBookingUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
 import static org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus.COMPLETED;
@@ -30,22 +43,66 @@ import static org.pdzsoftware.moviereservationsystem.enums.PaymentStatus.SUCCEED
 @RequiredArgsConstructor
 public class BookingJobRunner {
     private static final long ALIGN_EXPIRED_STATUS_RATE_MS = 10 * 60 * 1000L;
-    private static final long MARK_AS_PAST_RATE_MS = 24 * 60 * 60 * 1000L;
+    private static final long MARK_AS_PAST_RATE_MS = 60 * 1000L;
     private static final long DELETE_BOOKINGS_RATE_MS = 7 * 24 * 60 * 60 * 1000L;
     private static final Duration DELETION_THRESHOLD = Duration.ofDays(7);
 
+    // Leases are kept until they expire, so they last about one tick after the last renewal. The margin lets the
+    // next tick acquire them again even when it fires a bit early
+    private static final Duration ALIGN_EXPIRED_STATUS_LEASE = Duration.ofMillis(ALIGN_EXPIRED_STATUS_RATE_MS).minusSeconds(30);
+    private static final Duration MARK_AS_PAST_LEASE = Duration.ofMillis(MARK_AS_PAST_RATE_MS).minusSeconds(10);
+    private static final Duration DELETE_BOOKINGS_LEASE = Duration.ofMillis(DELETE_BOOKINGS_RATE_MS).minusHours(1);
+
+    private static final String ALIGN_EXPIRED_STATUS_JOB = "align-expired-status";
+    private static final String RECONCILIATION_METRIC = "booking.reconciliation.bookings";
+
+    private static final String MARK_AS_PAST_JOB = "mark-as-past";
+    private static final String DELETE_BOOKINGS_JOB = "delete-bookings";
+    private static final String WATERMARK_SEPARATOR = ",";
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Status changes are stamped before their transaction commits, so each run looks back a bit before the last one
+    private static final Duration CONFIRMATION_WATERMARK_OVERLAP = Duration.ofMinutes(1);
+
+    @Value("${app.jobs.reconciliation.page-size:200}")
+    private int reconciliationPageSize;
+    @Value("${app.jobs.reconciliation.max-pages-per-run:50}")
+    private int reconciliationMaxPagesPerRun;
+    @Value("${app.jobs.reconciliation.provider-calls-per-second:20}")
+    private double providerCallsPerSecond;
+
+    @Value("${app.jobs.mark-as-past.batch-size:100}")
+    private int markAsPastBatchSize;
+    @Value("${app.jobs.booking-deletion.chunk-size:500}")
+    private int deletionChunkSize;
+    @Value("${app.jobs.booking-deletion.chunk-pause-ms:200}")
+    private long deletionChunkPauseMs;
+    @Value("${app.jobs.booking-deletion.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    private RateLimiter providerRateLimiter;
+
     private final BookingRepository bookingRepository;
     private final BookedSeatRepository bookedSeatRepository;
+    private final SessionRepository sessionRepository;
     private final BookingStatusService bookingStatusService;
     private final PaymentService paymentService;
+    private final JobCheckpointStore jobCheckpointStore;
+    private final JobLeaseManager jobLeaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService reconciliationExecutor;
+    private final MeterRegistry meterRegistry;
 
     private final CancelBookingUseCase cancelBooking;
 
+    @PostConstruct
+    public void init() {
+        // Keeps parallel reconciliation under the payment provider's rate limit
+        providerRateLimiter = RateLimiter.create(providerCallsPerSecond);
+    }
+
+    // Throws ServiceUnavailableException when the payment provider rejects calls, the caller retries later
     public void tryExpiringBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> {
-            log.error("[BookingJobRunner] Cannot find booking with ID: {}", bookingId);
-            return new NotFoundException("Booking not found for given ID");
-        });
+        Booking booking = getBooking(bookingId);
 
         if (!Set.of(AWAITING_PAYMENT, PAYMENT_RETRY).contains(booking.getBookingStatus())) {
             return; // Nothing to do here
@@ -75,6 +132,11 @@ public class BookingJobRunner {
     private PaymentInfoDto getPaymentInfoOrElseExpire(Booking booking) {
         try {
             return paymentService.getPaymentInfoBySessionId(booking.getCheckoutId());
+        } catch (ServiceUnavailableException ex) {
+            // The provider was not even called, expiring now would only guess the payment outcome
+            log.warn("[BookingJobRunner] Payment provider unavailable, can't get payment info for booking with ID: {}",
+                    booking.getId());
+            throw ex;
         } catch (Exception ex) {
             log.error("[BookingJobRunner] Error getting payment info for booking with ID: {} through payment provider",
                     booking.getId(), ex);
@@ -92,6 +154,11 @@ public class BookingJobRunner {
             // This will send a webhook expiration event if successful
             paymentService.expireCheckoutSession(booking.getCheckoutId());
             log.info("[BookingJobRunner] Successfully expired checkout session for booking with ID: {}", booking.getId());
+        } catch (ServiceUnavailableException ex) {
+            // The checkout is still open, expiring the booking directly would leave it payable
+            log.warn("[BookingJobRunner] Payment provider unavailable, checkout session not expired for booking with ID: {}",
+                    booking.getId());
+            throw ex;
         } catch (Exception ex) {
             log.error("[BookingJobRunner] Error expiring checkout session for booking with ID: {}", booking.getId(), ex);
             log.info("[BookingJobRunner] Expiring booking with ID: {} directly in database",
@@ -103,61 +170,223 @@ public class BookingJobRunner {
     // Refund bookings that were expired but have an existing payment, and mark the rest for deletion
     @Scheduled(fixedRate = ALIGN_EXPIRED_STATUS_RATE_MS)
     public void alignExpiredStatus() {
-        List<Booking> bookings = bookingRepository.findExpiredBookings();
+        // Only one node per tick, so provider calls and row updates aren't duplicated across the cluster
+        jobLeaseManager.runIfLeader(ALIGN_EXPIRED_STATUS_JOB, ALIGN_EXPIRED_STATUS_LEASE, this::alignExpiredStatus);
+    }
+
+    private void alignExpiredStatus(JobLease lease) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        // Resume from the last checkpoint, so a run that hit its page budget doesn't start over
+        long afterId = jobCheckpointStore.get(ALIGN_EXPIRED_STATUS_JOB).map(Long::valueOf).orElse(0L);
+        int reconciled = 0;
+
+        for (int page = 0; page < reconciliationMaxPagesPerRun && lease.renew(); page++) {
+            List<BookingCheckoutRefDto> refs = bookingRepository.findExpiredRefsAfterId(
+                    afterId, PageRequest.of(0, reconciliationPageSize)
+            );
+
+            reconcileInParallel(refs);
+            reconciled += refs.size();
 
-        bookings.forEach(booking -> {
-            PaymentInfoDto paymentInfo = tryGettingPaymentInfo(booking.getCheckoutId());
+            // A node that lost the lease must not move the checkpoint under the new holder
+            lease.verifyHeld();
+
+            if (refs.size() < reconciliationPageSize) {
+                // Reached the end, so the next run starts from the first expired booking again
+                jobCheckpointStore.clear(ALIGN_EXPIRED_STATUS_JOB);
+                break;
+            }
+
+            afterId = refs.get(refs.size() - 1).getId();
+            jobCheckpointStore.save(ALIGN_EXPIRED_STATUS_JOB, String.valueOf(afterId));
+        }
+
+        sample.stop(meterRegistry.timer("booking.reconciliation.run"));
+
+        if (reconciled > 0) {
+            log.info("[BookingJobRunner] Reconciled {} expired booking(s) with the payment provider", reconciled);
+        }
+    }
+
+    private void reconcileInParallel(List<BookingCheckoutRefDto> refs) {
+        CompletableFuture<?>[] futures = refs.stream()
+                .map(ref -> CompletableFuture.runAsync(() -> reconcileExpiredBooking(ref), reconciliationExecutor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(futures).join();
+    }
+
+    // Failures are isolated per booking, the booking stays EXPIRED and is retried on the next pass
+    private void reconcileExpiredBooking(BookingCheckoutRefDto ref) {
+        try {
+            providerRateLimiter.acquire();
+            PaymentInfoDto paymentInfo = paymentService.getPaymentInfoBySessionId(ref.getCheckoutId());
 
             if (paymentInfo.getPaymentStatus().equals(SUCCEEDED)) {
-                log.info("[BookingJobRunner] Found successful payment for expired booking with ID: {}",
-                        booking.getId());
+                log.info("[BookingJobRunner] Found successful payment for expired booking with ID: {}", ref.getId());
                 // Cancelling so user gets refunded. The seats got freed on expiration, so can't confirm the booking
-                cancelBooking.execute(booking);
+                providerRateLimiter.acquire();
+                cancelBooking.execute(getBooking(ref.getId()));
+                countReconciliation("refunded");
             } else if (!paymentInfo.getCheckoutStatus().equals(PENDING)) {
                 log.info("[BookingJobRunner] Found closed checkout with no successful payment for expired booking with ID: {}",
-                        booking.getId());
-                bookingStatusService.validateAndUpdateStatus(booking, AWAITING_DELETION);
+                        ref.getId());
+                bookingStatusService.validateAndUpdateStatus(getBooking(ref.getId()), AWAITING_DELETION);
+                countReconciliation("marked_for_deletion");
+            } else {
+                countReconciliation("pending");
             }
+        } catch (Exception ex) {
+            log.error("[BookingJobRunner] Error reconciling expired booking with ID: {} and checkout session ID: {}",
+                    ref.getId(), ref.getCheckoutId(), ex);
+            countReconciliation("failed");
+        }
+    }
+
+    private Booking getBooking(Long bookingId) {
+        return bookingRepository.findById(bookingId).orElseThrow(() -> {
+            log.error("[BookingJobRunner] Cannot find booking with ID: {}", bookingId);
+            return new NotFoundException("Booking not found for given ID");
         });
     }
 
-    private PaymentInfoDto tryGettingPaymentInfo(String checkoutId) {
-        try {
-            return paymentService.getPaymentInfoBySessionId(checkoutId);
-        } catch (Exception ex) {
-            log.error("[BookingJobRunner] Error getting payment info for checkout session with ID: {}",
-                    checkoutId, ex);
-            throw new InternalErrorException("Internal error getting payment info for checkout session");
-        }
+    private void countReconciliation(String result) {
+        meterRegistry.counter(RECONCILIATION_METRIC, "result", result).increment();
     }
 
-    // Mark any bookings whose sessions already ended as past
+    // Mark bookings as past shortly after their sessions end, only visiting sessions ended since the watermark
     @Scheduled(fixedRate = MARK_AS_PAST_RATE_MS)
-    @Transactional(rollbackFor = Exception.class)
     public void markBookingsAsPastIfSessionEnded() {
-        int bookingsMarkedAsPast = bookingRepository.markBookingsAsPastIfSessionEnded(LocalDateTime.now());
+        jobLeaseManager.runIfLeader(MARK_AS_PAST_JOB, MARK_AS_PAST_LEASE, this::markBookingsAsPastIfSessionEnded);
+    }
+
+    private void markBookingsAsPastIfSessionEnded(JobLease lease) {
+        LocalDateTime now = LocalDateTime.now();
+        MarkAsPastCheckpoint checkpoint = getMarkAsPastCheckpoint();
+        SessionEndRefDto watermark = checkpoint.sessionEnd();
+        LocalDateTime confirmedAfter = checkpoint.confirmedAfter();
+        int bookingsMarkedAsPast = 0;
+
+        while (lease.renew()) {
+            List<SessionEndRefDto> endedSessions = sessionRepository.findEndedAfter(
+                    watermark.getEndTime(), watermark.getId(), now, PageRequest.of(0, markAsPastBatchSize)
+            );
+
+            if (endedSessions.isEmpty()) break;
+
+            List<Long> sessionIds = endedSessions.stream().map(SessionEndRefDto::getId).toList();
+            Integer marked = transactionTemplate.execute(status -> {
+                int updated = bookingRepository.markBookingsAsPastBySessionIds(sessionIds, now);
+                lease.verifyHeld();
+                return updated;
+            });
+            bookingsMarkedAsPast += marked == null ? 0 : marked;
+
+            watermark = endedSessions.get(endedSessions.size() - 1);
+            saveMarkAsPastCheckpoint(new MarkAsPastCheckpoint(watermark, confirmedAfter));
+
+            if (endedSessions.size() < markAsPastBatchSize) break;
+        }
+
+        // The session watermark never goes back, so bookings confirmed after it passed their session (delayed webhook,
+        // retried payment) are caught here. Only bookings whose status changed since the last run are looked at
+        if (lease.renew()) {
+            Integer marked = transactionTemplate.execute(status -> {
+                int updated = bookingRepository.markConfirmedBookingsAsPastIfSessionEnded(confirmedAfter, now);
+                lease.verifyHeld();
+                return updated;
+            });
+            bookingsMarkedAsPast += marked == null ? 0 : marked;
+
+            saveMarkAsPastCheckpoint(new MarkAsPastCheckpoint(watermark, now.minus(CONFIRMATION_WATERMARK_OVERLAP)));
+        }
 
         if (bookingsMarkedAsPast > 0) {
             log.info("[BookingJobRunner] Marked {} bookings as past", bookingsMarkedAsPast);
         }
     }
 
-    // Delete bookings marked for deletion, with a configurable date threshold
+    // Stored as "<session end time>,<session ID>,<confirmed after>", checkpoints without the last part start it over
+    private MarkAsPastCheckpoint getMarkAsPastCheckpoint() {
+        return jobCheckpointStore.get(MARK_AS_PAST_JOB)
+                .map(checkpoint -> checkpoint.split(WATERMARK_SEPARATOR))
+                .map(parts -> new MarkAsPastCheckpoint(
+                        new SessionEndRefDto(Long.valueOf(parts[1]), LocalDateTime.parse(parts[0])),
+                        parts.length > 2 ? LocalDateTime.parse(parts[2]) : INITIAL_WATERMARK))
+                .orElse(new MarkAsPastCheckpoint(new SessionEndRefDto(0L, INITIAL_WATERMARK), INITIAL_WATERMARK));
+    }
+
+    private void saveMarkAsPastCheckpoint(MarkAsPastCheckpoint checkpoint) {
+        SessionEndRefDto sessionEnd = checkpoint.sessionEnd();
+        jobCheckpointStore.save(MARK_AS_PAST_JOB, sessionEnd.getEndTime() + WATERMARK_SEPARATOR + sessionEnd.getId()
+                + WATERMARK_SEPARATOR + checkpoint.confirmedAfter());
+    }
+
+    // Delete bookings marked for deletion in short per-chunk transactions, with a configurable date threshold
     @Scheduled(fixedRate = DELETE_BOOKINGS_RATE_MS)
-    @Transactional(rollbackFor = Exception.class)
     public void deleteMarkedBookings() {
-        LocalDateTime threshold = LocalDateTime.now().minus(DELETION_THRESHOLD);
+        jobLeaseManager.runIfLeader(DELETE_BOOKINGS_JOB, DELETE_BOOKINGS_LEASE, this::deleteMarkedBookings);
+    }
+
+    private void deleteMarkedBookings(JobLease lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime threshold = now.minus(DELETION_THRESHOLD);
+        int deleted = 0;
 
-        Set<Long> bookingIdsToDelete = bookingRepository.findIdsToDelete(threshold);
+        while (lease.renew()) {
+            List<Long> bookingIds = bookingRepository.findIdsToDelete(threshold, PageRequest.of(0, deletionChunkSize));
 
-        if (!bookingIdsToDelete.isEmpty()) {
-            Set<Long> seatIdsToDelete = bookedSeatRepository.findIdsToDelete(bookingIdsToDelete);
+            if (bookingIds.isEmpty() || !tryDeletingChunk(bookingIds, now, lease)) break;
 
-            bookedSeatRepository.deleteAllByIdInBatch(seatIdsToDelete);
-            bookingRepository.deleteAllByIdInBatch(bookingIdsToDelete);
+            deleted += bookingIds.size();
+            meterRegistry.counter("booking.deletion.deleted").increment(bookingIds.size());
 
-            log.info("[BookingJobRunner] Deleted {} booking(s) marked for deletion from {} and before. Deleted IDs: {}",
-                    bookingIdsToDelete.size(), threshold, bookingIdsToDelete);
+            log.debug("[BookingJobRunner] Deleted chunk of {} booking(s) with IDs from {} to {}",
+                    bookingIds.size(), bookingIds.get(0), bookingIds.get(bookingIds.size() - 1));
+
+            if (bookingIds.size() < deletionChunkSize || !pauseBetweenChunks()) break;
         }
+
+        if (deleted > 0) {
+            log.info("[BookingJobRunner] Deleted {} booking(s) marked for deletion from {} and before",
+                    deleted, threshold);
+        }
+    }
+
+    // Archive and delete share the transaction, so a chunk is either archived and gone or left untouched.
+    // A lost lease isn't caught here, it rolls the chunk back and stops the whole run
+    private boolean tryDeletingChunk(List<Long> bookingIds, LocalDateTime now, JobLease lease) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (archiveEnabled) {
+                    bookingRepository.archiveByIds(bookingIds, now);
+                }
+
+                bookedSeatRepository.deleteAllByBookingIds(bookingIds);
+                bookingRepository.deleteAllByIdInBatch(bookingIds);
+                lease.verifyHeld();
+            });
+            return true;
+        } catch (DataAccessException | TransactionException ex) {
+            // The next run retries from the same chunk
+            log.error("[BookingJobRunner] Error deleting chunk of {} booking(s), stopping deletion",
+                    bookingIds.size(), ex);
+            return false;
+        }
+    }
+
+    // Throttles the job so the deletes don't compete with live booking traffic
+    private boolean pauseBetweenChunks() {
+        try {
+            Thread.sleep(deletionChunkPauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record MarkAsPastCheckpoint(SessionEndRefDto sessionEnd, LocalDateTime confirmedAfter) {
     }
 }
@@ -0,0 +1,80 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.MOVIES_CACHE;
+
+/**
+ * Version counters the catalog ETags are built from, so a conditional request can be answered without
+ * running any query. Counters live in Redis, every node builds the same tag for the same state and tags
+ * survive restarts. The time bucket covers what changes by itself, like sessions dropping off once started.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogVersions {
+    private static final String CATALOG_KEY = "CatalogVersion:catalog";
+    private static final String MOVIE_KEY_PREFIX = "CatalogVersion:movie:";
+
+    private final RedisTemplate<String, String> template;
+
+    // Null when Redis can't be read, the response is then served without an ETag
+    public String catalogETag(Duration bucket) {
+        try {
+            return toETag(template.opsForValue().get(CATALOG_KEY), null, bucket);
+        } catch (Exception ex) {
+            log.warn("[CatalogVersions] Couldn't read catalog version", ex);
+            return null;
+        }
+    }
+
+    public String movieETag(Long movieId, Duration bucket) {
+        try {
+            List<String> versions = template.opsForValue().multiGet(List.of(CATALOG_KEY, MOVIE_KEY_PREFIX + movieId));
+            return toETag(versions.get(0), versions.get(1), bucket);
+        } catch (Exception ex) {
+            log.warn("[CatalogVersions] Couldn't read version of movie with ID: {}", movieId, ex);
+            return null;
+        }
+    }
+
+    // Called once by the node evicting the entry, not by every node receiving the invalidation
+    public void bump(String cacheName, String cacheKey) {
+        if (MOVIES_CACHE.equals(cacheName) && !TwoTierCache.CLEAR_ALL.equals(cacheKey)) {
+            try {
+                bumpMovie(Long.valueOf(cacheKey));
+                return;
+            } catch (NumberFormatException ex) {
+                log.warn("[CatalogVersions] Invalid movie ID in evicted key: {}", cacheKey);
+            }
+        }
+
+        bumpCatalog();
+    }
+
+    public void bumpMovie(Long movieId) {
+        template.opsForValue().increment(MOVIE_KEY_PREFIX + movieId);
+        log.debug("[CatalogVersions] Bumped version of movie with ID: {}", movieId);
+    }
+
+    public void bumpCatalog() {
+        template.opsForValue().increment(CATALOG_KEY);
+        log.debug("[CatalogVersions] Bumped catalog version");
+    }
+
+    private static String toETag(String catalog, String movie, Duration bucket) {
+        long timeBucket = Instant.now().toEpochMilli() / bucket.toMillis();
+        return "W/\"" + versionOf(catalog) + "-" + versionOf(movie) + "-" + timeBucket + "\"";
+    }
+
+    private static String versionOf(String version) {
+        return version != null ? version : "0";
+    }
+}
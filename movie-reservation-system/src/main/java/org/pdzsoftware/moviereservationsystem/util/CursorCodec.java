@@ -0,0 +1,68 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
+import org.pdzsoftware.moviereservationsystem.exception.custom.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursors. A cursor holds the sort key of the last row returned, so the next slice
+ * starts right after it with an index seek, no offset to skip and no count query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CursorCodec {
+    private static final TypeReference<List<String>> PARTS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    // Fetches are expected to ask for one row more than the slice size, the extra row only tells whether there's a next slice
+    public <T> CursorSliceResponse<T> toSlice(List<T> rows, int size, Function<T, Object[]> sortKeyOf) {
+        if (rows.size() <= size) {
+            return new CursorSliceResponse<>(rows, null, false);
+        }
+
+        List<T> content = rows.subList(0, size);
+        return new CursorSliceResponse<>(content, encode(sortKeyOf.apply(content.get(size - 1))), true);
+    }
+
+    // No cursor means the first slice, so the parser is only called for actual cursors
+    public <K> K decode(String cursor, Function<List<String>, K> parser) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            return parser.apply(objectMapper.readValue(json, PARTS_TYPE));
+        } catch (Exception ex) {
+            log.warn("[CursorCodec] Invalid cursor received: {}", cursor);
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // A null key part would come back as the text "null", so queries must leave such rows out of keyset listings
+    private String encode(Object[] sortKey) {
+        if (Arrays.asList(sortKey).contains(null)) {
+            throw new IllegalStateException("Cursor sort key can't contain null");
+        }
+
+        List<String> parts = Arrays.stream(sortKey).map(String::valueOf).toList();
+
+        try {
+            byte[] json = objectMapper.writeValueAsString(parts).getBytes(StandardCharsets.UTF_8);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Couldn't encode cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobCheckpointStore {
+    private static final String KEY_PREFIX = "JobCheckpoint:";
+
+    private final RedisTemplate<String, String> template;
+
+    // Checkpoints live in Redis so any instance can resume a job where the last run stopped
+    public Optional<String> get(String jobName) {
+        try {
+            return Optional.ofNullable(template.opsForValue().get(KEY_PREFIX + jobName));
+        } catch (Exception ex) {
+            log.error("[JobCheckpointStore] Error reading checkpoint for job: {}", jobName, ex);
+            return Optional.empty();
+        }
+    }
+
+    public void save(String jobName, String checkpoint) {
+        try {
+            template.opsForValue().set(KEY_PREFIX + jobName, checkpoint);
+        } catch (Exception ex) {
+            log.error("[JobCheckpointStore] Error saving checkpoint: {} for job: {}", checkpoint, jobName, ex);
+        }
+    }
+
+    public void clear(String jobName) {
+        try {
+            template.delete(KEY_PREFIX + jobName);
+        } catch (Exception ex) {
+            log.error("[JobCheckpointStore] Error clearing checkpoint for job: {}", jobName, ex);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+@Getter
+@RequiredArgsConstructor
+public class JobLease {
+    private final String jobName;
+    // Informational only, it tells leases apart in logs and in the Redis lease value. Writes don't carry it, so
+    // the database never rejects a stale holder by its token
+    private final long fencingToken;
+    private final Duration leaseTime;
+    private final JobLeaseManager leaseManager;
+
+    // Extends the lease if this node still holds it, long jobs call it between batches and stop on false
+    public boolean renew() {
+        return leaseManager.renew(this);
+    }
+
+    // Called inside a chunk's transaction right before it commits, a node that already lost the lease rolls back.
+    // It's a check then act, the lease can still expire between this renewal and the commit, so a chunk from the
+    // previous holder can land next to the new one. The job writes are conditional on the current status or
+    // idempotent, so such a chunk repeats work rather than undoing it
+    public void verifyHeld() {
+        if (!renew()) {
+            throw new LeaseLostException(jobName, fencingToken);
+        }
+    }
+}
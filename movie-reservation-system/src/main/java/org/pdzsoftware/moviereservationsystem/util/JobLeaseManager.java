@@ -0,0 +1,146 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class JobLeaseManager {
+    private static final String LEASE_KEY_PREFIX = "JobLease:";
+    private static final String FENCING_KEY_PREFIX = "JobFencing:";
+
+    // Only the holder of the exact lease value (node + fencing token) can renew it
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class
+    );
+
+    private final RedisTemplate<String, String> template;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+
+    private final Map<String, JobLease> currentLeases = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> heldLeaseGauges = new ConcurrentHashMap<>();
+
+    public JobLeaseManager(RedisTemplate<String, String> template,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.node-id:}") String nodeId) {
+        this.template = template;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : generateNodeId();
+    }
+
+    // Runs the job only if this node holds the lease. The lease isn't released when the job ends, it expires about
+    // one tick after its last renewal, so another node can't run the same tick again once this run is done
+    public void runIfLeader(String jobName, Duration leaseTime, Consumer<JobLease> job) {
+        JobLease lease = renewOrAcquire(jobName, leaseTime);
+
+        if (lease == null) {
+            meterRegistry.counter("job.lease.acquisitions", "job", jobName, "result", "skipped").increment();
+            return;
+        }
+
+        try {
+            job.accept(lease);
+        } catch (LeaseLostException ex) {
+            log.warn("[JobLeaseManager] Stopped job: {} before committing, {}", jobName, ex.getMessage());
+        }
+    }
+
+    boolean renew(JobLease lease) {
+        if (extend(lease)) return true;
+
+        log.warn("[JobLeaseManager] Lost lease for job: {} with fencing token: {}",
+                lease.getJobName(), lease.getFencingToken());
+        currentLeases.remove(lease.getJobName(), lease);
+        heldLeaseGauge(lease.getJobName()).set(0);
+        return false;
+    }
+
+    // The node that ran the last tick keeps going with its lease while it is still valid, an expired one is
+    // the normal case between ticks and just gets acquired again
+    private JobLease renewOrAcquire(String jobName, Duration leaseTime) {
+        JobLease current = currentLeases.remove(jobName);
+        JobLease lease = current != null && extend(current) ? current : tryAcquire(jobName, leaseTime);
+
+        if (lease == null) {
+            heldLeaseGauge(jobName).set(0);
+            return null;
+        }
+
+        if (lease != current) {
+            meterRegistry.counter("job.lease.acquisitions", "job", jobName, "result", "acquired").increment();
+        }
+
+        currentLeases.put(jobName, lease);
+        heldLeaseGauge(jobName).set(1);
+        return lease;
+    }
+
+    private boolean extend(JobLease lease) {
+        try {
+            Long renewed = template.execute(RENEW_SCRIPT, List.of(LEASE_KEY_PREFIX + lease.getJobName()),
+                    buildLeaseValue(lease.getFencingToken()), String.valueOf(lease.getLeaseTime().toMillis()));
+            return renewed != null && renewed != 0;
+        } catch (Exception ex) {
+            log.error("[JobLeaseManager] Error renewing lease for job: {}", lease.getJobName(), ex);
+            return false;
+        }
+    }
+
+    private JobLease tryAcquire(String jobName, Duration leaseTime) {
+        try {
+            Long fencingToken = template.opsForValue().increment(FENCING_KEY_PREFIX + jobName);
+            if (fencingToken == null) return null;
+
+            Boolean acquired = template.opsForValue().setIfAbsent(
+                    LEASE_KEY_PREFIX + jobName, buildLeaseValue(fencingToken), leaseTime
+            );
+
+            if (!Boolean.TRUE.equals(acquired)) return null;
+
+            log.debug("[JobLeaseManager] Node: {} acquired lease for job: {} with fencing token: {}",
+                    nodeId, jobName, fencingToken);
+            return new JobLease(jobName, fencingToken, leaseTime, this);
+        } catch (Exception ex) {
+            // Skipping a tick is safer than running the same job on every node
+            log.error("[JobLeaseManager] Error acquiring lease for job: {}", jobName, ex);
+            return null;
+        }
+    }
+
+    private AtomicInteger heldLeaseGauge(String jobName) {
+        return heldLeaseGauges.computeIfAbsent(jobName, name -> meterRegistry.gauge(
+                "job.lease.held", Tags.of("job", name, "node", nodeId), new AtomicInteger()
+        ));
+    }
+
+    private String buildLeaseValue(long fencingToken) {
+        return nodeId + ":" + fencingToken;
+    }
+
+    private static String generateNodeId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (Exception ex) {
+            return "node-" + suffix;
+        }
+    }
+}
@@ -1,25 +1,76 @@
 package org.pdzsoftware.moviereservationsystem.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JobScheduler {
+    private static final String EXPIRY_TIMERS_METRIC = "booking.expiry.timers";
+    // About the time the provider circuit stays open
+    private static final Duration PROVIDER_UNAVAILABLE_RETRY_DELAY = Duration.ofSeconds(30);
+
     private final BookingJobRunner bookingJobRunner;
     private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+
+    // Pending expiration timers, so they can be cancelled once the booking no longer needs them
+    private final Map<Long, ScheduledFuture<?>> pendingExpirations = new ConcurrentHashMap<>();
 
     public void scheduleBookingExpiration(Long bookingId, LocalDateTime runAt) {
-        taskScheduler.schedule(() -> bookingJobRunner.tryExpiringBooking(bookingId),
-                runAt.atZone(ZoneId.systemDefault()).toInstant());
+        AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+
+        // Scheduled inside compute, so a timer firing right away can't look for its entry before it exists
+        pendingExpirations.compute(bookingId, (id, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+
+            self.set(taskScheduler.schedule(() -> runBookingExpiration(bookingId, self),
+                    runAt.atZone(ZoneId.systemDefault()).toInstant()));
+            return self.get();
+        });
+
+        meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "scheduled").increment();
 
         log.info("[JobScheduler] Scheduled expiration for booking with ID: {}, to run at {}",
                 bookingId, runAt);
     }
+
+    public void cancelBookingExpiration(Long bookingId) {
+        ScheduledFuture<?> future = pendingExpirations.remove(bookingId);
+
+        // Not interrupting, the timer might be the one that triggered this cancellation
+        if (future != null && future.cancel(false)) {
+            meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "cancelled").increment();
+            log.info("[JobScheduler] Cancelled pending expiration for booking with ID: {}", bookingId);
+        }
+    }
+
+    private void runBookingExpiration(Long bookingId, AtomicReference<ScheduledFuture<?>> self) {
+        // Only removes its own entry, a newer timer scheduled meanwhile has to stay cancellable
+        pendingExpirations.computeIfPresent(bookingId, (id, pending) -> pending == self.get() ? null : pending);
+        meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "fired").increment();
+
+        try {
+            bookingJobRunner.tryExpiringBooking(bookingId);
+        } catch (ServiceUnavailableException ex) {
+            // The booking keeps its seats until the provider can tell whether it was paid
+            meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "retried").increment();
+            scheduleBookingExpiration(bookingId, LocalDateTime.now().plus(PROVIDER_UNAVAILABLE_RETRY_DELAY));
+        }
+    }
 }
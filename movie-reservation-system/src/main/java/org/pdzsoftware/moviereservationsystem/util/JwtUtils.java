@@ -2,12 +2,15 @@ package org.pdzsoftware.moviereservationsystem.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
 import org.pdzsoftware.moviereservationsystem.exception.custom.InternalErrorException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
 import org.pdzsoftware.moviereservationsystem.model.User;
@@ -59,6 +62,27 @@ public class JwtUtils {
     @Value("${app.jwt.websocket-token.expiration-ms}")
     private int websocketTokenExpirationMs;
 
+    // Parsed once and swapped as a whole on rotation, the parser is immutable and safe to share across threads
+    private volatile KeyMaterial keyMaterial;
+
+    private record KeyMaterial(PublicKey publicKey, PrivateKey privateKey, JwtParser parser) {
+    }
+
+    @PostConstruct
+    public void init() {
+        rotateKeys(publicKey, privateKey);
+    }
+
+    public void rotateKeys(String encodedPublicKey, String encodedPrivateKey) {
+        PublicKey parsedPublicKey = decodePublicKey(encodedPublicKey);
+        PrivateKey parsedPrivateKey = decodePrivateKey(encodedPrivateKey);
+
+        keyMaterial = new KeyMaterial(parsedPublicKey, parsedPrivateKey,
+                Jwts.parser().verifyWith(parsedPublicKey).build());
+
+        log.info("[JwtUtils] Loaded JWT signing keys");
+    }
+
     public String generateAccessToken(User user) {
         Instant now = Instant.now();
         return Jwts.builder()
@@ -70,20 +94,20 @@ public class JwtUtils {
                 .claim(JTI, UUID.randomUUID().toString())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusMillis(accessTokenExpirationMs)))
-                .signWith(getPrivateKey())
+                .signWith(keyMaterial.privateKey())
                 .compact();
     }
 
-    public String generateRefreshToken(User user) {
+    public String generateRefreshToken(User user, String tokenId) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .subject(user.getEmail())
                 .claim(ISS, issuer)
                 .claim(AUD, audience)
-                .claim(JTI, UUID.randomUUID().toString())
+                .claim(JTI, tokenId)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusMillis(refreshTokenExpirationMs)))
-                .signWith(getPrivateKey())
+                .signWith(keyMaterial.privateKey())
                 .compact();
     }
 
@@ -98,7 +122,7 @@ public class JwtUtils {
                 .claim(JTI, UUID.randomUUID().toString())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusMillis(websocketTokenExpirationMs)))
-                .signWith(getPrivateKey())
+                .signWith(keyMaterial.privateKey())
                 .compact();
     }
 
@@ -110,7 +134,7 @@ public class JwtUtils {
                 .claim(JTI, UUID.randomUUID().toString())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(now.plusMillis(QR_CODE_EXPIRATION_MS)))
-                .signWith(getPrivateKey())
+                .signWith(keyMaterial.privateKey())
                 .compact();
     }
 
@@ -133,8 +157,29 @@ public class JwtUtils {
     }
 
     public boolean isJwtValid(String token) {
+        return areClaimsValid(getAllClaimsFromToken(token));
+    }
+
+    // Token ID (jti) of a valid token, or null, so refresh token lookups cost a single parse
+    public String getValidTokenId(String token) {
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            return areClaimsValid(claims) ? claims.getId() : null;
+        } catch (UnauthorizedException ex) {
+            return null;
+        }
+    }
+
+    // Single signature check that yields everything callers need from the token
+    public AuthenticatedUserDto verifyToken(String token) {
         Claims claims = getAllClaimsFromToken(token);
-        return isIssuerValid(claims) && isAudienceValid(claims) && isIdPresent(claims) && !isTokenExpired(claims);
+
+        if (!areClaimsValid(claims)) {
+            throw new UnauthorizedException("Invalid JWT token");
+        }
+
+        return new AuthenticatedUserDto(claims.get(USER_ID, Long.class), claims.getSubject(),
+                claims.get(ROLE, String.class), claims.getExpiration().toInstant());
     }
 
     public boolean isQrCodeValid(String token) {
@@ -142,6 +187,10 @@ public class JwtUtils {
         return isIdPresent(claims) && !isTokenExpired(claims);
     }
 
+    private boolean areClaimsValid(Claims claims) {
+        return isIssuerValid(claims) && isAudienceValid(claims) && isIdPresent(claims) && !isTokenExpired(claims);
+    }
+
     private boolean isIssuerValid(Claims claims) {
         return issuer.equals(claims.getIssuer());
     }
@@ -160,9 +209,7 @@ public class JwtUtils {
 
     public Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getPublicKey())
-                    .build()
+            return keyMaterial.parser()
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (JwtException | IllegalArgumentException ex) {
@@ -175,9 +222,9 @@ public class JwtUtils {
         return claims.get(USER_ID, Long.class);
     }
 
-    private PublicKey getPublicKey() {
+    private static PublicKey decodePublicKey(String encodedKey) {
         try {
-            byte[] keyBytes = Decoders.BASE64.decode(publicKey);
+            byte[] keyBytes = Decoders.BASE64.decode(encodedKey);
             X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
             return KeyFactory.getInstance(ALGORITHM).generatePublic(spec);
         } catch (Exception ex) {
@@ -186,9 +233,9 @@ public class JwtUtils {
         }
     }
 
-    private PrivateKey getPrivateKey() {
+    private static PrivateKey decodePrivateKey(String encodedKey) {
         try {
-            byte[] keyBytes = Decoders.BASE64.decode(privateKey);
+            byte[] keyBytes = Decoders.BASE64.decode(encodedKey);
             PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes);
             return KeyFactory.getInstance(ALGORITHM).generatePrivate(spec);
         } catch (Exception ex) {
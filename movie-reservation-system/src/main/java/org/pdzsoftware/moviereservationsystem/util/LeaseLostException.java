@@ -0,0 +1,7 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+public class LeaseLostException extends RuntimeException {
+    public LeaseLostException(String jobName, long fencingToken) {
+        super(String.format("lease for job: %s with fencing token: %d is no longer held", jobName, fencingToken));
+    }
+}
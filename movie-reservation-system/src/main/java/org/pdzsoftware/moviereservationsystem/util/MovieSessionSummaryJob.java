@@ -0,0 +1,101 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.google.common.collect.Iterables;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.MovieSessionCountDto;
+import org.pdzsoftware.moviereservationsystem.model.MovieSessionSummary;
+import org.pdzsoftware.moviereservationsystem.repository.MovieSessionSummaryRepository;
+import org.pdzsoftware.moviereservationsystem.repository.SessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.pdzsoftware.moviereservationsystem.service.impl.DefaultSessionService.TOLERATED_PERIOD;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MovieSessionSummaryJob {
+    private static final long REFRESH_RATE_MS = 60 * 1000L;
+    // Kept until it expires, so another node can't refresh the same tick again
+    private static final Duration REFRESH_LEASE = Duration.ofMillis(REFRESH_RATE_MS).minusSeconds(10);
+    private static final String REFRESH_JOB = "movie-session-summary";
+
+    // Sessions committed slightly after the previous run started are picked up again rather than missed
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Value("${app.jobs.movie-session-summary.batch-size:500}")
+    private int batchSize;
+
+    private final MovieSessionSummaryRepository summaryRepository;
+    private final SessionRepository sessionRepository;
+    private final JobCheckpointStore jobCheckpointStore;
+    private final JobLeaseManager jobLeaseManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // Only recounts movies whose summary can have changed, the listing then reads it by primary key
+    @Scheduled(fixedRate = REFRESH_RATE_MS)
+    public void refreshSummaries() {
+        jobLeaseManager.runIfLeader(REFRESH_JOB, REFRESH_LEASE, this::refreshSummaries);
+    }
+
+    private void refreshSummaries(JobLease lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime threshold = now.minus(TOLERATED_PERIOD);
+        LocalDateTime watermark = jobCheckpointStore.get(REFRESH_JOB)
+                .map(LocalDateTime::parse)
+                .orElse(INITIAL_WATERMARK);
+
+        // New movies, movies with new or edited sessions, and movies whose next session just left the window
+        Set<Long> movieIds = new HashSet<>(summaryRepository.findMovieIdsWithoutSummary());
+        movieIds.addAll(sessionRepository.findMovieIdsWithSessionsChangedAfter(watermark));
+        movieIds.addAll(summaryRepository.findMovieIdsWithNextStartBefore(threshold));
+
+        for (List<Long> batch : Iterables.partition(movieIds, batchSize)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                refreshBatch(batch, threshold, now);
+                // Summaries are flushed on commit, so a node that lost the lease rolls them back here
+                lease.verifyHeld();
+            });
+        }
+
+        lease.verifyHeld();
+        jobCheckpointStore.save(REFRESH_JOB, now.minus(WATERMARK_OVERLAP).toString());
+
+        if (!movieIds.isEmpty()) {
+            log.info("[MovieSessionSummaryJob] Refreshed session summaries of {} movie(s)", movieIds.size());
+        }
+    }
+
+    private void refreshBatch(List<Long> movieIds, LocalDateTime threshold, LocalDateTime now) {
+        Map<Long, MovieSessionSummary> summariesByMovieId = summaryRepository.findAllById(movieIds).stream()
+                .collect(Collectors.toMap(MovieSessionSummary::getMovieId, Function.identity()));
+
+        List<MovieSessionSummary> newSummaries = new ArrayList<>();
+
+        // Existing rows are updated in place by dirty checking, only movies without one need an insert
+        for (MovieSessionCountDto count : summaryRepository.countUpcomingSessions(movieIds, threshold)) {
+            MovieSessionSummary summary = summariesByMovieId.get(count.getMovieId());
+
+            if (summary == null) {
+                summary = MovieSessionSummary.builder().movieId(count.getMovieId()).build();
+                newSummaries.add(summary);
+            }
+
+            summary.setUpcomingSessionCount(count.getUpcomingSessionCount());
+            summary.setNextStartTime(count.getNextStartTime());
+            summary.setRefreshedAt(now);
+        }
+
+        summaryRepository.saveAll(newSummaries);
+    }
+}
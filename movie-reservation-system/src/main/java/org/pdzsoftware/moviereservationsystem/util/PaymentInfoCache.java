@@ -0,0 +1,62 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
+import org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus;
+import org.pdzsoftware.moviereservationsystem.enums.PaymentStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Slf4j
+@Component
+public class PaymentInfoCache {
+    private final Cache<String, PaymentInfoDto> terminalPaymentInfos;
+
+    public PaymentInfoCache(MeterRegistry meterRegistry,
+                            @Value("${app.payments.info-cache.max-size:10000}") long maxSize,
+                            @Value("${app.payments.info-cache.ttl-minutes:60}") long ttlMinutes) {
+        this.terminalPaymentInfos = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, terminalPaymentInfos, "payment-info");
+    }
+
+    public Optional<PaymentInfoDto> get(String checkoutId) {
+        if (checkoutId == null) return Optional.empty();
+        return Optional.ofNullable(terminalPaymentInfos.getIfPresent(checkoutId)).map(PaymentInfoCache::copyOf);
+    }
+
+    // Only terminal statuses are kept, since those can never change and are safe to answer without the provider
+    public void putIfTerminal(PaymentInfoDto paymentInfo) {
+        if (paymentInfo == null || paymentInfo.getCheckoutId() == null || !isTerminal(paymentInfo)) return;
+
+        terminalPaymentInfos.put(paymentInfo.getCheckoutId(), copyOf(paymentInfo));
+        log.debug("[PaymentInfoCache] Cached terminal payment info for checkout session with ID: {}",
+                paymentInfo.getCheckoutId());
+    }
+
+    private static boolean isTerminal(PaymentInfoDto paymentInfo) {
+        return paymentInfo.getPaymentStatus() == PaymentStatus.SUCCEEDED
+                || paymentInfo.getCheckoutStatus() == CheckoutStatus.EXPIRED;
+    }
+
+    // Callers get their own instance, so nobody can change what's cached through a returned reference
+    private static PaymentInfoDto copyOf(PaymentInfoDto paymentInfo) {
+        return PaymentInfoDto.builder()
+                .checkoutId(paymentInfo.getCheckoutId())
+                .paymentIntentId(paymentInfo.getPaymentIntentId())
+                .checkoutStatus(paymentInfo.getCheckoutStatus())
+                .paymentStatus(paymentInfo.getPaymentStatus())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.repository.RefreshTokenRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenCleanupJob {
+    private static final long CLEANUP_RATE_MS = 60 * 60 * 1000L;
+
+    private static final String CLEANUP_JOB = "refresh-token-cleanup";
+    // Kept until it expires, so the same hourly tick doesn't run again on another node
+    private static final Duration CLEANUP_LEASE = Duration.ofMillis(CLEANUP_RATE_MS).minusMinutes(1);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JobLeaseManager jobLeaseManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // Tokens of devices that never logged out would otherwise pile up
+    @Scheduled(fixedRate = CLEANUP_RATE_MS)
+    public void deleteExpiredTokens() {
+        jobLeaseManager.runIfLeader(CLEANUP_JOB, CLEANUP_LEASE, lease -> {
+            Integer deleted = transactionTemplate.execute(status -> {
+                int expired = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+                lease.verifyHeld();
+                return expired;
+            });
+
+            if (deleted != null && deleted > 0) {
+                log.info("[RefreshTokenCleanupJob] Deleted {} expired refresh token(s)", deleted);
+            }
+        });
+    }
+}
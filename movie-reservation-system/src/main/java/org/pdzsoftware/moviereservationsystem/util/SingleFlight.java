@@ -0,0 +1,68 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical calls share one execution. The first caller for a key runs the supplier,
+ * callers arriving while it's in flight wait for that same result (or exception) instead of running it again.
+ * Results are shared between callers, so they must not be mutated once returned.
+ */
+@Component
+@RequiredArgsConstructor
+public class SingleFlight {
+    // Counts callers that joined a loader still running, each one is an execution that didn't reach the database
+    private static final String SAVED_EXECUTIONS_METRIC = "singleflight.saved.executions";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, Object key, Supplier<T> supplier) {
+        String flightKey = group + ":" + key;
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+
+        // A finished flight can still be mapped until its owner removes it, it's replaced instead of joined
+        while (existing != null && existing.isDone()) {
+            inFlight.remove(flightKey, existing);
+            existing = inFlight.putIfAbsent(flightKey, flight);
+        }
+
+        if (existing != null) {
+            meterRegistry.counter(SAVED_EXECUTIONS_METRIC, "group", group).increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T result = supplier.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            // Only completed flights are removed, later callers start a fresh execution
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            if (ex.getCause() instanceof Error cause) throw cause;
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import org.pdzsoftware.moviereservationsystem.dto.MovieTitleRefDto;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable trigram index over movie titles and genres. Every word is indexed with a start marker, so a
+ * partially typed word matches on its leading grams, and a candidate only has to share most of the query
+ * grams, which lets a typo through. Rebuilt as a whole and swapped in when the catalog changes.
+ */
+public final class TitleNgramIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final String WORD_START = "$";
+
+    // A single edit breaks at most this many of the query grams
+    private static final int GRAMS_LOST_PER_TYPO = GRAM_LENGTH;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final TitleNgramIndex EMPTY = new TitleNgramIndex(new MovieTitleRefDto[0], new String[0], Map.of());
+
+    private final MovieTitleRefDto[] entries;
+    private final String[] normalizedTitles;
+    private final Map<String, int[]> postings;
+
+    private TitleNgramIndex(MovieTitleRefDto[] entries, String[] normalizedTitles, Map<String, int[]> postings) {
+        this.entries = entries;
+        this.normalizedTitles = normalizedTitles;
+        this.postings = postings;
+    }
+
+    public static TitleNgramIndex empty() {
+        return EMPTY;
+    }
+
+    public static TitleNgramIndex build(List<MovieTitleRefDto> movies) {
+        MovieTitleRefDto[] entries = movies.toArray(new MovieTitleRefDto[0]);
+        String[] normalizedTitles = new String[entries.length];
+        String[][] documentGrams = new String[entries.length][];
+        Map<String, PostingBuilder> builders = new HashMap<>();
+
+        // Counted in a first pass, so the posting lists are filled as exact primitive arrays without boxing
+        for (int i = 0; i < entries.length; i++) {
+            normalizedTitles[i] = normalize(entries[i].getTitle());
+
+            String genre = entries[i].getGenre() != null ? entries[i].getGenre().name() : "";
+            documentGrams[i] = grams(normalizedTitles[i] + " " + normalize(genre)).toArray(new String[0]);
+
+            for (String gram : documentGrams[i]) {
+                builders.computeIfAbsent(gram, g -> new PostingBuilder()).count++;
+            }
+        }
+
+        for (int i = 0; i < entries.length; i++) {
+            for (String gram : documentGrams[i]) {
+                builders.get(gram).add(i);
+            }
+        }
+
+        Map<String, int[]> postings = new HashMap<>(builders.size() * 2);
+        builders.forEach((gram, builder) -> postings.put(gram, builder.ids));
+
+        return new TitleNgramIndex(entries, normalizedTitles, postings);
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public List<MovieTitleRefDto> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        Set<String> queryGrams = grams(normalizedQuery);
+
+        if (queryGrams.isEmpty() || limit <= 0) return List.of();
+
+        int[] sharedGrams = new int[entries.length];
+        int[] candidates = new int[entries.length];
+        int candidateCount = 0;
+
+        for (String gram : queryGrams) {
+            int[] ids = postings.get(gram);
+            if (ids == null) continue;
+
+            for (int id : ids) {
+                if (sharedGrams[id]++ == 0) candidates[candidateCount++] = id;
+            }
+        }
+
+        // Half the grams at least, so short queries don't match on a single shared gram
+        int minShared = Math.max((queryGrams.size() + 1) / 2, queryGrams.size() - GRAMS_LOST_PER_TYPO);
+
+        // Min-heap of the best matches so far, the weakest one is dropped when a better candidate shows up
+        Comparator<Match> ranking = Comparator.comparingDouble(Match::score)
+                .thenComparingInt((Match match) -> -normalizedTitles[match.id()].length())
+                .thenComparing((Match match) -> normalizedTitles[match.id()], Comparator.reverseOrder());
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, ranking);
+
+        String wordStartQuery = " " + normalizedQuery;
+
+        for (int i = 0; i < candidateCount; i++) {
+            int id = candidates[i];
+            if (sharedGrams[id] < minShared) continue;
+
+            Match match = new Match(id, score(normalizedQuery, wordStartQuery, normalizedTitles[id],
+                    sharedGrams[id], queryGrams.size()));
+
+            // Most candidates of a common gram can't beat a full heap, so they never touch it
+            if (best.size() == limit) {
+                if (ranking.compare(match, best.peek()) <= 0) continue;
+                best.poll();
+            }
+
+            best.add(match);
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(ranking.reversed());
+
+        return ranked.stream().map(match -> entries[match.id()]).toList();
+    }
+
+    private static double score(String query, String wordStartQuery, String title, int sharedGrams, int queryGrams) {
+        double score = (double) sharedGrams / queryGrams;
+
+        if (title.startsWith(query)) {
+            score += 1.0;
+        } else if (title.contains(wordStartQuery)) {
+            score += 0.5;
+        }
+
+        return score;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Set<String> grams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+
+        for (String word : normalized.split(" ")) {
+            String marked = WORD_START + word;
+
+            for (int i = 0; i + GRAM_LENGTH <= marked.length(); i++) {
+                grams.add(marked.substring(i, i + GRAM_LENGTH));
+            }
+        }
+
+        return grams;
+    }
+
+    private record Match(int id, double score) {
+    }
+
+    private static final class PostingBuilder {
+        private int count;
+        private int[] ids;
+        private int filled;
+
+        private void add(int id) {
+            if (ids == null) ids = new int[count];
+            ids[filled++] = id;
+        }
+    }
+}
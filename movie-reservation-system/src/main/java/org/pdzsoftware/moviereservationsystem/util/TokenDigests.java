@@ -0,0 +1,21 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class TokenDigests {
+    private TokenDigests() {
+    }
+
+    // Fixed size lookup key for tokens and token IDs, so raw values never need to be stored or indexed
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * Caffeine in front of Redis. Local misses fall through to Redis before the loader runs, writes go to
+ * both tiers, and evictions are published so every node drops its local copy. The eviction listener
+ * runs once, on the node evicting, with the cache name and key.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    public static final String KEY_PREFIX = "catalog-cache:";
+    public static final String CLEAR_ALL = "*";
+
+    private static final String NULL_PAYLOAD = "";
+    private static final String REMOTE_GETS_METRIC = "cache.remote.gets";
+    private static final int DELETE_BATCH_SIZE = 500;
+
+    private final String name;
+    private final Cache<String, Object> localCache;
+    private final RedisTemplate<String, String> template;
+    private final Codec codec;
+    private final Duration remoteTtl;
+    private final String invalidationChannel;
+    private final BiConsumer<String, String> evictionListener;
+    private final MeterRegistry meterRegistry;
+
+    public TwoTierCache(String name,
+                        Cache<String, Object> localCache,
+                        RedisTemplate<String, String> template,
+                        Codec codec,
+                        Duration remoteTtl,
+                        String invalidationChannel,
+                        BiConsumer<String, String> evictionListener,
+                        MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.localCache = localCache;
+        this.template = template;
+        this.codec = codec;
+        this.remoteTtl = remoteTtl;
+        this.invalidationChannel = invalidationChannel;
+        this.evictionListener = evictionListener;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+
+        Object value = localCache.getIfPresent(cacheKey);
+        if (value != null) return value;
+
+        value = readRemote(cacheKey);
+        if (value != null) localCache.put(cacheKey, value);
+
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Caffeine runs a single mapping per key, so concurrent misses share one remote read and one load
+        Object storeValue = localCache.get(String.valueOf(key), cacheKey -> {
+            Object remoteValue = readRemote(cacheKey);
+            if (remoteValue != null) return remoteValue;
+
+            Object loadedValue = toStoreValue(load(key, valueLoader));
+            writeRemote(cacheKey, loadedValue);
+            return loadedValue;
+        });
+
+        return (T) fromStoreValue(storeValue);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = String.valueOf(key);
+        Object storeValue = toStoreValue(value);
+
+        localCache.put(cacheKey, storeValue);
+        writeRemote(cacheKey, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+
+        localCache.invalidate(cacheKey);
+        runOnRemote("evict", () -> template.delete(remoteKey(cacheKey)));
+        runOnRemote("notify", () -> evictionListener.accept(name, cacheKey));
+        publishInvalidation(cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        localCache.invalidateAll();
+        runOnRemote("clear", this::deleteRemoteKeys);
+        runOnRemote("notify", () -> evictionListener.accept(name, CLEAR_ALL));
+        publishInvalidation(CLEAR_ALL);
+    }
+
+    // Called for invalidations published by any node, including this one
+    public void evictLocal(String cacheKey) {
+        if (CLEAR_ALL.equals(cacheKey)) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(cacheKey);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    private Object readRemote(String cacheKey) {
+        try {
+            String payload = template.opsForValue().get(remoteKey(cacheKey));
+
+            if (payload == null) {
+                countRemoteGet("miss");
+                return null;
+            }
+
+            countRemoteGet("hit");
+            return NULL_PAYLOAD.equals(payload) ? NullValue.INSTANCE : codec.decode(payload);
+        } catch (Exception ex) {
+            countRemoteGet("error");
+            log.warn("[TwoTierCache] Couldn't read key: {} from remote cache: {}, falling back to loader",
+                    cacheKey, name, ex);
+            return null;
+        }
+    }
+
+    private void writeRemote(String cacheKey, Object storeValue) {
+        try {
+            String payload = storeValue == NullValue.INSTANCE ? NULL_PAYLOAD : codec.encode(storeValue);
+            template.opsForValue().set(remoteKey(cacheKey), payload, remoteTtl);
+        } catch (Exception ex) {
+            log.warn("[TwoTierCache] Couldn't write key: {} to remote cache: {}", cacheKey, name, ex);
+        }
+    }
+
+    private void publishInvalidation(String cacheKey) {
+        runOnRemote("publish", () -> template.convertAndSend(invalidationChannel, name + ":" + cacheKey));
+    }
+
+    private void deleteRemoteKeys() {
+        ScanOptions options = ScanOptions.scanOptions().match(remoteKey("*")).count(DELETE_BATCH_SIZE).build();
+        List<String> batch = new ArrayList<>();
+
+        try (Cursor<String> cursor = template.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+
+                if (batch.size() >= DELETE_BATCH_SIZE) {
+                    template.delete(batch);
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) template.delete(batch);
+    }
+
+    private void runOnRemote(String operation, Runnable action) {
+        try {
+            action.run();
+        } catch (Exception ex) {
+            log.warn("[TwoTierCache] Remote {} failed for cache: {}", operation, name, ex);
+        }
+    }
+
+    private void countRemoteGet(String result) {
+        meterRegistry.counter(REMOTE_GETS_METRIC, "cache", name, "result", result).increment();
+    }
+
+    private String remoteKey(String cacheKey) {
+        return KEY_PREFIX + name + ":" + cacheKey;
+    }
+
+    public interface Codec {
+        String encode(Object value) throws IOException;
+
+        Object decode(String payload) throws IOException;
+    }
+
+    public static Codec jsonCodec(ObjectMapper objectMapper, Class<?> type) {
+        return new Codec() {
+            @Override
+            public String encode(Object value) throws IOException {
+                return objectMapper.writeValueAsString(value);
+            }
+
+            @Override
+            public Object decode(String payload) throws IOException {
+                return objectMapper.readValue(payload, type);
+            }
+        };
+    }
+
+    // Pages are stored as their content plus paging numbers, PageImpl itself can't be read back by Jackson
+    public static Codec pageCodec(ObjectMapper objectMapper, Class<?> contentType) {
+        JavaType pageType = objectMapper.getTypeFactory().constructParametricType(CachedPage.class, contentType);
+
+        return new Codec() {
+            @Override
+            public String encode(Object value) throws IOException {
+                Page<?> page = (Page<?>) value;
+                return objectMapper.writeValueAsString(new CachedPage<>(
+                        page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements()
+                ));
+            }
+
+            @Override
+            public Object decode(String payload) throws IOException {
+                CachedPage<?> page = objectMapper.readValue(payload, pageType);
+                return new PageImpl<>(page.content(), PageRequest.of(page.number(), page.size()), page.totalElements());
+            }
+        };
+    }
+
+    public record CachedPage<T>(List<T> content, int number, int size, long totalElements) {
+    }
+}
@@ -0,0 +1,86 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
+import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class VerifiedTokenCache {
+    private static final String VERIFICATION_METRIC = "auth.token.verification";
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, AuthenticatedUserDto> verifiedTokens;
+    private final Timer cachedVerifications;
+    private final Timer signatureVerifications;
+
+    public VerifiedTokenCache(JwtUtils jwtUtils,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.jwt.verified-cache.max-size:50000}") long maxSize,
+                              @Value("${app.jwt.verified-cache.max-ttl-minutes:5}") long maxTtlMinutes) {
+        this.jwtUtils = jwtUtils;
+
+        Duration maxTtl = Duration.ofMinutes(maxTtlMinutes);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, AuthenticatedUserDto>() {
+                    // Never outlives the token itself, so an expired token always goes back through verification
+                    @Override
+                    public long expireAfterCreate(String key, AuthenticatedUserDto principal, long currentTime) {
+                        Duration remaining = Duration.between(Instant.now(), principal.getExpiresAt());
+                        return Math.max(0, Math.min(remaining.toNanos(), maxTtl.toNanos()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, AuthenticatedUserDto principal,
+                                                  long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, AuthenticatedUserDto principal,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "verified-tokens");
+        this.cachedVerifications = meterRegistry.timer(VERIFICATION_METRIC, "source", "cache");
+        this.signatureVerifications = meterRegistry.timer(VERIFICATION_METRIC, "source", "signature");
+    }
+
+    // Access tokens aren't revocable before they expire (logout only ends the refresh token), so serving a
+    // verified one from the cache accepts nothing the signature check wouldn't
+    public AuthenticatedUserDto verify(String token) {
+        if (token == null) throw new UnauthorizedException("Invalid JWT token");
+
+        long start = System.nanoTime();
+        // Keyed by digest, so raw tokens are never held in memory longer than the request
+        String digest = TokenDigests.sha256Hex(token);
+
+        AuthenticatedUserDto cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            cachedVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+
+        // Invalid tokens throw here and are never cached
+        AuthenticatedUserDto principal = jwtUtils.verifyToken(token);
+        verifiedTokens.put(digest, principal);
+
+        signatureVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return principal;
+    }
+}
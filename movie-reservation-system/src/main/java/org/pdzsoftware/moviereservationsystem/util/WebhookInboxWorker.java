@@ -0,0 +1,275 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.stripe.model.Event;
+import com.stripe.net.ApiResource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.pdzsoftware.moviereservationsystem.model.Booking;
+import org.pdzsoftware.moviereservationsystem.model.WebhookEvent;
+import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
+import org.pdzsoftware.moviereservationsystem.repository.WebhookEventRepository;
+import org.pdzsoftware.moviereservationsystem.service.impl.StripeWebhookService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.pdzsoftware.moviereservationsystem.enums.WebhookEventStatus.*;
+import static org.pdzsoftware.moviereservationsystem.service.impl.WebhookInboxService.INBOX_METRIC;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookInboxWorker {
+    private static final long POLL_DELAY_MS = 250L;
+    private static final long MAINTENANCE_RATE_MS = 60 * 1000L;
+
+    private static final String PROCESS_INBOX_JOB = "webhook-inbox";
+    private static final String INBOX_MAINTENANCE_JOB = "webhook-inbox-maintenance";
+    // The polling node keeps renewing its lease across polls, another node takes over once it stops for this long
+    private static final Duration PROCESS_INBOX_LEASE = Duration.ofSeconds(30);
+    private static final Duration INBOX_MAINTENANCE_LEASE = Duration.ofMillis(MAINTENANCE_RATE_MS).minusSeconds(10);
+
+    private static final Duration STALE_CLAIM_THRESHOLD = Duration.ofMinutes(5);
+    private static final Duration PROCESSED_RETENTION = Duration.ofDays(7);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    @Value("${app.webhooks.inbox.lanes:8}")
+    private int laneCount;
+    @Value("${app.webhooks.inbox.batch-size:100}")
+    private int batchSize;
+    @Value("${app.webhooks.inbox.max-attempts:5}")
+    private int maxAttempts;
+    @Value("${app.webhooks.inbox.retry-base-delay-ms:5000}")
+    private long retryBaseDelayMs;
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final BookingRepository bookingRepository;
+    private final StripeWebhookService stripeWebhookService;
+    private final JobLeaseManager jobLeaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // Single threaded lanes, events are routed by booking so each booking's events run in arrival order
+    private List<ExecutorService> lanes;
+
+    @PostConstruct
+    public void init() {
+        lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(Executors.newSingleThreadExecutor(new CustomizableThreadFactory("webhook-lane-" + i + "-")));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(ExecutorService::shutdown);
+    }
+
+    @Scheduled(fixedDelay = POLL_DELAY_MS)
+    public void processInbox() {
+        jobLeaseManager.runIfLeader(PROCESS_INBOX_JOB, PROCESS_INBOX_LEASE, this::processInbox);
+    }
+
+    private void processInbox(JobLease lease) {
+        while (lease.renew()) {
+            List<Long> eventIds = webhookEventRepository.findIdsByStatus(
+                    RECEIVED, LocalDateTime.now(), PageRequest.of(0, batchSize)
+            );
+            if (eventIds.isEmpty()) break;
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+            // One micro-batch per lane, in ID order, so each lane handles its share in a single transaction
+            Map<Integer, List<Long>> idsByLane = claim(eventIds, lease).stream()
+                    .sorted(Comparator.comparing(WebhookEvent::getId))
+                    .collect(Collectors.groupingBy(this::getLaneIndex, TreeMap::new,
+                            Collectors.mapping(WebhookEvent::getId, Collectors.toList())));
+
+            idsByLane.forEach((laneIndex, laneEventIds) -> futures.add(CompletableFuture.runAsync(
+                    () -> processBatch(laneEventIds, new HashSet<>(), lease), lanes.get(laneIndex)
+            )));
+
+            // Finishing the batch before claiming the next one keeps the ordering across batches as well
+            joinLanes(futures);
+
+            if (eventIds.size() < batchSize) break;
+        }
+    }
+
+    // A lane that lost the lease stops the whole poll, its claims are released by the maintenance job
+    private void joinLanes(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof LeaseLostException leaseLost) throw leaseLost;
+            throw ex;
+        }
+    }
+
+    private List<WebhookEvent> claim(List<Long> eventIds, JobLease lease) {
+        List<WebhookEvent> claimed = transactionTemplate.execute(status -> {
+            if (webhookEventRepository.claimAll(eventIds, LocalDateTime.now()) == 0) return List.of();
+            lease.verifyHeld();
+
+            // Polling runs under a lease, so every event of this batch still in PROCESSING was claimed here
+            return webhookEventRepository.findAllById(eventIds).stream()
+                    .filter(webhookEvent -> webhookEvent.getEventStatus() == PROCESSING)
+                    .toList();
+        });
+
+        return claimed != null ? claimed : List.of();
+    }
+
+    private int getLaneIndex(WebhookEvent webhookEvent) {
+        Long partitionKey = webhookEvent.getBookingId() != null ? webhookEvent.getBookingId() : webhookEvent.getId();
+        return Math.floorMod(Long.hashCode(partitionKey), laneCount);
+    }
+
+    // Bookings with a failed event in this lane, their later events wait so the order holds on retry.
+    // Across polls the inbox query holds them back for as long as the earlier event is retrying or failed
+    private void processBatch(List<Long> eventIds, Set<Long> failedBookingIds, JobLease lease) {
+        // Only kept once the batch commits, a rolled back attempt must not defer the individual retries
+        Set<Long> batchFailedBookingIds = new HashSet<>(failedBookingIds);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<WebhookEvent> webhookEvents = webhookEventRepository.findAllById(eventIds).stream()
+                        .sorted(Comparator.comparing(WebhookEvent::getId))
+                        .toList();
+
+                // Every booking the batch touches in one query, transitions then apply as conditional updates
+                Set<Long> bookingIds = webhookEvents.stream()
+                        .map(WebhookEvent::getBookingId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet());
+                Map<Long, Booking> bookingsById = bookingRepository.findReadOnlyByIdIn(bookingIds).stream()
+                        .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+                webhookEvents.forEach(webhookEvent -> process(webhookEvent, bookingsById, batchFailedBookingIds));
+                lease.verifyHeld();
+            });
+
+            failedBookingIds.addAll(batchFailedBookingIds);
+        } catch (LeaseLostException ex) {
+            // Rolled back as a whole, retrying one by one would only lose the lease again
+            throw ex;
+        } catch (Exception ex) {
+            // The flush failed as a whole, so nothing was applied, retrying one by one isolates the culprit
+            if (eventIds.size() > 1) {
+                log.warn("[WebhookInboxWorker] Batch of {} webhook event(s) failed to commit, retrying individually",
+                        eventIds.size(), ex);
+                eventIds.forEach(eventId -> processBatch(List.of(eventId), failedBookingIds, lease));
+            } else {
+                recordCommitFailure(eventIds.get(0), failedBookingIds, lease, ex);
+            }
+        }
+    }
+
+    private void process(WebhookEvent webhookEvent, Map<Long, Booking> bookingsById, Set<Long> failedBookingIds) {
+        Long bookingId = webhookEvent.getBookingId();
+
+        if (bookingId != null && failedBookingIds.contains(bookingId)) {
+            // Not counted as an attempt, it only waits for the earlier event of the same booking
+            webhookEvent.setEventStatus(RECEIVED);
+            return;
+        }
+
+        try {
+            Event event = ApiResource.GSON.fromJson(webhookEvent.getPayload(), Event.class);
+            stripeWebhookService.handleStripeEvent(event, bookingsById);
+
+            webhookEvent.setEventStatus(PROCESSED);
+            webhookEvent.setProcessedAt(LocalDateTime.now());
+            webhookEvent.setLastError(null);
+            meterRegistry.counter(INBOX_METRIC, "outcome", "processed").increment();
+        } catch (Exception ex) {
+            if (bookingId != null) failedBookingIds.add(bookingId);
+            recordFailedAttempt(webhookEvent, ex);
+        }
+    }
+
+    private void recordCommitFailure(Long eventId, Set<Long> failedBookingIds, JobLease lease, Exception ex) {
+        transactionTemplate.executeWithoutResult(status -> {
+            webhookEventRepository.findById(eventId).ifPresent(webhookEvent -> {
+                if (webhookEvent.getBookingId() != null) failedBookingIds.add(webhookEvent.getBookingId());
+                recordFailedAttempt(webhookEvent, ex);
+            });
+            lease.verifyHeld();
+        });
+    }
+
+    private void recordFailedAttempt(WebhookEvent webhookEvent, Exception ex) {
+        webhookEvent.setAttempts(webhookEvent.getAttempts() + 1);
+        webhookEvent.setLastError(truncate(ex.getMessage()));
+
+        boolean exhausted = webhookEvent.getAttempts() >= maxAttempts;
+        webhookEvent.setEventStatus(exhausted ? FAILED : RECEIVED);
+        webhookEvent.setNextAttemptAt(LocalDateTime.now().plus(getRetryDelay(webhookEvent.getAttempts())));
+        meterRegistry.counter(INBOX_METRIC, "outcome", exhausted ? "failed" : "retried").increment();
+
+        log.error("[WebhookInboxWorker] Error processing webhook event with ID: {} and type: {}, attempt {} of {}",
+                webhookEvent.getProviderEventId(), webhookEvent.getEventType(),
+                webhookEvent.getAttempts(), maxAttempts, ex);
+    }
+
+    // Release claims left behind by a crashed node and drop processed events past retention
+    @Scheduled(fixedRate = MAINTENANCE_RATE_MS)
+    public void maintainInbox() {
+        jobLeaseManager.runIfLeader(INBOX_MAINTENANCE_JOB, INBOX_MAINTENANCE_LEASE, lease -> {
+            LocalDateTime now = LocalDateTime.now();
+
+            Integer released = transactionTemplate.execute(status -> {
+                int stale = webhookEventRepository.releaseStaleClaims(now.minus(STALE_CLAIM_THRESHOLD));
+                lease.verifyHeld();
+                return stale;
+            });
+            Integer deleted = transactionTemplate.execute(status -> {
+                int processed = webhookEventRepository.deleteProcessedBefore(now.minus(PROCESSED_RETENTION));
+                lease.verifyHeld();
+                return processed;
+            });
+
+            if (released != null && released > 0) {
+                log.warn("[WebhookInboxWorker] Released {} stale webhook event claim(s)", released);
+            }
+            if (deleted != null && deleted > 0) {
+                log.info("[WebhookInboxWorker] Deleted {} processed webhook event(s)", deleted);
+            }
+        });
+    }
+
+    // Exponential backoff, doubling from the base delay after each attempt
+    private Duration getRetryDelay(int attempts) {
+        Duration delay = Duration.ofMillis(retryBaseDelayMs << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_RETRY_DELAY) < 0 ? delay : MAX_RETRY_DELAY;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) return message;
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
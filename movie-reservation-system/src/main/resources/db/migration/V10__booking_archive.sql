@@ -0,0 +1,17 @@
+    -- Compact copy of deleted bookings, keyed by booking ID so a re-archived chunk is a no-op
+    create table tb_booking_archive (
+        booking_id bigint not null,
+        user_fk bigint,
+        session_fk bigint,
+        booking_status varchar(255),
+        total_price numeric(38,2),
+        checkout_id varchar(255),
+        payment_intent_id varchar(255),
+        refund_id varchar(255),
+        created_at timestamp(6),
+        updated_at timestamp(6),
+        expires_at timestamp(6),
+        booked_seats jsonb not null,
+        archived_at timestamp(6) not null,
+        primary key (booking_id)
+    );
@@ -0,0 +1,8 @@
+    -- Failed attempts are retried with backoff, an event waits in the inbox until it is due again
+    alter table if exists tb_webhook_event
+       add column if not exists next_attempt_at timestamp(6) not null default current_timestamp;
+
+    -- Unfinished events of a booking, looked up so its later events wait for the earlier ones
+    create index if not exists idx_webhook_event_booking_unprocessed
+       on tb_webhook_event (booking_id, id)
+       where event_status <> 'PROCESSED';
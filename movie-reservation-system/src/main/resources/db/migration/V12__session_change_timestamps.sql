@@ -0,0 +1,14 @@
+    -- The summary job finds changed sessions by these, a session without them would never be recounted
+    update tb_session
+       set created_at = coalesce(updated_at, current_timestamp)
+       where created_at is null;
+
+    update tb_session
+       set updated_at = created_at
+       where updated_at is null;
+
+    alter table if exists tb_session
+       alter column created_at set default current_timestamp,
+       alter column created_at set not null,
+       alter column updated_at set default current_timestamp,
+       alter column updated_at set not null;
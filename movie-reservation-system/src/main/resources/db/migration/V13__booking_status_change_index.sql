@@ -0,0 +1,9 @@
+    -- Built concurrently like the hot path indexes, the .conf file next to this one keeps it out of a transaction
+
+    -- Late confirmations looked for by the past-marking job, a range over the bookings whose status changed
+    -- since its last run
+    create index concurrently if not exists idx_booking_status_updated_at
+       on tb_booking (booking_status, updated_at);
+
+    -- Replaced by the index above, the late confirmation pass used it to read every confirmed booking
+    drop index concurrently if exists idx_booking_confirmed_session;
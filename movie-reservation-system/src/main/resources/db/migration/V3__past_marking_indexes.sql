@@ -0,0 +1,6 @@
+    create index if not exists idx_session_end_time_id
+       on tb_session (end_time, id);
+
+    create index if not exists idx_booking_confirmed_session
+       on tb_booking (session_fk)
+       where booking_status = 'PAYMENT_CONFIRMED';
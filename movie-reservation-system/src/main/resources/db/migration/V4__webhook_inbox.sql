@@ -0,0 +1,20 @@
+    create table tb_webhook_event (
+        attempts integer not null,
+        booking_id bigint,
+        claimed_at timestamp(6),
+        id bigint generated by default as identity,
+        processed_at timestamp(6),
+        received_at timestamp(6),
+        event_type varchar(255),
+        provider_event_id varchar(255) not null,
+        last_error varchar(1024),
+        payload text,
+        event_status varchar(255) check (event_status in ('RECEIVED','PROCESSING','PROCESSED','FAILED')),
+        primary key (id)
+    );
+
+    alter table if exists tb_webhook_event
+       add constraint uk_webhook_event_provider_event_id unique (provider_event_id);
+
+    create index if not exists idx_webhook_event_status_id
+       on tb_webhook_event (event_status, id);
@@ -0,0 +1,26 @@
+    create table tb_refresh_token (
+        created_at timestamp(6),
+        expires_at timestamp(6),
+        id bigint generated by default as identity,
+        user_fk bigint not null,
+        token_hash varchar(64) not null,
+        primary key (id)
+    );
+
+    alter table if exists tb_refresh_token
+       add constraint uk_refresh_token_token_hash unique (token_hash);
+
+    alter table if exists tb_refresh_token
+       add constraint fk_refresh_token_user
+       foreign key (user_fk)
+       references tb_user;
+
+    create index if not exists idx_refresh_token_user
+       on tb_refresh_token (user_fk);
+
+    create index if not exists idx_refresh_token_expires_at
+       on tb_refresh_token (expires_at);
+
+    -- Raw tokens are no longer stored, existing sessions have to log in again
+    alter table if exists tb_user
+       drop column if exists refresh_token;
@@ -0,0 +1,5 @@
+    create extension if not exists pg_trgm;
+
+    -- Matches the lower(title) like '%...%' filter of the movie search, which a b-tree can't serve
+    create index if not exists idx_movie_title_trgm
+       on tb_movie using gin (lower(title) gin_trgm_ops);
@@ -0,0 +1,24 @@
+    create table tb_movie_session_summary (
+        movie_fk bigint not null,
+        upcoming_session_count bigint not null,
+        next_start_time timestamp(6),
+        refreshed_at timestamp(6),
+        primary key (movie_fk)
+    );
+
+    alter table if exists tb_movie_session_summary
+       add constraint fk_movie_session_summary_movie
+       foreign key (movie_fk)
+       references tb_movie
+       on delete cascade;
+
+    -- Rows whose next session just fell out of the upcoming window are refreshed first
+    create index if not exists idx_movie_session_summary_next_start
+       on tb_movie_session_summary (next_start_time);
+
+    -- Sessions created or edited since the last refresh
+    create index if not exists idx_session_created_at
+       on tb_session (created_at);
+
+    create index if not exists idx_session_updated_at
+       on tb_session (updated_at);
@@ -0,0 +1,8 @@
+    create index if not exists idx_movie_title_id
+       on tb_movie (title, id);
+
+    create index if not exists idx_session_movie_start_time_id
+       on tb_session (movie_fk, start_time, id);
+
+    create index if not exists idx_booking_user_status
+       on tb_booking (user_fk, booking_status);
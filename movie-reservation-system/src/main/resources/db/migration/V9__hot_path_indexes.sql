@@ -0,0 +1,33 @@
+    -- Built concurrently so writes keep going on large tables, which can't run in a transaction, see the .conf
+    -- file next to this one. A failed build leaves an invalid index behind, which has to be dropped before the
+    -- migration is repaired and run again
+
+    -- Seats of a booking (listing, archiving, deletion), the seat ID lets the taken seat checks stay in the index
+    create index concurrently if not exists idx_booked_seat_booking_seat
+       on tb_booked_seat (booking_id, seat_id);
+
+    -- Taken seat checks that start from a handful of requested seats
+    create index concurrently if not exists idx_booked_seat_seat_booking
+       on tb_booked_seat (seat_id, booking_id);
+
+    -- Bookings holding seats of a session, a small slice of the table once sessions are in the past
+    create index concurrently if not exists idx_booking_active_session
+       on tb_booking (session_fk, id)
+       where booking_status in ('AWAITING_PAYMENT', 'PAYMENT_RETRY', 'PAYMENT_CONFIRMED');
+
+    -- Cleanup queues walked in ID order, each one only indexes the bookings waiting in it
+    create index concurrently if not exists idx_booking_awaiting_deletion_id
+       on tb_booking (id) include (updated_at)
+       where booking_status = 'AWAITING_DELETION';
+
+    create index concurrently if not exists idx_booking_expired_id
+       on tb_booking (id) include (checkout_id)
+       where booking_status = 'EXPIRED';
+
+    -- Seat layout of a screen
+    create index concurrently if not exists idx_seat_screen
+       on tb_seat (screen_fk);
+
+    -- Login and signup lookups, not unique so existing duplicates can't fail the migration
+    create index concurrently if not exists idx_user_email
+       on tb_user (email);
@@ -0,0 +1,129 @@
+package org.pdzsoftware.moviereservationsystem.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.pdzsoftware.moviereservationsystem.enums.UserRole;
+import org.pdzsoftware.moviereservationsystem.model.User;
+import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StringUtils;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token sign and verify throughput. The legacy benchmarks decode the keys and build a parser per call,
+ * the way JwtUtils did before the key material was cached, so both numbers come out of the same run.
+ * They sign and check the same claims as JwtUtils, so key handling is the only difference being measured.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.pdzsoftware.moviereservationsystem.benchmark.JwtUtilsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+    private static final String ISSUER = "benchmark-issuer";
+    private static final String AUDIENCE = "benchmark-audience";
+    private static final int ACCESS_TOKEN_EXPIRATION_MS = 15 * 60 * 1000;
+
+    private JwtUtils jwtUtils;
+    private User user;
+    private String encodedPublicKey;
+    private String encodedPrivateKey;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(JwtUtils.ALGORITHM);
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        encodedPublicKey = Encoders.BASE64.encode(keyPair.getPublic().getEncoded());
+        encodedPrivateKey = Encoders.BASE64.encode(keyPair.getPrivate().getEncoded());
+
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "publicKey", encodedPublicKey);
+        ReflectionTestUtils.setField(jwtUtils, "privateKey", encodedPrivateKey);
+        ReflectionTestUtils.setField(jwtUtils, "issuer", ISSUER);
+        ReflectionTestUtils.setField(jwtUtils, "audience", AUDIENCE);
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpirationMs", ACCESS_TOKEN_EXPIRATION_MS);
+        jwtUtils.init();
+
+        user = User.builder()
+                .id(1L)
+                .email("benchmark@example.com")
+                .userRole(UserRole.CUSTOMER)
+                .build();
+
+        token = jwtUtils.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtils.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return jwtUtils.isJwtValid(token);
+    }
+
+    // Same claim set as generateAccessToken, only the key decoding differs
+    @Benchmark
+    public String signLegacy() throws Exception {
+        byte[] keyBytes = Decoders.BASE64.decode(encodedPrivateKey);
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(user.getEmail())
+                .claim(JwtUtils.USER_ID, user.getId())
+                .claim(JwtUtils.ROLE, "ROLE_" + user.getUserRole().name())
+                .claim(JwtUtils.ISS, ISSUER)
+                .claim(JwtUtils.AUD, AUDIENCE)
+                .claim(JwtUtils.JTI, UUID.randomUUID().toString())
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusMillis(ACCESS_TOKEN_EXPIRATION_MS)))
+                .signWith(KeyFactory.getInstance(JwtUtils.ALGORITHM).generatePrivate(new PKCS8EncodedKeySpec(keyBytes)))
+                .compact();
+    }
+
+    // Same checks as isJwtValid, only the key decoding and parser building differ
+    @Benchmark
+    public boolean verifyLegacy() throws Exception {
+        byte[] keyBytes = Decoders.BASE64.decode(encodedPublicKey);
+        Claims claims = Jwts.parser()
+                .verifyWith(KeyFactory.getInstance(JwtUtils.ALGORITHM).generatePublic(new X509EncodedKeySpec(keyBytes)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+
+        return ISSUER.equals(claims.getIssuer())
+                && claims.getAudience().contains(AUDIENCE)
+                && StringUtils.hasText(claims.getId())
+                && !claims.getExpiration().before(Date.from(Instant.now()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtUtilsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
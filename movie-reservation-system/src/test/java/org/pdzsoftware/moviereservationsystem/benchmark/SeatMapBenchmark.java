@@ -0,0 +1,134 @@
+package org.pdzsoftware.moviereservationsystem.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.pdzsoftware.moviereservationsystem.dto.SessionLayoutRowDto;
+import org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.enums.Language;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+import org.pdzsoftware.moviereservationsystem.enums.SeatType;
+import org.pdzsoftware.moviereservationsystem.repository.SessionRepository;
+import org.pdzsoftware.moviereservationsystem.service.impl.DefaultSessionService;
+import org.pdzsoftware.moviereservationsystem.service.impl.RedisSeatCacheService;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Seat map reads at 300 and 1,000 seat screens. Redis calls park for a simulated round trip, so the per-seat
+ * benchmark pays one per seat and the batched one pays one per MGET. The per-seat loop no longer exists in the
+ * app, takenFlagsPerSeat times an inline copy of the removed EXISTS loop as the baseline. layoutFromFusedRows
+ * only times assembling the response from already fetched rows of the fused session query, the repository is
+ * stubbed, so the saved database round trips don't show up in it.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.pdzsoftware.moviereservationsystem.benchmark.SeatMapBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatMapBenchmark {
+    private static final long SESSION_ID = 1L;
+    private static final String KEY_PREFIX = "Seat:";
+
+    @Param({"300", "1000"})
+    private int seats;
+
+    @Param({"100"})
+    private long roundTripMicros;
+
+    private RedisTemplate<String, String> template;
+    private RedisSeatCacheService seatCacheService;
+    private DefaultSessionService sessionService;
+    private Set<Long> seatIds;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        long roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        Random random = new Random(42);
+
+        seatIds = new HashSet<>();
+        Set<String> heldKeys = new HashSet<>();
+        List<SessionLayoutRowDto> rows = new ArrayList<>(seats);
+
+        for (long seatId = 1; seatId <= seats; seatId++) {
+            seatIds.add(seatId);
+            rows.add(buildRow(seatId));
+
+            // Roughly one seat in ten held by someone mid-checkout
+            if (random.nextInt(10) == 0) heldKeys.add(KEY_PREFIX + seatId + ":" + SESSION_ID);
+        }
+
+        // Stub only, so invocations aren't recorded across millions of benchmark calls
+        template = mock(RedisTemplate.class, withSettings().stubOnly());
+        ValueOperations<String, String> valueOps = mock(ValueOperations.class, withSettings().stubOnly());
+
+        when(template.opsForValue()).thenReturn(valueOps);
+        when(template.hasKey(any())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(roundTripNanos);
+            return heldKeys.contains(invocation.<String>getArgument(0));
+        });
+        when(valueOps.multiGet(anyCollection())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(roundTripNanos);
+            return invocation.<Collection<String>>getArgument(0).stream()
+                    .map(key -> heldKeys.contains(key) ? "UserID:1" : null)
+                    .toList();
+        });
+
+        seatCacheService = new RedisSeatCacheService(template);
+
+        SessionRepository sessionRepository = mock(SessionRepository.class, withSettings().stubOnly());
+        when(sessionRepository.findLayoutRowsById(anyLong())).thenReturn(rows);
+
+        sessionService = new DefaultSessionService(sessionRepository, null);
+    }
+
+    // Copy of the removed per-seat EXISTS loop
+    @Benchmark
+    public Set<Long> takenFlagsPerSeat() {
+        Set<Long> takenSeatIds = new HashSet<>(seatIds);
+        takenSeatIds.removeIf(seatId -> !template.hasKey(KEY_PREFIX + seatId + ":" + SESSION_ID));
+        return takenSeatIds;
+    }
+
+    @Benchmark
+    public Set<Long> takenFlagsBatched() {
+        return seatCacheService.findTakenIdsBySessionId(SESSION_ID, seatIds);
+    }
+
+    @Benchmark
+    public Optional<SessionDetailedResponse> layoutFromFusedRows() {
+        return sessionService.findDetailedResponseById(SESSION_ID);
+    }
+
+    private static SessionLayoutRowDto buildRow(long seatId) {
+        LocalDateTime startTime = LocalDateTime.of(2030, 1, 1, 20, 0);
+
+        return new SessionLayoutRowDto(SESSION_ID, startTime, startTime.plusHours(2), Language.ENGLISH, true, false,
+                BigDecimal.TEN, BigDecimal.valueOf(20), BigDecimal.valueOf(5), 1L, "Theater", "logo.png", "Address",
+                "Screen 1", 1L, "Movie", "Description", MovieGenre.ACTION, 120, "poster.png", LocalDate.of(2029, 12, 1),
+                seatId, String.valueOf((char) ('A' + seatId / 30 % 26)), (int) (seatId % 30) + 1, SeatType.STANDARD);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SeatMapBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,106 @@
+package org.pdzsoftware.moviereservationsystem.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.pdzsoftware.moviereservationsystem.dto.MovieTitleRefDto;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+import org.pdzsoftware.moviereservationsystem.util.TitleNgramIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete latency over 100k generated titles. The scan benchmark filters every title with a lowercase
+ * contains over all of them, which is what the LIKE '%...%' search does per keystroke without an index.
+ * <p>
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.pdzsoftware.moviereservationsystem.benchmark.TitleNgramIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TitleNgramIndexBenchmark {
+    private static final String[] WORDS = {
+            "the", "last", "dark", "night", "return", "of", "king", "star", "war", "lost", "city", "blood",
+            "moon", "rising", "shadow", "empire", "silent", "river", "iron", "heart", "storm", "ghost",
+            "secret", "garden", "fire", "ice", "kingdom", "dragon", "legend", "hunter", "dream", "machine"
+    };
+
+    @Param({"100000"})
+    private int titles;
+
+    private TitleNgramIndex index;
+    private List<MovieTitleRefDto> movies;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        MovieGenre[] genres = MovieGenre.values();
+        movies = new ArrayList<>(titles);
+
+        for (int i = 0; i < titles; i++) {
+            int words = 2 + random.nextInt(3);
+            StringBuilder title = new StringBuilder();
+
+            for (int w = 0; w < words; w++) {
+                if (w > 0) title.append(' ');
+                String word = WORDS[random.nextInt(WORDS.length)];
+                title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            }
+
+            movies.add(new MovieTitleRefDto((long) i, title + " " + i, genres[random.nextInt(genres.length)]));
+        }
+
+        index = TitleNgramIndex.build(movies);
+    }
+
+    @Benchmark
+    public List<MovieTitleRefDto> prefix() {
+        return index.search("drag", 10);
+    }
+
+    @Benchmark
+    public List<MovieTitleRefDto> multiWordPrefix() {
+        return index.search("silent riv", 10);
+    }
+
+    @Benchmark
+    public List<MovieTitleRefDto> typo() {
+        return index.search("shadwo empire", 10);
+    }
+
+    @Benchmark
+    public List<MovieTitleRefDto> scan() {
+        String query = "drag";
+        List<MovieTitleRefDto> matches = new ArrayList<>();
+
+        for (MovieTitleRefDto movie : movies) {
+            if (movie.getTitle().toLowerCase(Locale.ROOT).contains(query)) {
+                matches.add(movie);
+            }
+        }
+
+        return matches;
+    }
+
+    @Benchmark
+    public TitleNgramIndex build() {
+        return TitleNgramIndex.build(movies);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TitleNgramIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,118 @@
+package org.pdzsoftware.moviereservationsystem.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
+import org.pdzsoftware.moviereservationsystem.usecase.GetMovieListUseCase;
+import org.pdzsoftware.moviereservationsystem.usecase.GetMovieSessionsUseCase;
+import org.pdzsoftware.moviereservationsystem.usecase.GetMovieSuggestionsUseCase;
+import org.pdzsoftware.moviereservationsystem.usecase.GetMovieUseCase;
+import org.pdzsoftware.moviereservationsystem.util.CatalogVersions;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieControllerTest {
+    private static final String ETAG = "W/\"3-1-29000000\"";
+
+    @Mock
+    private GetMovieListUseCase getMovieList;
+    @Mock
+    private GetMovieUseCase getMovie;
+    @Mock
+    private GetMovieSessionsUseCase getMovieSessions;
+    @Mock
+    private GetMovieSuggestionsUseCase getMovieSuggestions;
+    @Mock
+    private CatalogVersions catalogVersions;
+    @InjectMocks
+    private MovieController movieController;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(movieController, "catalogMaxAgeSeconds", 60L);
+        ReflectionTestUtils.setField(movieController, "sessionsMaxAgeSeconds", 10L);
+    }
+
+    @Test
+    void getMovie_withMatchingETag_returnsNotModifiedWithoutLoading() {
+        // Arrange
+        when(catalogVersions.movieETag(1L, Duration.ofSeconds(60))).thenReturn(ETAG);
+
+        // Act
+        ResponseEntity<MovieResponse> response = movieController.getMovie(1L, getRequest(ETAG));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+        verifyNoInteractions(getMovie);
+    }
+
+    @Test
+    void getMovie_withStaleETag_returnsBodyWithCurrentETag() {
+        // Arrange
+        MovieResponse movie = new MovieResponse();
+        when(catalogVersions.movieETag(1L, Duration.ofSeconds(60))).thenReturn(ETAG);
+        when(getMovie.execute(1L)).thenReturn(movie);
+
+        // Act
+        ResponseEntity<MovieResponse> response = movieController.getMovie(1L, getRequest("W/\"2-1-29000000\""));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals("max-age=60, public", response.getHeaders().getCacheControl());
+        assertSame(movie, response.getBody());
+    }
+
+    @Test
+    void getMovieList_withoutETag_servesBodyWithoutETag() {
+        // Arrange
+        when(catalogVersions.catalogETag(Duration.ofSeconds(60))).thenReturn(null);
+        when(getMovieList.execute(null, null, 0)).thenReturn(Page.empty());
+
+        // Act
+        ResponseEntity<Page<MovieResponse>> response = movieController.getMovieList(null, null, 0, getRequest(ETAG));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
+        verify(getMovieList).execute(null, null, 0);
+    }
+
+    @Test
+    void getMovieSessions_withMatchingETag_usesSessionsMaxAge() {
+        // Arrange
+        when(catalogVersions.movieETag(1L, Duration.ofSeconds(10))).thenReturn(ETAG);
+
+        // Act
+        ResponseEntity<?> response = movieController.getMovieSessions(1L, null, null, 0, getRequest(ETAG));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("max-age=10, public", response.getHeaders().getCacheControl());
+        verify(getMovieSessions, never()).execute(any(), any(), any(), anyInt());
+    }
+
+    private static ServletWebRequest getRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/movies");
+        request.addHeader("If-None-Match", ifNoneMatch);
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
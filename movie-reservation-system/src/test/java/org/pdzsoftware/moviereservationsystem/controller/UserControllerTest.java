@@ -0,0 +1,83 @@
+package org.pdzsoftware.moviereservationsystem.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
+import org.pdzsoftware.moviereservationsystem.dto.response.UserProfileResponse;
+import org.pdzsoftware.moviereservationsystem.enums.UserRole;
+import org.pdzsoftware.moviereservationsystem.interceptor.JwtAuthFilter;
+import org.pdzsoftware.moviereservationsystem.usecase.GetUserProfileUseCase;
+import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
+import org.pdzsoftware.moviereservationsystem.util.VerifiedTokenCache;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+    private static final String TOKEN = "access-token";
+
+    @Mock
+    private GetUserProfileUseCase getUserProfile;
+    @Mock
+    private JwtUtils jwtUtils;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtUtils, new SimpleMeterRegistry(), 100, 5);
+
+        // The filter verifies the token and the resolver hands its principal to the handler, as in the app
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(getUserProfile))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .addFilters(new JwtAuthFilter(jwtUtils, verifiedTokenCache))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getUserProfileFromToken_withValidToken_loadsProfileOfPrincipal() throws Exception {
+        // Arrange
+        when(jwtUtils.parseJwt(any(), eq("accessToken"))).thenReturn(TOKEN);
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(new AuthenticatedUserDto(
+                7L, "user@email.com", "ROLE_CUSTOMER", Instant.now().plusSeconds(600)));
+        when(getUserProfile.execute(7L))
+                .thenReturn(new UserProfileResponse(7L, "user", "user@email.com", UserRole.CUSTOMER));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/fromToken"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.email").value("user@email.com"));
+
+        verify(getUserProfile).execute(7L);
+    }
+
+    @Test
+    void getUserProfileFromToken_withoutToken_neverReachesHandler() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users/fromToken"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(getUserProfile);
+    }
+}
@@ -0,0 +1,113 @@
+package org.pdzsoftware.moviereservationsystem.interceptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
+import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
+import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
+import org.pdzsoftware.moviereservationsystem.util.VerifiedTokenCache;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+    private static final String TOKEN = "access-token";
+    private static final String PROTECTED_PATH = "/api/users/fromToken";
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    private JwtAuthFilter jwtAuthFilter;
+
+    @BeforeEach
+    void setUp() {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtUtils, new SimpleMeterRegistry(), 100, 5);
+        jwtAuthFilter = new JwtAuthFilter(jwtUtils, verifiedTokenCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_withValidToken_setsPrincipalAndContinuesChain() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PROTECTED_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        when(jwtUtils.parseJwt(request, "accessToken")).thenReturn(TOKEN);
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(new AuthenticatedUserDto(
+                7L, "user@email.com", "ROLE_CUSTOMER", Instant.now().plusSeconds(600)));
+
+        // Act
+        jwtAuthFilter.doFilter(request, response, filterChain);
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        AuthenticatedUserDto principal = (AuthenticatedUserDto) authentication.getPrincipal();
+
+        assertEquals(7L, principal.getUserId());
+        assertEquals("user@email.com", principal.getEmail());
+        assertEquals("ROLE_CUSTOMER", principal.getRole());
+        assertEquals("ROLE_CUSTOMER", authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null));
+        assertSame(request, filterChain.getRequest());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void doFilter_withInvalidToken_respondsUnauthorized() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PROTECTED_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        when(jwtUtils.parseJwt(request, "accessToken")).thenReturn(TOKEN);
+        when(jwtUtils.verifyToken(TOKEN)).thenThrow(new UnauthorizedException("Invalid JWT token"));
+
+        // Act
+        jwtAuthFilter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(filterChain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_withoutToken_respondsUnauthorizedWithoutVerifying() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PROTECTED_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        when(jwtUtils.parseJwt(request, "accessToken")).thenReturn(null);
+
+        // Act
+        jwtAuthFilter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(401, response.getStatus());
+        assertNull(filterChain.getRequest());
+        verify(jwtUtils, never()).verifyToken(any());
+    }
+}
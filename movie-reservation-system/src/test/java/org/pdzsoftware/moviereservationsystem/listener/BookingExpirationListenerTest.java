@@ -0,0 +1,98 @@
+package org.pdzsoftware.moviereservationsystem.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.event.BookingCreatedEvent;
+import org.pdzsoftware.moviereservationsystem.dto.event.BookingStatusUpdatedEvent;
+import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
+import org.pdzsoftware.moviereservationsystem.model.Booking;
+import org.pdzsoftware.moviereservationsystem.util.BookingJobRunner;
+import org.pdzsoftware.moviereservationsystem.util.JobScheduler;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpirationListenerTest {
+    private static final String EXPIRY_TIMERS_METRIC = "booking.expiry.timers";
+
+    @Mock
+    private BookingJobRunner bookingJobRunner;
+    @Mock
+    private TaskScheduler taskScheduler;
+    @Mock
+    private ScheduledFuture<?> timer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingExpirationListener bookingExpirationListener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        JobScheduler jobScheduler = new JobScheduler(bookingJobRunner, taskScheduler, meterRegistry);
+        bookingExpirationListener = new BookingExpirationListener(jobScheduler);
+
+        doReturn(timer).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        bookingExpirationListener.onBookingCreated(BookingCreatedEvent.builder()
+                .booking(getMockBooking(AWAITING_PAYMENT))
+                .build());
+    }
+
+    @Test
+    void onBookingStatusUpdated_withPaymentConfirmed_cancelsTimer() {
+        // Arrange
+        when(timer.cancel(false)).thenReturn(true);
+
+        // Act
+        bookingExpirationListener.onBookingStatusUpdated(
+                new BookingStatusUpdatedEvent(getMockBooking(PAYMENT_CONFIRMED), null));
+
+        // Assert
+        verify(timer).cancel(false);
+        assertEquals(1.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "cancelled").count());
+    }
+
+    @Test
+    void onBookingStatusUpdated_withExpired_cancelsTimer() {
+        // Arrange
+        when(timer.cancel(false)).thenReturn(true);
+
+        // Act
+        bookingExpirationListener.onBookingStatusUpdated(
+                new BookingStatusUpdatedEvent(getMockBooking(EXPIRED), null));
+
+        // Assert
+        verify(timer).cancel(false);
+        assertEquals(1.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "cancelled").count());
+    }
+
+    @Test
+    void onBookingStatusUpdated_withBookingStillAwaitingPayment_keepsTimer() {
+        // Act
+        bookingExpirationListener.onBookingStatusUpdated(
+                new BookingStatusUpdatedEvent(getMockBooking(PAYMENT_RETRY), null));
+
+        // Assert
+        verify(timer, never()).cancel(anyBoolean());
+        assertEquals(0.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "cancelled").count());
+    }
+
+    private static Booking getMockBooking(BookingStatus status) {
+        return Booking.builder()
+                .id(1L)
+                .bookingStatus(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+    }
+}
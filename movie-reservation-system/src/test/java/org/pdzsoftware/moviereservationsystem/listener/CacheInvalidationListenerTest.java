@@ -0,0 +1,112 @@
+package org.pdzsoftware.moviereservationsystem.listener;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.util.TwoTierCache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.MOVIES_CACHE;
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.MOVIE_PAGES_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+    private static final String CHANNEL = "catalog-cache-invalidations";
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private TwoTierCache twoTierCache;
+    @Mock
+    private Message message;
+
+    private CacheInvalidationListener cacheInvalidationListener;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidationListener = new CacheInvalidationListener(listenerContainer, cacheManager, CHANNEL);
+    }
+
+    @Test
+    void constructor_always_subscribesToInvalidationChannel() {
+        // Assert
+        verify(listenerContainer).addMessageListener(cacheInvalidationListener, new ChannelTopic(CHANNEL));
+    }
+
+    @Test
+    void onMessage_withMovieKey_evictsLocalEntry() {
+        // Arrange
+        when(message.getBody()).thenReturn((MOVIES_CACHE + ":1").getBytes());
+        when(cacheManager.getCache(MOVIES_CACHE)).thenReturn(twoTierCache);
+
+        // Act
+        cacheInvalidationListener.onMessage(message, null);
+
+        // Assert
+        verify(twoTierCache).evictLocal("1");
+    }
+
+    @Test
+    void onMessage_withKeyContainingColons_keepsWholeKey() {
+        // Arrange
+        when(message.getBody()).thenReturn((MOVIE_PAGES_CACHE + ":0:null:+star: wars").getBytes());
+        when(cacheManager.getCache(MOVIE_PAGES_CACHE)).thenReturn(twoTierCache);
+
+        // Act
+        cacheInvalidationListener.onMessage(message, null);
+
+        // Assert
+        verify(twoTierCache).evictLocal("0:null:+star: wars");
+    }
+
+    @Test
+    void onMessage_withClearAll_dropsEveryLocalEntry() {
+        // Arrange
+        when(message.getBody()).thenReturn((MOVIES_CACHE + ":" + TwoTierCache.CLEAR_ALL).getBytes());
+        when(cacheManager.getCache(MOVIES_CACHE)).thenReturn(twoTierCache);
+
+        // Act
+        cacheInvalidationListener.onMessage(message, null);
+
+        // Assert
+        verify(twoTierCache).evictLocal(TwoTierCache.CLEAR_ALL);
+    }
+
+    @Test
+    void onMessage_withLocalOnlyCache_leavesItAlone() {
+        // Arrange
+        ConcurrentMapCache localOnlyCache = new ConcurrentMapCache("session-details");
+        localOnlyCache.put("1", "session");
+
+        when(message.getBody()).thenReturn("session-details:1".getBytes());
+        when(cacheManager.getCache("session-details")).thenReturn(localOnlyCache);
+
+        // Act
+        cacheInvalidationListener.onMessage(message, null);
+
+        // Assert
+        assertEquals("session", localOnlyCache.get("1", String.class));
+    }
+
+    @Test
+    void onMessage_withMalformedMessage_ignoresIt() {
+        // Arrange
+        when(message.getBody()).thenReturn("garbage".getBytes());
+
+        // Act
+        cacheInvalidationListener.onMessage(message, null);
+
+        // Assert
+        verifyNoInteractions(cacheManager);
+    }
+}
@@ -0,0 +1,342 @@
+package org.pdzsoftware.moviereservationsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.pdzsoftware.moviereservationsystem.dto.request.BookingRequest;
+import org.pdzsoftware.moviereservationsystem.dto.request.SignupRequest;
+import org.pdzsoftware.moviereservationsystem.dto.response.BookingResponse;
+import org.pdzsoftware.moviereservationsystem.enums.Language;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+import org.pdzsoftware.moviereservationsystem.enums.SeatType;
+import org.pdzsoftware.moviereservationsystem.model.*;
+import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
+import org.pdzsoftware.moviereservationsystem.service.SeatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.PAYMENT_CONFIRMED;
+
+/**
+ * Drives the whole booking flow (signup, seat holds, booking, payment and webhooks) against H2,
+ * a local Redis and the simulated payment provider, then reports throughput and latency percentiles.
+ * Excluded from the default build, run it with {@code mvn test -Ploadtest}, optionally tuning
+ * {@code -Dloadtest.users}, {@code -Dloadtest.concurrency} and {@code -Dloadtest.provider-latency-ms}.
+ */
+@Slf4j
+@Tag("loadtest")
+@ActiveProfiles("simulated-payments")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.flyway.enabled=false",
+                "spring.data.redis.host=${loadtest.redis-host:localhost}",
+                "spring.data.redis.port=${loadtest.redis-port:6379}",
+                "stripe.webhook-secret=whsec_loadtest",
+                "app.jwt.issuer=loadtest",
+                "app.jwt.audience=loadtest",
+                "app.jwt.access-token.expiration-ms=900000",
+                "app.jwt.refresh-token.expiration-ms=86400000",
+                "app.jwt.websocket-token.expiration-ms=60000",
+                "app.payments.simulated.latency-ms=${loadtest.provider-latency-ms:80}",
+                "app.payments.simulated.latency-jitter-ms=${loadtest.provider-latency-jitter-ms:40}",
+                "app.payments.simulated.failure-rate=${loadtest.provider-failure-rate:0.0}",
+                "app.payments.simulated.payment-failure-rate=${loadtest.payment-failure-rate:0.0}"
+        }
+)
+class BookingFlowLoadTest {
+    private static final int USERS = Integer.getInteger("loadtest.users", 100);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final int SEATS_PER_BOOKING = Integer.getInteger("loadtest.seats-per-booking", 2);
+    private static final int SEATS_PER_ROW = 20;
+    private static final Duration CONFIRMATION_TIMEOUT = Duration.ofSeconds(30);
+    private static final String PASSWORD = "LoadTest123";
+
+    private static final List<String> STEPS = List.of("signup", "hold", "booking", "payment", "confirmation", "journey");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private SeatService seatService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManager entityManager;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, Queue<Long>> latenciesByStep = new ConcurrentHashMap<>();
+
+    @DynamicPropertySource
+    static void jwtKeys(DynamicPropertyRegistry registry) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        registry.add("app.jwt.keys.public", () -> Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        registry.add("app.jwt.keys.private", () -> Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+    }
+
+    @Test
+    void bookingFlow_withConcurrentUsers_confirmsBookingsAndReportsLatencies() throws Exception {
+        // Arrange
+        SeededSession session = seedSession(USERS * SEATS_PER_BOOKING);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+
+        // Act
+        long start = System.nanoTime();
+
+        List<Future<Boolean>> journeys = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            List<Long> seatIds = session.getSeatIds().subList(i * SEATS_PER_BOOKING, (i + 1) * SEATS_PER_BOOKING);
+            int userIndex = i;
+            journeys.add(executor.submit(() -> runUserJourney(userIndex, session.getId(), seatIds)));
+        }
+
+        int confirmed = 0;
+        for (Future<Boolean> journey : journeys) {
+            if (journey.get()) confirmed++;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        // Assert
+        report(confirmed, elapsedNanos);
+        assertThat(confirmed).isGreaterThanOrEqualTo((int) (USERS * 0.95));
+    }
+
+    private boolean runUserJourney(int userIndex, Long sessionId, List<Long> seatIds) {
+        long journeyStart = System.nanoTime();
+        try {
+            SignedUpUser user = timed("signup", () -> signup(userIndex));
+
+            // Holds normally arrive over the websocket, so they are placed through the seat service directly
+            timed("hold", () -> {
+                seatIds.forEach(seatId -> seatService.reserveInCache(user.getId(), sessionId, seatId));
+                return null;
+            });
+
+            BookingResponse booking = timed("booking", () -> createBooking(user, sessionId, seatIds));
+            timed("payment", () -> post(booking.getCheckoutUrl(), null, null));
+            timed("confirmation", () -> awaitConfirmation(booking.getBookingId()));
+
+            record("journey", System.nanoTime() - journeyStart);
+            return true;
+        } catch (Exception ex) {
+            log.error("[BookingFlowLoadTest] Journey failed for user: {}", userIndex, ex);
+            return false;
+        }
+    }
+
+    private SignedUpUser signup(int userIndex) throws Exception {
+        SignupRequest request = new SignupRequest("user" + userIndex, "loadtest" + userIndex + "@example.com", PASSWORD);
+        HttpResponse<String> response = post(url("/api/auth/signup"), null, request);
+
+        String accessToken = response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("accessToken="))
+                .map(cookie -> cookie.substring("accessToken=".length(), cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Signup returned no access token"));
+
+        return new SignedUpUser(Long.valueOf(response.body()), accessToken);
+    }
+
+    private BookingResponse createBooking(SignedUpUser user, Long sessionId, List<Long> seatIds) throws Exception {
+        BookingRequest request = new BookingRequest(
+                sessionId, new HashSet<>(seatIds), "http://localhost:3000/success", "http://localhost:3000/cancel"
+        );
+        HttpResponse<String> response = post(url("/api/bookings"), user.getAccessToken(), request);
+        return objectMapper.readValue(response.body(), BookingResponse.class);
+    }
+
+    // Confirmation is driven by the simulated webhooks, so this measures the provider-to-database path
+    private Void awaitConfirmation(Long bookingId) throws Exception {
+        long deadline = System.nanoTime() + CONFIRMATION_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            boolean isConfirmed = bookingRepository.findById(bookingId)
+                    .map(booking -> booking.getBookingStatus() == PAYMENT_CONFIRMED)
+                    .orElse(false);
+            if (isConfirmed) return null;
+
+            Thread.sleep(20);
+        }
+
+        throw new TimeoutException("Booking with ID: " + bookingId + " was not confirmed in time");
+    }
+
+    private HttpResponse<String> post(String url, String accessToken, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+
+        if (accessToken != null) {
+            request.header("Cookie", "accessToken=" + accessToken);
+        }
+
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(url + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private <T> T timed(String step, Callable<T> action) throws Exception {
+        long start = System.nanoTime();
+        T result = action.call();
+        record(step, System.nanoTime() - start);
+        return result;
+    }
+
+    private void record(String step, long elapsedNanos) {
+        latenciesByStep.computeIfAbsent(step, key -> new ConcurrentLinkedQueue<>()).add(elapsedNanos);
+    }
+
+    private void report(int confirmed, long elapsedNanos) {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+
+        StringBuilder report = new StringBuilder()
+                .append(String.format("%nBooking flow load test: %d users, concurrency %d%n", USERS, CONCURRENCY))
+                .append(String.format("Confirmed %d/%d bookings in %.2fs, throughput %.1f bookings/s%n",
+                        confirmed, USERS, elapsedSeconds, confirmed / elapsedSeconds))
+                .append(String.format("%-14s %8s %10s %10s %10s %10s%n", "step", "count", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+
+        for (String step : STEPS) {
+            List<Long> latencies = new ArrayList<>(latenciesByStep.getOrDefault(step, new ConcurrentLinkedQueue<>()));
+            if (latencies.isEmpty()) continue;
+
+            Collections.sort(latencies);
+            report.append(String.format("%-14s %8d %10.1f %10.1f %10.1f %10.1f%n", step, latencies.size(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.95),
+                    percentile(latencies, 0.99), latencies.get(latencies.size() - 1) / 1_000_000.0));
+        }
+
+        log.info(report.toString());
+    }
+
+    private static double percentile(List<Long> sortedLatencies, double quantile) {
+        int index = (int) Math.ceil(quantile * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+
+    private SeededSession seedSession(int seatCount) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+
+            Theater theater = Theater.builder()
+                    .theaterName("Load Test Theater")
+                    .fullAddressLine("1 Load Test Street")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .screens(new ArrayList<>())
+                    .build();
+
+            Screen screen = Screen.builder()
+                    .screenName("Screen 1")
+                    .theater(theater)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .seats(new ArrayList<>())
+                    .sessions(new ArrayList<>())
+                    .build();
+            theater.getScreens().add(screen);
+
+            for (int i = 0; i < seatCount; i++) {
+                screen.getSeats().add(Seat.builder()
+                        .seatRow("R" + (i / SEATS_PER_ROW + 1))
+                        .seatNumber(i % SEATS_PER_ROW + 1)
+                        .seatType(SeatType.STANDARD)
+                        .screen(screen)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .bookings(new ArrayList<>())
+                        .build());
+            }
+            entityManager.persist(theater);
+
+            Movie movie = Movie.builder()
+                    .title("Load Test Movie")
+                    .description("Seeded by the booking flow load test")
+                    .genre(MovieGenre.ACTION)
+                    .minutesDuration(120)
+                    .releaseDate(LocalDate.now())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .sessions(new ArrayList<>())
+                    .build();
+            entityManager.persist(movie);
+
+            Session session = Session.builder()
+                    .startTime(now.plusDays(1))
+                    .endTime(now.plusDays(1).plusHours(2))
+                    .audioLanguage(Language.ENGLISH)
+                    .standardSeatPrice(BigDecimal.valueOf(30))
+                    .vipSeatPrice(BigDecimal.valueOf(50))
+                    .pwdSeatPrice(BigDecimal.valueOf(15))
+                    .movie(movie)
+                    .screen(screen)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .bookings(new ArrayList<>())
+                    .build();
+            entityManager.persist(session);
+
+            List<Long> seatIds = screen.getSeats().stream().map(Seat::getId).toList();
+            return new SeededSession(session.getId(), seatIds);
+        });
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class SignedUpUser {
+        private final Long id;
+        private final String accessToken;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class SeededSession {
+        private final Long id;
+        private final List<Long> seatIds;
+    }
+}
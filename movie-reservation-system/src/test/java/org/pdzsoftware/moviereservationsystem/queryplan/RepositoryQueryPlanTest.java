@@ -0,0 +1,214 @@
+package org.pdzsoftware.moviereservationsystem.queryplan;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
+import org.pdzsoftware.moviereservationsystem.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
+
+/**
+ * Runs the repository queries against a Postgres migrated by Flyway and seeded with production shaped volumes,
+ * and fails when the plan Postgres executed for one of them scanned a large table sequentially. The scans are
+ * read from {@code pg_stat_xact_user_tables} inside the query's own transaction, so they are the ones of the
+ * actual plan with the actual bind values. Only sequential scans are caught: an index scan that walks far more
+ * entries than it returns, like a keyset condition written as ORs and applied as a filter instead of a seek, still
+ * passes. Excluded from the default build, run it with {@code mvn test -Pqueryplans}.
+ */
+@Tag("queryplans")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/queryplans/seed.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class RepositoryQueryPlanTest {
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Long USER_ID = 1_000_007L;
+    private static final Long MOVIE_ID = 1_000_042L;
+    private static final Long SESSION_ID = 1_000_123L;
+    private static final Long BOOKING_ID = 1_000_001L;
+    private static final Long SEAT_ID = 1_000_001L;
+    private static final String EMAIL = "user7@queryplans.test";
+
+    private static final List<Long> BOOKING_IDS = range(BOOKING_ID, 15);
+    private static final Set<Long> SESSION_IDS = Set.copyOf(range(SESSION_ID, 10));
+    private static final Set<Long> SEAT_IDS = Set.copyOf(range(SEAT_ID, 10));
+    private static final List<BookingStatus> LISTED_STATUSES = List.of(
+            AWAITING_PAYMENT, PAYMENT_RETRY, PAYMENT_CONFIRMED, AWAITING_CANCELLATION, CANCELLED, PAST
+    );
+
+    static {
+        // Started once for the class, before the Spring context reads the connection properties
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookedSeatRepository bookedSeatRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+    @Autowired
+    private SeatRepository seatRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void bookingRepository_queries_avoidSequentialScans() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertAll(
+                withoutSequentialScans("findDetailedByFilters", () -> bookingRepository
+                        .findDetailedByFilters(USER_ID, LISTED_STATUSES, PageRequest.of(0, 15))),
+                withoutSequentialScans("findFirstDetailedByFilters", () -> bookingRepository
+                        .findFirstDetailedByFilters(USER_ID, LISTED_STATUSES, PageRequest.of(0, 16))),
+                withoutSequentialScans("findDetailedByFiltersAfter", () -> bookingRepository
+                        .findDetailedByFiltersAfter(USER_ID, LISTED_STATUSES, 2, now, BOOKING_ID,
+                                PageRequest.of(0, 16))),
+                withoutSequentialScans("findExpiredRefsAfterId", () -> bookingRepository
+                        .findExpiredRefsAfterId(BOOKING_ID, PageRequest.of(0, 100))),
+                withoutSequentialScans("findIdsToDelete", () -> bookingRepository
+                        .findIdsToDelete(now.minusDays(1), PageRequest.of(0, 100))),
+                withoutSequentialScans("archiveByIds", () -> bookingRepository
+                        .archiveByIds(BOOKING_IDS, now)),
+                withoutSequentialScans("markBookingsAsPastBySessionIds", () -> bookingRepository
+                        .markBookingsAsPastBySessionIds(SESSION_IDS, now)),
+                withoutSequentialScans("markConfirmedBookingsAsPastIfSessionEnded", () -> bookingRepository
+                        .markConfirmedBookingsAsPastIfSessionEnded(now.minusMinutes(5), now)),
+                withoutSequentialScans("findByIdAndUserId", () -> bookingRepository
+                        .findByIdAndUserId(BOOKING_ID, USER_ID)),
+                withoutSequentialScans("updateStatusIfCurrent", () -> bookingRepository
+                        .updateStatusIfCurrent(BOOKING_ID, PAYMENT_RETRY, PAYMENT_CONFIRMED, "intent", null, now)),
+                withoutSequentialScans("updatePaymentIntentIdIfAbsent", () -> bookingRepository
+                        .updatePaymentIntentIdIfAbsent(BOOKING_ID, "intent", now)),
+                withoutSequentialScans("touchIfCurrent", () -> bookingRepository
+                        .touchIfCurrent(BOOKING_ID, PAYMENT_RETRY, now)),
+                withoutSequentialScans("findReadOnlyByIdIn", () -> bookingRepository
+                        .findReadOnlyByIdIn(BOOKING_IDS))
+        );
+    }
+
+    @Test
+    void bookedSeatRepository_queries_avoidSequentialScans() {
+        assertAll(
+                withoutSequentialScans("isAnyBooked", () -> bookedSeatRepository
+                        .isAnyBooked(SESSION_ID, SEAT_IDS)),
+                withoutSequentialScans("findTakenSeatIdsBySessionId", () -> bookedSeatRepository
+                        .findTakenSeatIdsBySessionId(SEAT_IDS, SESSION_ID)),
+                withoutSequentialScans("findTakenSeatIdsBySessionIds", () -> bookedSeatRepository
+                        .findTakenSeatIdsBySessionIds(SEAT_IDS, SESSION_IDS)),
+                withoutSequentialScans("findResponsesByBookingIds", () -> bookedSeatRepository
+                        .findResponsesByBookingIds(BOOKING_IDS)),
+                withoutSequentialScans("deleteAllByBookingIds", () -> bookedSeatRepository
+                        .deleteAllByBookingIds(BOOKING_IDS))
+        );
+    }
+
+    @Test
+    void sessionRepository_queries_avoidSequentialScans() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+
+        assertAll(
+                withoutSequentialScans("findResponsesByFilters", () -> sessionRepository
+                        .findResponsesByFilters(MOVIE_ID, now, startOfDay, startOfDay.plusDays(7), null,
+                                PageRequest.of(0, 15))),
+                withoutSequentialScans("findFirstResponsesByFilters", () -> sessionRepository
+                        .findFirstResponsesByFilters(MOVIE_ID, now, startOfDay, startOfDay.plusDays(7), null,
+                                PageRequest.of(0, 16))),
+                withoutSequentialScans("findResponsesByFiltersAfter", () -> sessionRepository
+                        .findResponsesByFiltersAfter(MOVIE_ID, now, startOfDay, startOfDay.plusDays(7), null,
+                                now.plusDays(1), SESSION_ID, PageRequest.of(0, 16))),
+                withoutSequentialScans("findResponsesByBookingIds", () -> sessionRepository
+                        .findResponsesByBookingIds(BOOKING_IDS)),
+                withoutSequentialScans("findIdByBookingId", () -> sessionRepository
+                        .findIdByBookingId(BOOKING_ID)),
+                withoutSequentialScans("findLayoutRowsById", () -> sessionRepository
+                        .findLayoutRowsById(SESSION_ID)),
+                withoutSequentialScans("findEndedAfter", () -> sessionRepository
+                        .findEndedAfter(now.minusDays(1), SESSION_ID, now, PageRequest.of(0, 100))),
+                withoutSequentialScans("findMovieIdsWithSessionsChangedAfter", () -> sessionRepository
+                        .findMovieIdsWithSessionsChangedAfter(now.minusMinutes(1)))
+        );
+    }
+
+    @Test
+    void seatAndUserRepositories_queries_avoidSequentialScans() {
+        assertAll(
+                withoutSequentialScans("existsByIdAndSessionId", () -> seatRepository
+                        .existsByIdAndSessionId(SEAT_ID, SESSION_ID)),
+                withoutSequentialScans("findAllByIds", () -> seatRepository
+                        .findAllByIds(SEAT_IDS, SESSION_ID)),
+                withoutSequentialScans("findIdsBySessionId", () -> seatRepository
+                        .findIdsBySessionId(SESSION_ID)),
+                withoutSequentialScans("findIdsBySessionIds", () -> seatRepository
+                        .findIdsBySessionIds(SESSION_IDS)),
+                withoutSequentialScans("findIdsByBookingId", () -> seatRepository
+                        .findIdsByBookingId(BOOKING_ID)),
+                withoutSequentialScans("findByEmail", () -> userRepository
+                        .findByEmail(EMAIL)),
+                withoutSequentialScans("existsByEmail", () -> userRepository
+                        .existsByEmail(EMAIL)),
+                withoutSequentialScans("findIdByBookingId", () -> userRepository
+                        .findIdByBookingId(BOOKING_ID)),
+                withoutSequentialScans("findProfileById", () -> userRepository
+                        .findProfileById(USER_ID))
+        );
+    }
+
+    // Runs the query in its own transaction, rolled back so updates and deletes don't change the seeded data
+    private Executable withoutSequentialScans(String query, Runnable call) {
+        return () -> {
+            List<String> scannedTables = transactionTemplate.execute(status -> {
+                status.setRollbackOnly();
+                call.run();
+
+                return jdbcTemplate.queryForList("""
+                            SELECT relname
+                            FROM pg_stat_xact_user_tables
+                            WHERE seq_scan > 0
+                            AND relname IN ('tb_booking', 'tb_booked_seat', 'tb_session', 'tb_seat', 'tb_user')
+                        """, String.class);
+            });
+
+            assertThat(scannedTables)
+                    .as("Tables scanned sequentially by %s", query)
+                    .isEmpty();
+        };
+    }
+
+    private static List<Long> range(Long firstId, int count) {
+        return LongStream.range(firstId, firstId + count).boxed().toList();
+    }
+}
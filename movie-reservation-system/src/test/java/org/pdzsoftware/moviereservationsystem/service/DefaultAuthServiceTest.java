@@ -11,10 +11,13 @@ import org.pdzsoftware.moviereservationsystem.dto.request.SignupRequest;
 import org.pdzsoftware.moviereservationsystem.enums.UserRole;
 import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
+import org.pdzsoftware.moviereservationsystem.model.RefreshToken;
 import org.pdzsoftware.moviereservationsystem.model.User;
+import org.pdzsoftware.moviereservationsystem.repository.RefreshTokenRepository;
 import org.pdzsoftware.moviereservationsystem.repository.UserRepository;
 import org.pdzsoftware.moviereservationsystem.service.impl.DefaultAuthService;
 import org.pdzsoftware.moviereservationsystem.util.JwtUtils;
+import org.pdzsoftware.moviereservationsystem.util.TokenDigests;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
@@ -31,9 +34,14 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultAuthServiceTest {
+    private static final String TOKEN_ID = "token-id";
+    private static final String TOKEN_HASH = TokenDigests.sha256Hex(TOKEN_ID);
+
     @Mock
     private UserRepository userRepository;
     @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
     private AuthenticationManager authManager;
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -46,46 +54,47 @@ class DefaultAuthServiceTest {
     void isAuthenticated_withActiveToken_returnsTrue() {
         // Arrange
         String refreshToken = "refresh-token";
-        when(jwtUtils.isJwtValid(refreshToken)).thenReturn(true);
-        when(userRepository.findByRefreshToken(refreshToken)).thenReturn(Optional.of(getMockUser()));
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(TOKEN_ID);
+        when(refreshTokenRepository.existsByTokenHash(TOKEN_HASH)).thenReturn(true);
 
         // Act
         boolean isAuthenticated = authService.isAuthenticated(refreshToken);
 
         // Assert
         assertTrue(isAuthenticated);
-        verify(jwtUtils).isJwtValid(refreshToken);
-        verify(userRepository).findByRefreshToken(refreshToken);
+        verify(jwtUtils).getValidTokenId(refreshToken);
+        verify(refreshTokenRepository).existsByTokenHash(TOKEN_HASH);
     }
 
     @Test
     void isAuthenticated_withInvalidToken_returnsFalse() {
         // Arrange
         String refreshToken = "refresh-token";
-        when(jwtUtils.isJwtValid(refreshToken)).thenReturn(false);
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(null);
 
         // Act
         boolean isAuthenticated = authService.isAuthenticated(refreshToken);
 
         // Assert
         assertFalse(isAuthenticated);
-        verify(jwtUtils).isJwtValid(refreshToken);
+        verify(jwtUtils).getValidTokenId(refreshToken);
+        verifyNoInteractions(refreshTokenRepository);
     }
 
     @Test
     void isAuthenticated_withRevokedToken_returnsFalse() {
         // Arrange
         String refreshToken = "refresh-token";
-        when(jwtUtils.isJwtValid(refreshToken)).thenReturn(true);
-        when(userRepository.findByRefreshToken(refreshToken)).thenReturn(Optional.empty());
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(TOKEN_ID);
+        when(refreshTokenRepository.existsByTokenHash(TOKEN_HASH)).thenReturn(false);
 
         // Act
         boolean isAuthenticated = authService.isAuthenticated(refreshToken);
 
         // Assert
         assertFalse(isAuthenticated);
-        verify(jwtUtils).isJwtValid(refreshToken);
-        verify(userRepository).findByRefreshToken(refreshToken);
+        verify(jwtUtils).getValidTokenId(refreshToken);
+        verify(refreshTokenRepository).existsByTokenHash(TOKEN_HASH);
     }
 
     @Test
@@ -131,7 +140,7 @@ class DefaultAuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(getMockUser());
 
         when(jwtUtils.generateAccessToken(any(User.class))).thenReturn("access-token");
-        when(jwtUtils.generateRefreshToken(any(User.class))).thenReturn("refresh-token");
+        when(jwtUtils.generateRefreshToken(any(User.class), anyString())).thenReturn("refresh-token");
         when(jwtUtils.getAccessTokenExpirationMs()).thenReturn(300_000);
         when(jwtUtils.getRefreshTokenExpirationMs()).thenReturn(86_400_000);
 
@@ -147,10 +156,11 @@ class DefaultAuthServiceTest {
         assertEquals(86_400_000, authTokens.getRefreshTokenExpirationMs());
 
         verify(jwtUtils).generateAccessToken(any(User.class));
-        verify(jwtUtils).generateRefreshToken(any(User.class));
+        verify(jwtUtils).generateRefreshToken(any(User.class), anyString());
         verify(userRepository).existsByEmail(request.getEmail().toLowerCase());
         verify(passwordEncoder).encode(request.getPassword());
-        verify(userRepository, times(2)).save(any(User.class));
+        verify(userRepository).save(any(User.class));
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
     }
 
     @Test
@@ -174,12 +184,10 @@ class DefaultAuthServiceTest {
         when(userRepository.findByEmail(any())).thenReturn(Optional.of(getMockUser()));
 
         when(jwtUtils.generateAccessToken(any(User.class))).thenReturn("access-token");
-        when(jwtUtils.generateRefreshToken(any(User.class))).thenReturn("refresh-token");
+        when(jwtUtils.generateRefreshToken(any(User.class), anyString())).thenReturn("refresh-token");
         when(jwtUtils.getAccessTokenExpirationMs()).thenReturn(300_000);
         when(jwtUtils.getRefreshTokenExpirationMs()).thenReturn(86_400_000);
 
-        when(userRepository.save(any(User.class))).thenReturn(getMockUser());
-
         // Act
         AuthTokensDto authTokens = authService.login(request);
 
@@ -194,8 +202,9 @@ class DefaultAuthServiceTest {
         verify(authManager).authenticate(any(Authentication.class));
         verify(userRepository).findByEmail(request.getEmail().toLowerCase());
         verify(jwtUtils).generateAccessToken(any(User.class));
-        verify(jwtUtils).generateRefreshToken(any(User.class));
-        verify(userRepository).save(any(User.class));
+        verify(jwtUtils).generateRefreshToken(any(User.class), anyString());
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -228,19 +237,18 @@ class DefaultAuthServiceTest {
     }
 
     @Test
-    void refreshToken_withValidToken_returnsAuthTokens() {
+    void refreshToken_withValidToken_rotatesTokenAndReturnsAuthTokens() {
         // Arrange
         String refreshToken = "refresh-token";
-        when(jwtUtils.isJwtValid(refreshToken)).thenReturn(true);
-        when(userRepository.findByRefreshToken(refreshToken)).thenReturn(Optional.of(getMockUser()));
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(TOKEN_ID);
+        when(refreshTokenRepository.findByTokenHash(TOKEN_HASH)).thenReturn(Optional.of(getMockRefreshToken()));
+        when(refreshTokenRepository.deleteByTokenHash(TOKEN_HASH)).thenReturn(1);
 
         when(jwtUtils.generateAccessToken(any(User.class))).thenReturn("access-token2");
-        when(jwtUtils.generateRefreshToken(any(User.class))).thenReturn("refresh-token2");
+        when(jwtUtils.generateRefreshToken(any(User.class), anyString())).thenReturn("refresh-token2");
         when(jwtUtils.getAccessTokenExpirationMs()).thenReturn(300_000);
         when(jwtUtils.getRefreshTokenExpirationMs()).thenReturn(86_400_000);
 
-        when(userRepository.save(any(User.class))).thenReturn(getMockUser());
-
         // Act
         AuthTokensDto authTokens = authService.refreshToken(refreshToken);
 
@@ -252,69 +260,83 @@ class DefaultAuthServiceTest {
         assertEquals(300_000, authTokens.getAccessTokenExpirationMs());
         assertEquals(86_400_000, authTokens.getRefreshTokenExpirationMs());
 
-        verify(jwtUtils).isJwtValid(refreshToken);
-        verify(userRepository).findByRefreshToken(refreshToken);
+        verify(jwtUtils).getValidTokenId(refreshToken);
+        verify(refreshTokenRepository).deleteByTokenHash(TOKEN_HASH);
         verify(jwtUtils).generateAccessToken(any(User.class));
-        verify(jwtUtils).generateRefreshToken(any(User.class));
-        verify(userRepository).save(any(User.class));
+        verify(jwtUtils).generateRefreshToken(any(User.class), anyString());
+        verify(refreshTokenRepository).save(argThat(savedToken ->
+                savedToken.getTokenHash().length() == 64 && !TOKEN_HASH.equals(savedToken.getTokenHash())));
     }
 
     @Test
     void refreshToken_withInvalidToken_throwsUnauthorizedException() {
         // Arrange
         String refreshToken = "refresh-token";
-        when(jwtUtils.isJwtValid(refreshToken)).thenReturn(false);
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(null);
 
         // Act & Assert
         assertThatThrownBy(() -> authService.refreshToken(refreshToken))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(jwtUtils).isJwtValid(refreshToken);
+        verify(jwtUtils).getValidTokenId(refreshToken);
+        verifyNoInteractions(refreshTokenRepository);
     }
 
     @Test
     void refreshToken_withRevokedToken_throwsUnauthorizedException() {
         // Arrange
         String refreshToken = "refresh-token";
-        when(jwtUtils.isJwtValid(refreshToken)).thenReturn(true);
-        when(userRepository.findByRefreshToken(refreshToken)).thenReturn(Optional.empty());
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(TOKEN_ID);
+        when(refreshTokenRepository.findByTokenHash(TOKEN_HASH)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.refreshToken(refreshToken))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository).findByTokenHash(TOKEN_HASH);
+        verify(refreshTokenRepository, never()).deleteByTokenHash(anyString());
+    }
+
+    @Test
+    void refreshToken_withTokenUsedConcurrently_throwsUnauthorizedException() {
+        // Arrange
+        String refreshToken = "refresh-token";
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(TOKEN_ID);
+        when(refreshTokenRepository.findByTokenHash(TOKEN_HASH)).thenReturn(Optional.of(getMockRefreshToken()));
+        when(refreshTokenRepository.deleteByTokenHash(TOKEN_HASH)).thenReturn(0);
 
         // Act & Assert
         assertThatThrownBy(() -> authService.refreshToken(refreshToken))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(jwtUtils).isJwtValid(refreshToken);
-        verify(userRepository).findByRefreshToken(refreshToken);
+        verify(jwtUtils, never()).generateRefreshToken(any(User.class), anyString());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
     }
 
     @Test
     void revokeRefreshToken_withActiveToken_revokesToken() {
         // Arrange
-        User user = getMockUserWithRefreshToken();
         String refreshToken = "refresh-token";
-        when(userRepository.findByRefreshToken(refreshToken)).thenReturn(Optional.of(user));
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(TOKEN_ID);
 
         // Act
         authService.revokeRefreshToken(refreshToken);
 
         // Assert
-        verify(userRepository).findByRefreshToken(refreshToken);
-        verify(userRepository).save(argThat(savedUser ->
-                savedUser.getRefreshToken() == null));
+        verify(refreshTokenRepository).deleteByTokenHash(TOKEN_HASH);
     }
 
     @Test
-    void revokeRefreshToken_withRevokedToken_doesNothing() {
+    void revokeRefreshToken_withInvalidToken_doesNothing() {
         // Arrange
         String refreshToken = "refresh-token";
-        when(userRepository.findByRefreshToken(refreshToken)).thenReturn(Optional.empty());
+        when(jwtUtils.getValidTokenId(refreshToken)).thenReturn(null);
 
         // Act
         authService.revokeRefreshToken(refreshToken);
 
         // Assert
-        verify(userRepository).findByRefreshToken(refreshToken);
-        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(refreshTokenRepository);
     }
 
     private static LoginRequest getMockLoginRequest() {
@@ -333,25 +355,21 @@ class DefaultAuthServiceTest {
                 .userName("test")
                 .email("TeSt@eXaMpLe.com")
                 .passwordHash("091i0dqww$@!#")
-                .refreshToken(null)
                 .userRole(UserRole.CUSTOMER)
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
     }
 
-    private static User getMockUserWithRefreshToken() {
+    private static RefreshToken getMockRefreshToken() {
         LocalDateTime now = LocalDateTime.now();
 
-        return User.builder()
+        return RefreshToken.builder()
                 .id(1L)
-                .userName("test")
-                .email("test@example.com")
-                .passwordHash("091i0dqww$@!#")
-                .refreshToken("refresh-token")
-                .userRole(UserRole.CUSTOMER)
+                .tokenHash(TOKEN_HASH)
+                .user(getMockUser())
                 .createdAt(now)
-                .updatedAt(now)
+                .expiresAt(now.plusDays(1))
                 .build();
     }
 }
@@ -5,11 +5,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.response.BookedSeatResponse;
 import org.pdzsoftware.moviereservationsystem.repository.BookedSeatRepository;
 import org.pdzsoftware.moviereservationsystem.service.impl.DefaultBookedSeatService;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.pdzsoftware.moviereservationsystem.enums.SeatType.STANDARD;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultBookedSeatServiceTest {
@@ -19,14 +30,31 @@ class DefaultBookedSeatServiceTest {
     private DefaultBookedSeatService bookedSeatService;
 
     @Test
-    void findResponsesByBookingId_always_callsRepositoryWithoutAlteringArguments() {
+    void findResponsesByBookingIds_withSeatsOfSeveralBookings_groupsThemByBooking() {
         // Arrange
-        Long bookingId = 1L;
+        List<Long> bookingIds = List.of(1L, 2L);
+
+        when(bookedSeatRepository.findResponsesByBookingIds(bookingIds)).thenReturn(List.of(
+                new BookedSeatResponse(10L, "A", 1, STANDARD, BigDecimal.TEN, 1L),
+                new BookedSeatResponse(11L, "A", 2, STANDARD, BigDecimal.TEN, 1L),
+                new BookedSeatResponse(12L, "B", 1, STANDARD, BigDecimal.TEN, 2L)
+        ));
+
+        // Act
+        Map<Long, List<BookedSeatResponse>> seatsByBookingId = bookedSeatService.findResponsesByBookingIds(bookingIds);
 
+        // Assert
+        assertEquals(2, seatsByBookingId.get(1L).size());
+        assertEquals(1, seatsByBookingId.get(2L).size());
+    }
+
+    @Test
+    void findResponsesByBookingIds_withNoBookingIds_skipsQuery() {
         // Act
-        bookedSeatService.findResponsesByBookingId(bookingId);
+        Map<Long, List<BookedSeatResponse>> seatsByBookingId = bookedSeatService.findResponsesByBookingIds(List.of());
 
         // Assert
-        verify(bookedSeatRepository).findResponseByBookingId(bookingId);
+        assertTrue(seatsByBookingId.isEmpty());
+        verify(bookedSeatRepository, never()).findResponsesByBookingIds(any());
     }
 }
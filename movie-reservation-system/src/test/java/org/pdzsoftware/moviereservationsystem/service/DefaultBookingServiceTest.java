@@ -1,12 +1,15 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
 import org.pdzsoftware.moviereservationsystem.enums.BookingStatus;
 import org.pdzsoftware.moviereservationsystem.enums.Language;
 import org.pdzsoftware.moviereservationsystem.enums.SeatType;
@@ -14,6 +17,7 @@ import org.pdzsoftware.moviereservationsystem.enums.UserRole;
 import org.pdzsoftware.moviereservationsystem.model.*;
 import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
 import org.pdzsoftware.moviereservationsystem.service.impl.DefaultBookingService;
+import org.pdzsoftware.moviereservationsystem.util.CursorCodec;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -26,6 +30,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
@@ -34,6 +39,8 @@ import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
 class DefaultBookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec(new ObjectMapper());
     @InjectMocks
     private DefaultBookingService bookingService;
 
@@ -175,6 +182,32 @@ class DefaultBookingServiceTest {
         assertEquals(getValidStatuses(), statusesCaptor.getValue());
     }
 
+    @Test
+    void findDetailedAfter_withMoreRowsThanSlice_seeksPastRankTimeAndIdOfLastRow() {
+        // Arrange
+        LocalDateTime sortTime = LocalDateTime.of(2030, 1, 1, 20, 0);
+        List<BookingDetailedResponse> bookings = new ArrayList<>();
+
+        for (long id = 1; id <= 16; id++) {
+            bookings.add(new BookingDetailedResponse(id, CANCELLED, BigDecimal.TEN, null, null,
+                    sortTime, sortTime, null, null, sortTime.minusMinutes(id)));
+        }
+
+        when(bookingRepository.findFirstDetailedByFilters(any(Long.class), any(), any(Pageable.class)))
+                .thenReturn(bookings);
+
+        // Act
+        CursorSliceResponse<BookingDetailedResponse> slice = bookingService.findDetailedAfter(1L, null, null);
+        bookingService.findDetailedAfter(1L, null, slice.getNextCursor());
+
+        // Assert
+        assertEquals(15, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        verify(bookingRepository).findFirstDetailedByFilters(eq(1L), eq(getValidStatuses()), any(Pageable.class));
+        verify(bookingRepository).findDetailedByFiltersAfter(eq(1L), eq(getValidStatuses()), eq(4),
+                eq(sortTime.minusMinutes(15)), eq(15L), any(Pageable.class));
+    }
+
     private static User getMockUser() {
         LocalDateTime now = LocalDateTime.now();
 
@@ -183,7 +216,6 @@ class DefaultBookingServiceTest {
                 .userName("test")
                 .email("TeSt@eXaMpLe.com")
                 .passwordHash("091i0dqww$@!#")
-                .refreshToken("refresh-token")
                 .userRole(UserRole.CUSTOMER)
                 .createdAt(now)
                 .updatedAt(now)
@@ -2,7 +2,6 @@ package org.pdzsoftware.moviereservationsystem.service;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -20,6 +19,7 @@ import java.time.LocalDateTime;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.*;
 
@@ -36,16 +36,16 @@ class DefaultBookingStatusServiceTest {
     void validateAndUpdateStatus_withValidStatusChange_updatesStatusAndPublishesEvent() {
         // Arrange
         Booking booking = getMockBooking();
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
-        bookingService.validateAndUpdateStatus(booking, AWAITING_CANCELLATION);
+        boolean updated = bookingService.validateAndUpdateStatus(booking, AWAITING_CANCELLATION);
 
         // Assert
-        assertEquals(AWAITING_CANCELLATION, bookingCaptor.getValue().getBookingStatus());
-        verify(bookingRepository).save(any(Booking.class));
+        assertTrue(updated);
+        assertEquals(AWAITING_CANCELLATION, booking.getBookingStatus());
+        verify(bookingRepository).updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any());
         verify(eventPublisher).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -58,12 +58,29 @@ class DefaultBookingStatusServiceTest {
         assertThatThrownBy(() -> bookingService.validateAndUpdateStatus(booking, AWAITING_PAYMENT))
                 .isInstanceOf(ConflictException.class);
 
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
     @Test
-    void handleCheckoutCompleted_withOutdatedBooking_updatesAndSavesPaymentIntentId() {
+    void validateAndUpdateStatus_withConcurrentlyChangedStatus_returnsFalseWithoutEvent() {
+        // Arrange
+        Booking booking = getMockBooking();
+
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), eq(PAYMENT_CONFIRMED), eq(AWAITING_CANCELLATION),
+                any(), any(), any())).thenReturn(0);
+
+        // Act
+        boolean updated = bookingService.validateAndUpdateStatus(booking, AWAITING_CANCELLATION);
+
+        // Assert
+        assertFalse(updated);
+        assertEquals(PAYMENT_CONFIRMED, booking.getBookingStatus());
+        verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
+    }
+
+    @Test
+    void handleCheckoutCompleted_withOutdatedBooking_updatesPaymentIntentId() {
         // Arrange
         Booking booking = getMockBooking();
         booking.setPaymentIntentId(null);
@@ -71,15 +88,14 @@ class DefaultBookingStatusServiceTest {
         String checkoutId = "checkout-id";
         String paymentIntentId = "payment-intent-id";
 
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updatePaymentIntentIdIfAbsent(eq(1L), any(), any())).thenReturn(1);
 
         // Act
         bookingService.handleCheckoutCompleted(booking, checkoutId, paymentIntentId);
 
         // Assert
-        assertEquals(paymentIntentId, bookingCaptor.getValue().getPaymentIntentId());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(paymentIntentId, booking.getPaymentIntentId());
+        verify(bookingRepository).updatePaymentIntentIdIfAbsent(eq(1L), eq(paymentIntentId), any());
     }
 
     @Test
@@ -95,7 +111,7 @@ class DefaultBookingStatusServiceTest {
         assertThatThrownBy(() -> bookingService.handleCheckoutCompleted(booking, checkoutId, paymentIntentId))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -110,7 +126,7 @@ class DefaultBookingStatusServiceTest {
         bookingService.handleCheckoutCompleted(booking, checkoutId, paymentIntentId);
 
         // Assert
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -120,16 +136,15 @@ class DefaultBookingStatusServiceTest {
         booking.setBookingStatus(AWAITING_PAYMENT);
 
         String checkoutId = "checkout-id";
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
         bookingService.handleCheckoutExpired(booking, checkoutId);
 
         // Assert
-        assertEquals(EXPIRED, bookingCaptor.getValue().getBookingStatus());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(EXPIRED, booking.getBookingStatus());
+        verify(bookingRepository).updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any());
         verify(eventPublisher).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -145,7 +160,7 @@ class DefaultBookingStatusServiceTest {
         assertThatThrownBy(() -> bookingService.handleCheckoutExpired(booking, checkoutId))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -161,7 +176,7 @@ class DefaultBookingStatusServiceTest {
         bookingService.handleCheckoutExpired(booking, checkoutId);
 
         // Assert
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -173,17 +188,16 @@ class DefaultBookingStatusServiceTest {
         booking.setBookingStatus(AWAITING_PAYMENT);
 
         String paymentIntentId = "payment-intent-id";
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
         bookingService.handlePaymentSuccess(booking, paymentIntentId);
 
         // Assert
-        assertEquals(paymentIntentId, bookingCaptor.getValue().getPaymentIntentId());
-        assertEquals(PAYMENT_CONFIRMED, bookingCaptor.getValue().getBookingStatus());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(paymentIntentId, booking.getPaymentIntentId());
+        assertEquals(PAYMENT_CONFIRMED, booking.getBookingStatus());
+        verify(bookingRepository).updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any());
         verify(eventPublisher).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -194,17 +208,16 @@ class DefaultBookingStatusServiceTest {
         booking.setBookingStatus(AWAITING_PAYMENT);
 
         String paymentIntentId = "payment-intent-id";
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
         bookingService.handlePaymentSuccess(booking, paymentIntentId);
 
         // Assert
-        assertEquals(paymentIntentId, bookingCaptor.getValue().getPaymentIntentId());
-        assertEquals(PAYMENT_CONFIRMED, bookingCaptor.getValue().getBookingStatus());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(paymentIntentId, booking.getPaymentIntentId());
+        assertEquals(PAYMENT_CONFIRMED, booking.getBookingStatus());
+        verify(bookingRepository).updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any());
         verify(eventPublisher).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -220,7 +233,7 @@ class DefaultBookingStatusServiceTest {
         assertThatThrownBy(() -> bookingService.handlePaymentSuccess(booking, paymentIntentId))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -236,7 +249,7 @@ class DefaultBookingStatusServiceTest {
         bookingService.handlePaymentSuccess(booking, paymentIntentId);
 
         // Assert
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -248,17 +261,16 @@ class DefaultBookingStatusServiceTest {
         booking.setBookingStatus(AWAITING_PAYMENT);
 
         String paymentIntentId = "payment-intent-id";
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
         bookingService.handlePaymentFailed(booking, paymentIntentId);
 
         // Assert
-        assertEquals(paymentIntentId, bookingCaptor.getValue().getPaymentIntentId());
-        assertEquals(PAYMENT_RETRY, bookingCaptor.getValue().getBookingStatus());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(paymentIntentId, booking.getPaymentIntentId());
+        assertEquals(PAYMENT_RETRY, booking.getBookingStatus());
+        verify(bookingRepository).updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any());
         verify(eventPublisher).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -269,17 +281,16 @@ class DefaultBookingStatusServiceTest {
         booking.setBookingStatus(AWAITING_PAYMENT);
 
         String paymentIntentId = "payment-intent-id";
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
         bookingService.handlePaymentFailed(booking, paymentIntentId);
 
         // Assert
-        assertEquals(paymentIntentId, bookingCaptor.getValue().getPaymentIntentId());
-        assertEquals(PAYMENT_RETRY, bookingCaptor.getValue().getBookingStatus());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(paymentIntentId, booking.getPaymentIntentId());
+        assertEquals(PAYMENT_RETRY, booking.getBookingStatus());
+        verify(bookingRepository).updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any());
         verify(eventPublisher).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -295,12 +306,12 @@ class DefaultBookingStatusServiceTest {
         assertThatThrownBy(() -> bookingService.handlePaymentFailed(booking, paymentIntentId))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
     @Test
-    void handlePaymentFailed_withUpdatedBooking_updatesUpdatedAtFieldAndSaves() {
+    void handlePaymentFailed_withUpdatedBooking_updatesUpdatedAtField() {
         // Arrange
         Booking booking = getMockBooking();
         booking.setBookingStatus(PAYMENT_RETRY);
@@ -308,18 +319,17 @@ class DefaultBookingStatusServiceTest {
         LocalDateTime originalUpdatedAt = booking.getUpdatedAt();
 
         String paymentIntentId = "payment-intent-id";
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.touchIfCurrent(eq(1L), eq(PAYMENT_RETRY), any())).thenReturn(1);
 
         // Act
         bookingService.handlePaymentFailed(booking, paymentIntentId);
 
         // Assert
-        LocalDateTime capturedUpdatedAt = bookingCaptor.getValue().getUpdatedAt();
+        LocalDateTime updatedAt = booking.getUpdatedAt();
 
-        assertNotNull(capturedUpdatedAt);
-        assertTrue(capturedUpdatedAt.isAfter(originalUpdatedAt));
+        assertNotNull(updatedAt);
+        assertTrue(updatedAt.isAfter(originalUpdatedAt));
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -330,16 +340,15 @@ class DefaultBookingStatusServiceTest {
         booking.setBookingStatus(AWAITING_CANCELLATION);
 
         String refundId = "refund-id";
-        ArgumentCaptor<Booking> bookingCaptor = ArgumentCaptor.forClass(Booking.class);
 
-        when(bookingRepository.save(bookingCaptor.capture())).thenReturn(new Booking());
+        when(bookingRepository.updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any())).thenReturn(1);
 
         // Act
         bookingService.handlePaymentRefunded(booking, refundId);
 
         // Assert
-        assertEquals(CANCELLED, bookingCaptor.getValue().getBookingStatus());
-        verify(bookingRepository).save(any(Booking.class));
+        assertEquals(CANCELLED, booking.getBookingStatus());
+        verify(bookingRepository).updateStatusIfCurrent(eq(1L), any(), any(), any(), any(), any());
         verify(eventPublisher).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -355,7 +364,7 @@ class DefaultBookingStatusServiceTest {
         assertThatThrownBy(() -> bookingService.handlePaymentRefunded(booking, refundId))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -371,7 +380,7 @@ class DefaultBookingStatusServiceTest {
         bookingService.handlePaymentRefunded(booking, refundId);
 
         // Assert
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(bookingRepository);
         verify(eventPublisher, never()).publishEvent(any(BookingStatusUpdatedEvent.class));
     }
 
@@ -0,0 +1,155 @@
+package org.pdzsoftware.moviereservationsystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.MovieTitleRefDto;
+import org.pdzsoftware.moviereservationsystem.repository.MovieRepository;
+import org.pdzsoftware.moviereservationsystem.service.impl.DefaultMovieSearchService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.enums.MovieGenre.*;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultMovieSearchServiceTest {
+    private static final List<MovieTitleRefDto> MOVIES = List.of(
+            new MovieTitleRefDto(1L, "The Matrix", SCI_FI),
+            new MovieTitleRefDto(2L, "The Matrix Reloaded", SCI_FI),
+            new MovieTitleRefDto(3L, "Amélie", ROMANCE),
+            new MovieTitleRefDto(4L, "Mad Max: Fury Road", ACTION),
+            new MovieTitleRefDto(5L, "Toy Story", ANIMATION)
+    );
+
+    @Mock
+    private MovieRepository movieRepository;
+    @InjectMocks
+    private DefaultMovieSearchService movieSearchService;
+
+    @Test
+    void suggest_beforeFirstRefresh_returnsEmptyList() {
+        // Act
+        List<MovieTitleRefDto> result = movieSearchService.suggest("matrix", 10);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void suggest_whenQueryIsPrefix_returnsMatchesWithShortestTitleFirst() {
+        // Arrange
+        indexMovies();
+
+        // Act
+        List<MovieTitleRefDto> result = movieSearchService.suggest("the mat", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), ids(result));
+    }
+
+    @Test
+    void suggest_whenQueryHasTypo_stillReturnsMatch() {
+        // Arrange
+        indexMovies();
+
+        // Act
+        List<MovieTitleRefDto> result = movieSearchService.suggest("toy stroy", 10);
+
+        // Assert
+        assertEquals(5L, result.get(0).getId());
+    }
+
+    @Test
+    void suggest_whenQueryHasNoAccents_matchesAccentedTitle() {
+        // Arrange
+        indexMovies();
+
+        // Act
+        List<MovieTitleRefDto> result = movieSearchService.suggest("amelie", 10);
+
+        // Assert
+        assertEquals(List.of(3L), ids(result));
+    }
+
+    @Test
+    void suggest_whenQueryIsGenre_returnsMoviesOfGenre() {
+        // Arrange
+        indexMovies();
+
+        // Act
+        List<MovieTitleRefDto> result = movieSearchService.suggest("animation", 10);
+
+        // Assert
+        assertEquals(List.of(5L), ids(result));
+    }
+
+    @Test
+    void suggest_always_respectsLimit() {
+        // Arrange
+        indexMovies();
+
+        // Act
+        List<MovieTitleRefDto> result = movieSearchService.suggest("the matrix", 1);
+
+        // Assert
+        assertEquals(List.of(1L), ids(result));
+    }
+
+    @Test
+    void suggest_whenQueryIsTooShort_returnsEmptyList() {
+        // Arrange
+        indexMovies();
+
+        // Act
+        List<MovieTitleRefDto> result = movieSearchService.suggest("t", 10);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void refreshIfChanged_whenCatalogUnchanged_doesNotReloadTitles() {
+        // Arrange
+        indexMovies();
+
+        // Act
+        movieSearchService.refreshIfChanged();
+
+        // Assert
+        verify(movieRepository, times(1)).findTitleRefs();
+    }
+
+    @Test
+    void refreshIfChanged_whenCatalogChanged_reloadsTitles() {
+        // Arrange
+        indexMovies();
+        when(movieRepository.countMovies()).thenReturn((long) MOVIES.size() + 1);
+        when(movieRepository.findTitleRefs()).thenReturn(List.of(new MovieTitleRefDto(6L, "Inception", THRILLER)));
+
+        // Act
+        movieSearchService.refreshIfChanged();
+
+        // Assert
+        verify(movieRepository, times(2)).findTitleRefs();
+        assertEquals(List.of(6L), ids(movieSearchService.suggest("incep", 10)));
+    }
+
+    private void indexMovies() {
+        when(movieRepository.countMovies()).thenReturn((long) MOVIES.size());
+        when(movieRepository.findLatestUpdatedAt()).thenReturn(Optional.of(LocalDateTime.of(2025, 1, 1, 0, 0)));
+        when(movieRepository.findTitleRefs()).thenReturn(MOVIES);
+
+        movieSearchService.refreshIfChanged();
+    }
+
+    private static List<Long> ids(List<MovieTitleRefDto> movies) {
+        return movies.stream().map(MovieTitleRefDto::getId).toList();
+    }
+}
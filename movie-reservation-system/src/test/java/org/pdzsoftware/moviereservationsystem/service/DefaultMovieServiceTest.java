@@ -1,27 +1,41 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.MovieResponse;
 import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+import org.pdzsoftware.moviereservationsystem.exception.custom.BadRequestException;
 import org.pdzsoftware.moviereservationsystem.repository.MovieRepository;
 import org.pdzsoftware.moviereservationsystem.service.impl.DefaultMovieService;
+import org.pdzsoftware.moviereservationsystem.util.CursorCodec;
 import org.springframework.data.domain.Pageable;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.pdzsoftware.moviereservationsystem.enums.MovieGenre.ACTION;
 
 @ExtendWith(MockitoExtension.class)
 class DefaultMovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec(new ObjectMapper());
     @InjectMocks
     private DefaultMovieService movieService;
 
@@ -37,18 +51,6 @@ class DefaultMovieServiceTest {
         verify(movieRepository).findResponseById(movieId);
     }
 
-    @Test
-    void findResponseBySessionId_always_callsRepositoryWithoutAlteringArguments() {
-        // Arrange
-        Long sessionId = 1L;
-
-        // Act
-        movieService.findResponseBySessionId(sessionId);
-
-        // Assert
-        verify(movieRepository).findResponseBySessionId(sessionId);
-    }
-
     @Test
     void findResponsesByFilters_withEmptyGenresList_callsRepositoryAlteringOnlyGenres() {
         // Arrange
@@ -61,7 +63,7 @@ class DefaultMovieServiceTest {
 
         // Assert
         verify(movieRepository).findResponsesByFilters(
-                eq(search), eq(null), any(LocalDateTime.class), any(Pageable.class)
+                eq(search), eq(null), any(Pageable.class)
         );
     }
 
@@ -76,7 +78,7 @@ class DefaultMovieServiceTest {
 
         // Assert
         verify(movieRepository).findResponsesByFilters(
-                eq(search), eq(null), any(LocalDateTime.class), any(Pageable.class)
+                eq(search), eq(null), any(Pageable.class)
         );
     }
 
@@ -92,7 +94,69 @@ class DefaultMovieServiceTest {
 
         // Assert
         verify(movieRepository).findResponsesByFilters(
-                eq(search), eq(genres), any(LocalDateTime.class), any(Pageable.class)
+                eq(search), eq(genres), any(Pageable.class)
         );
     }
+
+    @Test
+    void findResponsesAfter_withMoreRowsThanSlice_returnsCursorOfLastRowReturned() {
+        // Arrange
+        List<MovieResponse> movies = getMockMovies(16);
+
+        when(movieRepository.findFirstResponsesByFilters(any(), any(), any(Pageable.class)))
+                .thenReturn(movies);
+
+        // Act
+        CursorSliceResponse<MovieResponse> slice = movieService.findResponsesAfter(null, null, null);
+        movieService.findResponsesAfter(null, null, slice.getNextCursor());
+
+        // Assert
+        assertEquals(15, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        verify(movieRepository).findResponsesByFiltersAfter(
+                isNull(), isNull(), eq("Movie 15"), eq(15L), any(Pageable.class)
+        );
+    }
+
+    @Test
+    void findResponsesAfter_withLastSlice_returnsNoCursor() {
+        // Arrange
+        when(movieRepository.findFirstResponsesByFilters(any(), isNull(), any(Pageable.class)))
+                .thenReturn(getMockMovies(3));
+
+        // Act
+        CursorSliceResponse<MovieResponse> slice = movieService.findResponsesAfter(null, List.of(), null);
+
+        // Assert
+        assertEquals(3, slice.getContent().size());
+        assertFalse(slice.isHasNext());
+        assertNull(slice.getNextCursor());
+        verify(movieRepository, never()).findResponsesByFiltersAfter(any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void findResponsesAfter_withNullTitleAsLastRow_refusesToEncodeCursor() {
+        // Arrange
+        List<MovieResponse> movies = new ArrayList<>(getMockMovies(16));
+        movies.get(14).setTitle(null);
+
+        when(movieRepository.findFirstResponsesByFilters(any(), any(), any(Pageable.class)))
+                .thenReturn(movies);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> movieService.findResponsesAfter(null, null, null));
+    }
+
+    @Test
+    void findResponsesAfter_withMalformedCursor_throwsBadRequestException() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> movieService.findResponsesAfter(null, null, "not-a-cursor"));
+    }
+
+    private static List<MovieResponse> getMockMovies(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new MovieResponse(id, "Movie " + id, "Description", ACTION,
+                        120, 1L, "poster.png", LocalDate.now()))
+                .toList();
+    }
 }
@@ -45,18 +45,6 @@ class DefaultSeatServiceTest {
         verify(seatRepository).findAllByIds(seatIds, sessionId);
     }
 
-    @Test
-    void findResponsesBySessionId_always_callsRepositoryWithoutAlteringArguments() {
-        // Arrange
-        Long sessionId = 1L;
-
-        // Act
-        seatService.findResponsesBySessionId(sessionId);
-
-        // Assert
-        verify(seatRepository).findResponsesBySessionId(sessionId);
-    }
-
     @Test
     void findIdsByBookingId_always_callsRepositoryWithoutAlteringArguments() {
         // Arrange
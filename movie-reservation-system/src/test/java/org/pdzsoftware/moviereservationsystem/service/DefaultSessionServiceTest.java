@@ -1,21 +1,41 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.BookingSessionDto;
+import org.pdzsoftware.moviereservationsystem.dto.SessionLayoutRowDto;
+import org.pdzsoftware.moviereservationsystem.dto.response.CursorSliceResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.SeatResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.SessionDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.SessionResponse;
+import org.pdzsoftware.moviereservationsystem.enums.Language;
+import org.pdzsoftware.moviereservationsystem.enums.MovieGenre;
+import org.pdzsoftware.moviereservationsystem.enums.SeatType;
 import org.pdzsoftware.moviereservationsystem.repository.SessionRepository;
 import org.pdzsoftware.moviereservationsystem.service.impl.DefaultSessionService;
+import org.pdzsoftware.moviereservationsystem.util.CursorCodec;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.pdzsoftware.moviereservationsystem.service.impl.DefaultSessionService.TOLERATED_PERIOD;
@@ -24,6 +44,8 @@ import static org.pdzsoftware.moviereservationsystem.service.impl.DefaultSession
 class DefaultSessionServiceTest {
     @Mock
     private SessionRepository sessionRepository;
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec(new ObjectMapper());
     @InjectMocks
     private DefaultSessionService sessionService;
 
@@ -40,15 +62,13 @@ class DefaultSessionServiceTest {
     }
 
     @Test
-    void findResponseByBookingId_always_callsRepositoryWithoutAlteringArguments() {
-        // Arrange
-        Long bookingId = 1L;
-
+    void findResponsesByBookingIds_withNoBookingIds_skipsQuery() {
         // Act
-        sessionService.findResponseByBookingId(bookingId);
+        Map<Long, BookingSessionDto> sessionsByBookingId = sessionService.findResponsesByBookingIds(List.of());
 
         // Assert
-        verify(sessionRepository).findResponseByBookingId(bookingId);
+        assertTrue(sessionsByBookingId.isEmpty());
+        verify(sessionRepository, never()).findResponsesByBookingIds(any());
     }
 
     @Test
@@ -64,15 +84,55 @@ class DefaultSessionServiceTest {
     }
 
     @Test
-    void findDetailedResponseById_always_callsRepositoryWithoutAlteringArguments() {
+    void findDetailedResponseById_withLayoutRows_buildsSessionWithMovieAndSeats() {
+        // Arrange
+        Long sessionId = 1L;
+
+        when(sessionRepository.findLayoutRowsById(sessionId)).thenReturn(List.of(
+                getMockLayoutRow(sessionId, 10L, 1),
+                getMockLayoutRow(sessionId, 11L, 2)
+        ));
+
+        // Act
+        Optional<SessionDetailedResponse> response = sessionService.findDetailedResponseById(sessionId);
+
+        // Assert
+        assertTrue(response.isPresent());
+        assertEquals(sessionId, response.get().getId());
+        assertEquals(100L, response.get().getMovie().getId());
+        assertEquals(List.of(10L, 11L), response.get().getSeats().stream().map(SeatResponse::getId).toList());
+        assertFalse(response.get().getSeats().get(0).isTaken());
+    }
+
+    @Test
+    void findDetailedResponseById_withScreenWithoutSeats_buildsSessionWithEmptySeats() {
         // Arrange
         Long sessionId = 1L;
 
+        when(sessionRepository.findLayoutRowsById(sessionId)).thenReturn(List.of(
+                getMockLayoutRow(sessionId, null, null)
+        ));
+
         // Act
-        sessionService.findDetailedResponseById(sessionId);
+        Optional<SessionDetailedResponse> response = sessionService.findDetailedResponseById(sessionId);
 
         // Assert
-        verify(sessionRepository).findDetailedResponseById(sessionId);
+        assertTrue(response.isPresent());
+        assertTrue(response.get().getSeats().isEmpty());
+    }
+
+    @Test
+    void findDetailedResponseById_withNoRows_returnsEmptyOptional() {
+        // Arrange
+        Long sessionId = 1L;
+
+        when(sessionRepository.findLayoutRowsById(sessionId)).thenReturn(List.of());
+
+        // Act
+        Optional<SessionDetailedResponse> response = sessionService.findDetailedResponseById(sessionId);
+
+        // Assert
+        assertTrue(response.isEmpty());
     }
 
     @Test
@@ -144,6 +204,26 @@ class DefaultSessionServiceTest {
         verify(sessionRepository).existsById(sessionId);
     }
 
+    @Test
+    void findResponsesAfter_withoutCursor_readsFirstSliceAndReturnsCursorOfLastRow() {
+        // Arrange
+        List<SessionResponse> sessions = getMockSessions(16);
+
+        when(sessionRepository.findFirstResponsesByFilters(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class),
+                any(LocalDateTime.class), isNull(), any(Pageable.class))).thenReturn(sessions);
+
+        // Act
+        CursorSliceResponse<SessionResponse> slice = sessionService.findResponsesAfter(1L, null, null, null);
+        sessionService.findResponsesAfter(1L, null, null, slice.getNextCursor());
+
+        // Assert
+        assertEquals(15, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        verify(sessionRepository).findResponsesByFiltersAfter(eq(1L), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(LocalDateTime.class), isNull(),
+                eq(sessions.get(14).getStartTime()), eq(15L), any(Pageable.class));
+    }
+
     @Test
     void isExpired_whenIsExpired_returnsTrue() {
         // Act
@@ -173,4 +253,23 @@ class DefaultSessionServiceTest {
                 sessionDate.atStartOfDay() :
                 LocalDate.now().atStartOfDay();
     }
+
+    private static List<SessionResponse> getMockSessions(int count) {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withNano(0);
+
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new SessionResponse(id, startTime.plusMinutes(id), startTime.plusMinutes(id).plusHours(2),
+                        Language.ENGLISH, false, false, BigDecimal.TEN, BigDecimal.valueOf(20), BigDecimal.valueOf(5),
+                        1L, "Theater", "logo.png", "Address", "Screen 1"))
+                .toList();
+    }
+
+    private static SessionLayoutRowDto getMockLayoutRow(Long sessionId, Long seatId, Integer seatNumber) {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+
+        return new SessionLayoutRowDto(sessionId, startTime, startTime.plusHours(2), Language.ENGLISH, false, false,
+                BigDecimal.TEN, BigDecimal.valueOf(20), BigDecimal.valueOf(5), 1L, "Theater", "logo.png", "Address",
+                "Screen 1", 100L, "Movie", "Description", MovieGenre.ACTION, 120, "poster.png", LocalDate.now(),
+                seatId, seatId != null ? "A" : null, seatNumber, seatId != null ? SeatType.STANDARD : null);
+    }
 }
@@ -13,6 +13,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -383,10 +384,10 @@ class RedisSeatCacheServiceTest {
         Long sessionId = 1L;
 
         String seatKey = buildSeatKey(1L, sessionId);
-        String seatKey2 = buildSeatKey(2L, sessionId);
 
-        when(template.hasKey(seatKey)).thenReturn(true);
-        when(template.hasKey(seatKey2)).thenReturn(false);
+        when(template.opsForValue()).thenReturn(valueOps);
+        when(valueOps.multiGet(anyCollection())).thenAnswer(invocation ->
+                valuesFor(invocation.getArgument(0), Map.of(seatKey, VALUE_PREFIX + 1L)));
 
         // Act
         Set<Long> takenSeatIds = seatCacheService.findTakenIdsBySessionId(sessionId, seatIds);
@@ -401,7 +402,8 @@ class RedisSeatCacheServiceTest {
         Set<Long> seatIds = Set.of(1L, 2L, 3L);
         Long sessionId = 1L;
 
-        when(template.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("Connection Failure"));
+        when(template.opsForValue()).thenReturn(valueOps);
+        when(valueOps.multiGet(anyCollection())).thenThrow(new RedisConnectionFailureException("Connection Failure"));
 
         // Act & Assert
         assertThatThrownBy(() -> seatCacheService.findTakenIdsBySessionId(sessionId, seatIds))
@@ -420,14 +422,13 @@ class RedisSeatCacheServiceTest {
         );
 
         String seatKey = buildSeatKey(1L, sessionId);
-        String seatKey2 = buildSeatKey(2L, sessionId);
-        String seatKey3 = buildSeatKey(3L, sessionId2);
         String seatKey4 = buildSeatKey(4L, sessionId2);
 
-        when(template.hasKey(seatKey)).thenReturn(true);
-        when(template.hasKey(seatKey2)).thenReturn(false);
-        when(template.hasKey(seatKey3)).thenReturn(false);
-        when(template.hasKey(seatKey4)).thenReturn(true);
+        when(template.opsForValue()).thenReturn(valueOps);
+        when(valueOps.multiGet(anyCollection())).thenAnswer(invocation -> valuesFor(invocation.getArgument(0), Map.of(
+                seatKey, VALUE_PREFIX + 1L,
+                seatKey4, VALUE_PREFIX + 2L
+        )));
 
         // Act
         Map<Long, Set<Long>> idsMap = seatCacheService.findTakenIdsBySessionIds(seatIdsBySessionIds);
@@ -442,6 +443,29 @@ class RedisSeatCacheServiceTest {
                 fail("Unexpected key: " + key);
             }
         });
+        verify(valueOps, times(1)).multiGet(anyCollection());
+        verify(template, never()).hasKey(anyString());
+    }
+
+    @Test
+    void findTakenIdsBySessionIds_withSessionWithoutTakenSeats_returnsEmptySetForIt() {
+        // Arrange
+        Long sessionId = 1L;
+
+        when(template.opsForValue()).thenReturn(valueOps);
+        when(valueOps.multiGet(anyCollection())).thenAnswer(invocation ->
+                valuesFor(invocation.getArgument(0), Map.of()));
+
+        // Act
+        Map<Long, Set<Long>> idsMap = seatCacheService.findTakenIdsBySessionIds(Map.of(sessionId, Set.of(1L, 2L)));
+
+        // Assert
+        assertEquals(Map.of(sessionId, Set.of()), idsMap);
+    }
+
+    // MGET answers in key order, with null for absent keys
+    private static List<String> valuesFor(Collection<String> keys, Map<String, String> values) {
+        return keys.stream().map(values::get).toList();
     }
 
     private static String buildUserLocksKey(Long userId) {
@@ -1,27 +1,39 @@
 package org.pdzsoftware.moviereservationsystem.service;
 
+import com.stripe.StripeClient;
+import com.stripe.exception.ApiConnectionException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.Refund;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.RefundCreateParams;
 import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionRetrieveParams;
+import com.stripe.service.CheckoutService;
+import com.stripe.service.PaymentIntentService;
+import com.stripe.service.RefundService;
+import com.stripe.service.checkout.SessionService;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
 import org.pdzsoftware.moviereservationsystem.dto.response.BookingResponse;
 import org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus;
 import org.pdzsoftware.moviereservationsystem.enums.PaymentStatus;
 import org.pdzsoftware.moviereservationsystem.enums.UserRole;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.pdzsoftware.moviereservationsystem.model.BookedSeat;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
 import org.pdzsoftware.moviereservationsystem.model.User;
 import org.pdzsoftware.moviereservationsystem.service.impl.StripePaymentService;
+import org.pdzsoftware.moviereservationsystem.util.PaymentInfoCache;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -29,11 +41,15 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static com.stripe.param.checkout.SessionCreateParams.*;
 import static com.stripe.param.checkout.SessionCreateParams.LineItem.PriceData;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.PAYMENT_CONFIRMED;
 import static org.pdzsoftware.moviereservationsystem.service.PaymentService.BOOKING_ID_KEY;
@@ -42,12 +58,37 @@ import static org.pdzsoftware.moviereservationsystem.service.PaymentService.USER
 @ExtendWith(MockitoExtension.class)
 class StripePaymentServiceTest {
     @Mock
-    private SessionCreateParams sessionCreateParams;
+    private StripeClient stripeClient;
     @Mock
-    private RefundCreateParams refundCreateParams;
-    @InjectMocks
+    private CheckoutService checkoutService;
+    @Mock
+    private SessionService sessionService;
+    @Mock
+    private RefundService refundService;
+    @Mock
+    private PaymentIntentService paymentIntentService;
+    @Mock
+    private PaymentInfoCache paymentInfoCache;
+
+    private CircuitBreaker circuitBreaker;
+    private MeterRegistry meterRegistry;
     private StripePaymentService paymentService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(stripeClient.checkout()).thenReturn(checkoutService);
+        lenient().when(checkoutService.sessions()).thenReturn(sessionService);
+        lenient().when(stripeClient.refunds()).thenReturn(refundService);
+        lenient().when(stripeClient.paymentIntents()).thenReturn(paymentIntentService);
+
+        circuitBreaker = CircuitBreaker.ofDefaults("payment-provider");
+        meterRegistry = new SimpleMeterRegistry();
+
+        paymentService = new StripePaymentService(
+                stripeClient, circuitBreaker, Bulkhead.ofDefaults("payment-provider"), paymentInfoCache, meterRegistry
+        );
+    }
+
     @Test
     @SneakyThrows
     void createCheckout_always_createsCheckoutSessionWithCorrectInformationAndReturnsBookingResponse() {
@@ -59,43 +100,54 @@ class StripePaymentServiceTest {
         String movieTitle = "Example Movie";
         Session mockSession = getMockSession();
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.create(any(SessionCreateParams.class)))
-                    .thenReturn(mockSession);
+        when(sessionService.create(any(SessionCreateParams.class))).thenReturn(mockSession);
+
+        ArgumentCaptor<SessionCreateParams> sessionParamsCaptor = ArgumentCaptor.forClass(SessionCreateParams.class);
 
-            ArgumentCaptor<SessionCreateParams> sessionParamsCaptor = ArgumentCaptor.forClass(SessionCreateParams.class);
+        // Act
+        BookingResponse response = paymentService.createCheckout(user, booking, successUrl, cancelUrl, movieTitle);
 
-            // Act
-            BookingResponse response = paymentService.createCheckout(user, booking, successUrl, cancelUrl, movieTitle);
+        // Assert
+        verify(sessionService).create(sessionParamsCaptor.capture());
 
-            // Assert
-            mockedSession.verify(() -> Session.create(sessionParamsCaptor.capture()));
+        SessionCreateParams sessionParams = sessionParamsCaptor.getValue();
+        assertEquals(Mode.PAYMENT, sessionParams.getMode());
+        assertEquals(buildSuccessUrl(successUrl, booking.getId()), sessionParams.getSuccessUrl());
+        assertEquals(cancelUrl, sessionParams.getCancelUrl());
+        assertEquals(user.getEmail(), sessionParams.getCustomerEmail());
+        assertEquals(booking.getId().toString(), sessionParams.getMetadata().get(BOOKING_ID_KEY));
+        assertEquals(user.getId().toString(), sessionParams.getMetadata().get(USER_ID_KEY));
+        assertEquals(1, sessionParams.getLineItems().size());
 
-            SessionCreateParams sessionParams = sessionParamsCaptor.getValue();
-            assertEquals(Mode.PAYMENT, sessionParams.getMode());
-            assertEquals(buildSuccessUrl(successUrl, booking.getId()), sessionParams.getSuccessUrl());
-            assertEquals(cancelUrl, sessionParams.getCancelUrl());
-            assertEquals(user.getEmail(), sessionParams.getCustomerEmail());
-            assertEquals(booking.getId().toString(), sessionParams.getMetadata().get(BOOKING_ID_KEY));
-            assertEquals(user.getId().toString(), sessionParams.getMetadata().get(USER_ID_KEY));
-            assertEquals(1, sessionParams.getLineItems().size());
+        LineItem lineItem = sessionParams.getLineItems().get(0);
+        assertEquals(1, lineItem.getQuantity());
 
-            LineItem lineItem = sessionParams.getLineItems().get(0);
-            assertEquals(1, lineItem.getQuantity());
+        PriceData priceData = lineItem.getPriceData();
+        assertEquals("brl", priceData.getCurrency());
+        assertEquals(convertToCents(booking.getTotalPrice()), priceData.getUnitAmount());
+        assertEquals(buildProductName(booking, movieTitle), priceData.getProductData().getName());
 
-            PriceData priceData = lineItem.getPriceData();
-            assertEquals("brl", priceData.getCurrency());
-            assertEquals(convertToCents(booking.getTotalPrice()), priceData.getUnitAmount());
-            assertEquals(buildProductName(booking, movieTitle), priceData.getProductData().getName());
+        PaymentIntentData paymentIntentData = sessionParams.getPaymentIntentData();
+        assertEquals(booking.getId().toString(), paymentIntentData.getMetadata().get(BOOKING_ID_KEY));
+        assertEquals(user.getId().toString(), paymentIntentData.getMetadata().get(USER_ID_KEY));
 
-            PaymentIntentData paymentIntentData = sessionParams.getPaymentIntentData();
-            assertEquals(booking.getId().toString(), paymentIntentData.getMetadata().get(BOOKING_ID_KEY));
-            assertEquals(user.getId().toString(), paymentIntentData.getMetadata().get(USER_ID_KEY));
+        assertEquals(response.getBookingId(), booking.getId());
+        assertEquals(response.getCheckoutId(), mockSession.getId());
+        assertEquals(response.getCheckoutUrl(), mockSession.getUrl());
+    }
+
+    @Test
+    @SneakyThrows
+    void createCheckout_withOpenCircuit_throwsServiceUnavailableExceptionWithoutCallingProvider() {
+        // Arrange
+        circuitBreaker.transitionToOpenState();
 
-            assertEquals(response.getBookingId(), booking.getId());
-            assertEquals(response.getCheckoutId(), mockSession.getId());
-            assertEquals(response.getCheckoutUrl(), mockSession.getUrl());
-        }
+        // Act & Assert
+        assertThatThrownBy(() -> paymentService.createCheckout(
+                getMockUser(), getMockBooking(), "https://example.com/success", "https://example.com/cancel", "Movie"
+        )).isInstanceOf(ServiceUnavailableException.class);
+
+        verify(sessionService, never()).create(any(SessionCreateParams.class));
     }
 
     @Test
@@ -107,28 +159,42 @@ class StripePaymentServiceTest {
         booking.setPaymentIntentId("payment-intent-id");
         Refund mockRefund = getMockRefund();
 
-        try (MockedStatic<Refund> mockedRefund = mockStatic(Refund.class)) {
-            mockedRefund.when(() -> Refund.create(any(RefundCreateParams.class)))
-                    .thenReturn(mockRefund);
+        when(refundService.create(any(RefundCreateParams.class))).thenReturn(mockRefund);
 
-            ArgumentCaptor<RefundCreateParams> refundParamsCaptor = ArgumentCaptor.forClass(RefundCreateParams.class);
+        ArgumentCaptor<RefundCreateParams> refundParamsCaptor = ArgumentCaptor.forClass(RefundCreateParams.class);
 
-            // Act
-            String refundId = paymentService.createRefund(booking, user.getId());
+        // Act
+        String refundId = paymentService.createRefund(booking, user.getId());
 
-            // Assert
-            mockedRefund.verify(() -> Refund.create(refundParamsCaptor.capture()));
+        // Assert
+        verify(refundService).create(refundParamsCaptor.capture());
 
-            RefundCreateParams refundParams = refundParamsCaptor.getValue();
-            assertEquals(booking.getPaymentIntentId(), refundParams.getPaymentIntent());
-            assertEquals(RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER, refundParams.getReason());
+        RefundCreateParams refundParams = refundParamsCaptor.getValue();
+        assertEquals(booking.getPaymentIntentId(), refundParams.getPaymentIntent());
+        assertEquals(RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER, refundParams.getReason());
 
-            Map<String, String> metadata = (HashMap<String, String>) refundParams.getMetadata();
-            assertEquals(booking.getId().toString(), metadata.get(BOOKING_ID_KEY));
-            assertEquals(user.getId().toString(), metadata.get(USER_ID_KEY));
+        Map<String, String> metadata = (HashMap<String, String>) refundParams.getMetadata();
+        assertEquals(booking.getId().toString(), metadata.get(BOOKING_ID_KEY));
+        assertEquals(user.getId().toString(), metadata.get(USER_ID_KEY));
 
-            assertEquals(refundId, mockRefund.getId());
-        }
+        assertEquals(refundId, mockRefund.getId());
+    }
+
+    @Test
+    @SneakyThrows
+    void createRefund_withProviderConnectionError_rethrowsAndRecordsFailureInCircuitBreaker() {
+        // Arrange
+        Booking booking = getMockBooking();
+        booking.setPaymentIntentId("payment-intent-id");
+
+        when(refundService.create(any(RefundCreateParams.class)))
+                .thenThrow(new ApiConnectionException("Connection timed out"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> paymentService.createRefund(booking, 1L))
+                .isInstanceOf(ApiConnectionException.class);
+
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
     }
 
     @Test
@@ -137,34 +203,29 @@ class StripePaymentServiceTest {
         // Arrange
         String sessionId = "checkout-id";
 
+        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
+        mockPaymentIntent.setStatus("succeeded");
+
         Session mockSession = getMockSession();
         mockSession.setStatus("complete");
-        mockSession.setPaymentIntent("payment-intent-id");
+        mockSession.setPaymentIntentObject(mockPaymentIntent);
 
-        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
-        mockPaymentIntent.setStatus("succeeded");
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
+
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            try (MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class)) {
-                mockedSession.when(() -> Session.retrieve(sessionId))
-                        .thenReturn(mockSession);
-                mockedPaymentIntent.when(() -> PaymentIntent.retrieve(mockSession.getPaymentIntent()))
-                        .thenReturn(mockPaymentIntent);
-
-                // Act
-                PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
-
-                // Assert
-                mockedSession.verify(() -> Session.retrieve(sessionId));
-
-                assertNotNull(response);
-                assertEquals(mockSession.getId(), response.getCheckoutId());
-                assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
-                assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
-                assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
-                assertEquals(PaymentStatus.SUCCEEDED, response.getPaymentStatus());
-            }
-        }
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
+        // The payment intent comes expanded in the session, so no second call is made
+        verify(paymentIntentService, never()).retrieve(anyString());
+
+        assertNotNull(response);
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
+        assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
+        assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.SUCCEEDED, response.getPaymentStatus());
     }
 
     @Test
@@ -173,34 +234,29 @@ class StripePaymentServiceTest {
         // Arrange
         String sessionId = "checkout-id";
 
+        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
+        mockPaymentIntent.setStatus("requires_action");
+
         Session mockSession = getMockSession();
         mockSession.setStatus("complete");
-        mockSession.setPaymentIntent("payment-intent-id");
+        mockSession.setPaymentIntentObject(mockPaymentIntent);
 
-        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
-        mockPaymentIntent.setStatus("requires_action");
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
+
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
+        // The payment intent comes expanded in the session, so no second call is made
+        verify(paymentIntentService, never()).retrieve(anyString());
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            try (MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class)) {
-                mockedSession.when(() -> Session.retrieve(sessionId))
-                        .thenReturn(mockSession);
-                mockedPaymentIntent.when(() -> PaymentIntent.retrieve(mockSession.getPaymentIntent()))
-                        .thenReturn(mockPaymentIntent);
-
-                // Act
-                PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
-
-                // Assert
-                mockedSession.verify(() -> Session.retrieve(sessionId));
-
-                assertNotNull(response);
-                assertEquals(mockSession.getId(), response.getCheckoutId());
-                assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
-                assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
-                assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
-                assertEquals(PaymentStatus.FAILED, response.getPaymentStatus());
-            }
-        }
+        assertNotNull(response);
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
+        assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
+        assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.FAILED, response.getPaymentStatus());
     }
 
     @Test
@@ -212,21 +268,18 @@ class StripePaymentServiceTest {
         Session mockSession = getMockSession();
         mockSession.setStatus("expired");
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.retrieve(sessionId))
-                    .thenReturn(mockSession);
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
 
-            // Act
-            PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
 
-            // Assert
-            mockedSession.verify(() -> Session.retrieve(sessionId));
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
 
-            assertNotNull(response);
-            assertEquals(mockSession.getId(), response.getCheckoutId());
-            assertEquals(CheckoutStatus.EXPIRED, response.getCheckoutStatus());
-            assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
-        }
+        assertNotNull(response);
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(CheckoutStatus.EXPIRED, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
     }
 
     @Test
@@ -237,23 +290,20 @@ class StripePaymentServiceTest {
 
         Session mockSession = getMockSession();
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.retrieve(sessionId))
-                    .thenReturn(mockSession);
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
 
-            // Act
-            PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
 
-            // Assert
-            mockedSession.verify(() -> Session.retrieve(sessionId));
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
 
-            assertNotNull(response);
-            assertNull(response.getPaymentIntentId());
-            assertEquals(mockSession.getId(), response.getCheckoutId());
-            assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
-            assertEquals(CheckoutStatus.PENDING, response.getCheckoutStatus());
-            assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
-        }
+        assertNotNull(response);
+        assertNull(response.getPaymentIntentId());
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
+        assertEquals(CheckoutStatus.PENDING, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
     }
 
     @Test
@@ -267,22 +317,19 @@ class StripePaymentServiceTest {
         // This should never happen as expired sessions don't have payment intent ids
         mockSession.setPaymentIntent("payment-intent-id");
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.retrieve(sessionId))
-                    .thenReturn(mockSession);
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
 
-            // Act
-            PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
 
-            // Assert
-            mockedSession.verify(() -> Session.retrieve(sessionId));
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
 
-            assertNotNull(response);
-            assertNull(response.getPaymentIntentId());
-            assertEquals(mockSession.getId(), response.getCheckoutId());
-            assertEquals(CheckoutStatus.EXPIRED, response.getCheckoutStatus());
-            assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
-        }
+        assertNotNull(response);
+        assertNull(response.getPaymentIntentId());
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(CheckoutStatus.EXPIRED, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
     }
 
     @Test
@@ -294,22 +341,19 @@ class StripePaymentServiceTest {
         Session mockSession = getMockSession();
         mockSession.setStatus("unknown");
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.retrieve(sessionId))
-                    .thenReturn(mockSession);
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
 
-            // Act
-            PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
 
-            // Assert
-            mockedSession.verify(() -> Session.retrieve(sessionId));
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
 
-            assertNotNull(response);
-            assertNull(response.getPaymentIntentId());
-            assertEquals(mockSession.getId(), response.getCheckoutId());
-            assertEquals(CheckoutStatus.PENDING, response.getCheckoutStatus());
-            assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
-        }
+        assertNotNull(response);
+        assertNull(response.getPaymentIntentId());
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(CheckoutStatus.PENDING, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
     }
 
     @Test
@@ -318,34 +362,29 @@ class StripePaymentServiceTest {
         // Arrange
         String sessionId = "checkout-id";
 
+        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
+        mockPaymentIntent.setStatus("unknown");
+
         Session mockSession = getMockSession();
         mockSession.setStatus("complete");
-        mockSession.setPaymentIntent("payment-intent-id");
+        mockSession.setPaymentIntentObject(mockPaymentIntent);
 
-        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
-        mockPaymentIntent.setStatus("unknown");
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
+
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            try (MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class)) {
-                mockedSession.when(() -> Session.retrieve(sessionId))
-                        .thenReturn(mockSession);
-                mockedPaymentIntent.when(() -> PaymentIntent.retrieve(mockSession.getPaymentIntent()))
-                        .thenReturn(mockPaymentIntent);
-
-                // Act
-                PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
-
-                // Assert
-                mockedSession.verify(() -> Session.retrieve(sessionId));
-
-                assertNotNull(response);
-                assertEquals(mockSession.getId(), response.getCheckoutId());
-                assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
-                assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
-                assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
-                assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
-            }
-        }
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
+        // The payment intent comes expanded in the session, so no second call is made
+        verify(paymentIntentService, never()).retrieve(anyString());
+
+        assertNotNull(response);
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
+        assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
+        assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
     }
 
     @Test
@@ -354,57 +393,88 @@ class StripePaymentServiceTest {
         // Arrange
         String sessionId = "checkout-id";
 
+        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
+
         Session mockSession = getMockSession();
         mockSession.setStatus("complete");
-        mockSession.setPaymentIntent("payment-intent-id");
+        mockSession.setPaymentIntentObject(mockPaymentIntent);
 
-        PaymentIntent mockPaymentIntent = getMockPaymentIntent();
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            try (MockedStatic<PaymentIntent> mockedPaymentIntent = mockStatic(PaymentIntent.class)) {
-                mockedSession.when(() -> Session.retrieve(sessionId))
-                        .thenReturn(mockSession);
-                mockedPaymentIntent.when(() -> PaymentIntent.retrieve(mockSession.getPaymentIntent()))
-                        .thenReturn(mockPaymentIntent);
-
-                // Act
-                PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
-
-                // Assert
-                mockedSession.verify(() -> Session.retrieve(sessionId));
-
-                assertNotNull(response);
-                assertEquals(mockSession.getId(), response.getCheckoutId());
-                assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
-                assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
-                assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
-                assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
-            }
-        }
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+
+        // Assert
+        verify(sessionService).retrieve(eq(sessionId), any(SessionRetrieveParams.class));
+        // The payment intent comes expanded in the session, so no second call is made
+        verify(paymentIntentService, never()).retrieve(anyString());
+
+        assertNotNull(response);
+        assertEquals(mockSession.getId(), response.getCheckoutId());
+        assertEquals(mockSession.getPaymentIntent(), response.getPaymentIntentId());
+        assertEquals(mockPaymentIntent.getId(), response.getPaymentIntentId());
+        assertEquals(CheckoutStatus.COMPLETED, response.getCheckoutStatus());
+        assertEquals(PaymentStatus.PENDING, response.getPaymentStatus());
     }
 
     @Test
     @SneakyThrows
-    void expireCheckoutSession_always_retrievesSessionAndCallsExpire() {
+    void getPaymentInfoBySessionId_withCachedTerminalInfo_returnsCachedInfoWithoutCallingProvider() {
         // Arrange
         String sessionId = "checkout-id";
 
-        Session mockSession = mock(Session.class);
-        mockSession.setStatus("complete");
+        PaymentInfoDto cachedPaymentInfo = PaymentInfoDto.builder()
+                .checkoutId(sessionId)
+                .paymentIntentId("payment-intent-id")
+                .checkoutStatus(CheckoutStatus.COMPLETED)
+                .paymentStatus(PaymentStatus.SUCCEEDED)
+                .build();
+
+        when(paymentInfoCache.get(sessionId)).thenReturn(Optional.of(cachedPaymentInfo));
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.retrieve(sessionId))
-                    .thenReturn(mockSession);
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+
+        // Assert
+        verifyNoInteractions(stripeClient);
+        assertSame(cachedPaymentInfo, response);
+    }
+
+    @Test
+    @SneakyThrows
+    void getPaymentInfoBySessionId_withProviderLookup_offersResultToCache() {
+        // Arrange
+        String sessionId = "checkout-id";
+
+        Session mockSession = getMockSession();
+        mockSession.setStatus("expired");
+
+        when(sessionService.retrieve(eq(sessionId), any(SessionRetrieveParams.class))).thenReturn(mockSession);
+
+        // Act
+        PaymentInfoDto response = paymentService.getPaymentInfoBySessionId(sessionId);
+
+        // Assert
+        verify(paymentInfoCache).putIfTerminal(response);
+        assertEquals(1.0, meterRegistry.counter(
+                "payment.provider.calls", "operation", "retrieve_checkout", "outcome", "success"
+        ).count());
+    }
+
+    @Test
+    @SneakyThrows
+    void expireCheckoutSession_always_expiresSessionByIdWithoutRetrievingIt() {
+        // Arrange
+        String sessionId = "checkout-id";
 
-            when(mockSession.expire()).thenReturn(mockSession);
+        when(sessionService.expire(sessionId)).thenReturn(getMockSession());
 
-            // Act
-            paymentService.expireCheckoutSession(sessionId);
+        // Act
+        paymentService.expireCheckoutSession(sessionId);
 
-            // Assert
-            mockedSession.verify(() -> Session.retrieve(sessionId));
-            verify(mockSession).expire();
-        }
+        // Assert
+        verify(sessionService).expire(sessionId);
+        verify(sessionService, never()).retrieve(anyString());
     }
 
     private static Session getMockSession() {
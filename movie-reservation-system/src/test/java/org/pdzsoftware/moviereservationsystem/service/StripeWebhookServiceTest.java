@@ -10,10 +10,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
+import org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
 import org.pdzsoftware.moviereservationsystem.model.BookedSeat;
 import org.pdzsoftware.moviereservationsystem.model.Booking;
+import org.pdzsoftware.moviereservationsystem.model.User;
 import org.pdzsoftware.moviereservationsystem.service.impl.StripeWebhookService;
+import org.pdzsoftware.moviereservationsystem.util.PaymentInfoCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,6 +36,8 @@ class StripeWebhookServiceTest {
     private BookingService bookingService;
     @Mock
     private BookingStatusService bookingStatusService;
+    @Mock
+    private PaymentInfoCache paymentInfoCache;
     @InjectMocks
     private StripeWebhookService webhookService;
 
@@ -139,6 +145,10 @@ class StripeWebhookServiceTest {
         // Assert
         verify(bookingService).findByIdAndUserId(1L, 1L);
         verify(bookingStatusService).handleCheckoutExpired(booking, session.getId());
+        verify(paymentInfoCache).putIfTerminal(argThat((PaymentInfoDto paymentInfo) ->
+                session.getId().equals(paymentInfo.getCheckoutId())
+                        && paymentInfo.getCheckoutStatus() == CheckoutStatus.EXPIRED
+        ));
     }
 
     @Test
@@ -281,6 +291,47 @@ class StripeWebhookServiceTest {
         verify(bookingStatusService, never()).handlePaymentRefunded(any(), any());
     }
 
+    @Test
+    @SneakyThrows
+    void handleStripeEvent_withLoadedBookings_usesLoadedBookingWithoutLookup() {
+        // Arrange
+        Event event = getMockEvent();
+        PaymentIntent paymentIntent = getMockPaymentIntent();
+        Booking booking = getMockBooking();
+        booking.setUser(User.builder().id(1L).build());
+
+        when(event.getType()).thenReturn("payment_intent.succeeded");
+        when(event.getData()).thenReturn(mock(Event.Data.class));
+        when(event.getData().getObject()).thenReturn(paymentIntent);
+
+        // Act
+        webhookService.handleStripeEvent(event, Map.of(1L, booking));
+
+        // Assert
+        verify(bookingService, never()).findByIdAndUserId(anyLong(), anyLong());
+        verify(bookingStatusService).handlePaymentSuccess(booking, paymentIntent.getId());
+    }
+
+    @Test
+    @SneakyThrows
+    void handleStripeEvent_withLoadedBookingOfAnotherUser_throwsNotFoundException() {
+        // Arrange
+        Event event = getMockEvent();
+        PaymentIntent paymentIntent = getMockPaymentIntent();
+        Booking booking = getMockBooking();
+        booking.setUser(User.builder().id(2L).build());
+
+        when(event.getType()).thenReturn("payment_intent.succeeded");
+        when(event.getData()).thenReturn(mock(Event.Data.class));
+        when(event.getData().getObject()).thenReturn(paymentIntent);
+
+        // Act & Assert
+        assertThatThrownBy(() -> webhookService.handleStripeEvent(event, Map.of(1L, booking)))
+                .isInstanceOf(NotFoundException.class);
+
+        verify(bookingStatusService, never()).handlePaymentSuccess(any(), any());
+    }
+
     private static Event getMockEvent() {
         return mock(Event.class);
     }
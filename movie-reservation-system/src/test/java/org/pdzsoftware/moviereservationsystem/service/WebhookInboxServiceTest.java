@@ -0,0 +1,100 @@
+package org.pdzsoftware.moviereservationsystem.service;
+
+import com.stripe.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.model.WebhookEvent;
+import org.pdzsoftware.moviereservationsystem.repository.WebhookEventRepository;
+import org.pdzsoftware.moviereservationsystem.service.impl.StripeWebhookService;
+import org.pdzsoftware.moviereservationsystem.service.impl.WebhookInboxService;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.enums.WebhookEventStatus.RECEIVED;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookInboxServiceTest {
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+    @Mock
+    private StripeWebhookService stripeWebhookService;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @InjectMocks
+    private WebhookInboxService webhookInboxService;
+
+    @Test
+    void store_withNewEvent_savesReceivedEventWithBookingIdAndPayload() {
+        // Arrange
+        Event event = getMockEvent();
+        String payload = "{\"id\":\"evt-id\"}";
+
+        when(stripeWebhookService.resolveBookingId(event)).thenReturn(1L);
+
+        ArgumentCaptor<WebhookEvent> webhookEventCaptor = ArgumentCaptor.forClass(WebhookEvent.class);
+
+        // Act
+        webhookInboxService.store(event, payload);
+
+        // Assert
+        verify(webhookEventRepository).saveAndFlush(webhookEventCaptor.capture());
+        verifyNoMoreInteractions(stripeWebhookService);
+
+        WebhookEvent webhookEvent = webhookEventCaptor.getValue();
+        assertEquals("evt-id", webhookEvent.getProviderEventId());
+        assertEquals("checkout.session.completed", webhookEvent.getEventType());
+        assertEquals(1L, webhookEvent.getBookingId());
+        assertEquals(payload, webhookEvent.getPayload());
+        assertEquals(RECEIVED, webhookEvent.getEventStatus());
+        assertEquals(0, webhookEvent.getAttempts());
+        assertEquals(webhookEvent.getReceivedAt(), webhookEvent.getNextAttemptAt());
+    }
+
+    @Test
+    void store_withDuplicateEvent_dropsItWithoutThrowing() {
+        // Arrange
+        Event event = getMockEvent();
+
+        when(webhookEventRepository.saveAndFlush(any(WebhookEvent.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act
+        webhookInboxService.store(event, "{}");
+
+        // Assert
+        verify(webhookEventRepository).saveAndFlush(any(WebhookEvent.class));
+        assertEquals(1.0, meterRegistry.counter(WebhookInboxService.INBOX_METRIC, "outcome", "duplicate").count());
+    }
+
+    @Test
+    void redriveFailed_withFailedEvents_requeuesThemAndCountsThem() {
+        // Arrange
+        when(webhookEventRepository.redriveFailed(any(LocalDateTime.class))).thenReturn(3);
+
+        // Act
+        int redriven = webhookInboxService.redriveFailed();
+
+        // Assert
+        assertEquals(3, redriven);
+        assertEquals(3.0, meterRegistry.counter(WebhookInboxService.INBOX_METRIC, "outcome", "redriven").count());
+    }
+
+    private static Event getMockEvent() {
+        Event event = new Event();
+        event.setId("evt-id");
+        event.setType("checkout.session.completed");
+
+        return event;
+    }
+}
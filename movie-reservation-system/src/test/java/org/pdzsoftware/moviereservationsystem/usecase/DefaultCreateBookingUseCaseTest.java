@@ -16,6 +16,7 @@ import org.pdzsoftware.moviereservationsystem.exception.custom.ConflictException
 import org.pdzsoftware.moviereservationsystem.exception.custom.GoneException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.InternalErrorException;
 import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
 import org.pdzsoftware.moviereservationsystem.model.*;
 import org.pdzsoftware.moviereservationsystem.service.*;
 import org.pdzsoftware.moviereservationsystem.usecase.impl.DefaultCreateBookingUseCase;
@@ -269,6 +270,35 @@ public class DefaultCreateBookingUseCaseTest {
         verify(eventPublisher, never()).publishEvent(any(BookingCreatedEvent.class));
     }
 
+    @Test
+    @SneakyThrows
+    void execute_withPaymentProviderUnavailable_throwsServiceUnavailableException() {
+        // Arrange
+        Long userId = 1L;
+        BookingRequest bookingRequest = getMockBookingRequest();
+
+        User user = getMockUser();
+        Session session = getMockSession();
+        List<Seat> seats = getMockSeats();
+        Booking booking = buildMockBooking(user, session, seats);
+
+        when(userService.findById(anyLong())).thenReturn(Optional.of(user));
+        when(sessionService.findById(anyLong())).thenReturn(Optional.of(session));
+        when(sessionService.isExpired(any())).thenReturn(false);
+        when(seatService.findByIds(any(), any())).thenReturn(seats);
+        when(seatService.areAllAvailableToBook(any(), any(), any())).thenReturn(true);
+        when(bookingService.createAndSaveBooking(any(), any(), any())).thenReturn(booking);
+        when(paymentService.createCheckout(any(), any(), any(), any(), any()))
+                .thenThrow(new ServiceUnavailableException("Payment provider is unavailable"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> defaultCreateBooking.execute(userId, bookingRequest))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        verify(bookingService, never()).saveBooking(any());
+        verify(eventPublisher, never()).publishEvent(any(BookingCreatedEvent.class));
+    }
+
     private BookingRequest getMockBookingRequest() {
         return new BookingRequest(1L, Set.of(1L, 2L, 3L), "success-url", "cancel-url");
     }
@@ -321,7 +351,6 @@ public class DefaultCreateBookingUseCaseTest {
                 .userName("test")
                 .email("TeSt@eXaMpLe.com")
                 .passwordHash("091i0dqww$@!#")
-                .refreshToken("refresh-token")
                 .userRole(UserRole.CUSTOMER)
                 .createdAt(now)
                 .updatedAt(now)
@@ -0,0 +1,162 @@
+package org.pdzsoftware.moviereservationsystem.usecase;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.BookingSessionDto;
+import org.pdzsoftware.moviereservationsystem.dto.response.BookedSeatResponse;
+import org.pdzsoftware.moviereservationsystem.dto.response.BookingDetailedResponse;
+import org.pdzsoftware.moviereservationsystem.enums.Language;
+import org.pdzsoftware.moviereservationsystem.exception.custom.NotFoundException;
+import org.pdzsoftware.moviereservationsystem.service.BookedSeatService;
+import org.pdzsoftware.moviereservationsystem.service.BookingService;
+import org.pdzsoftware.moviereservationsystem.service.SessionService;
+import org.pdzsoftware.moviereservationsystem.usecase.impl.DefaultGetUserBookingsUseCase;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.PAYMENT_CONFIRMED;
+import static org.pdzsoftware.moviereservationsystem.enums.MovieGenre.ACTION;
+import static org.pdzsoftware.moviereservationsystem.enums.SeatType.STANDARD;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultGetUserBookingsUseCaseTest {
+    @Mock
+    private BookingService bookingService;
+    @Mock
+    private SessionService sessionService;
+    @Mock
+    private BookedSeatService bookedSeatService;
+    @InjectMocks
+    private DefaultGetUserBookingsUseCase getUserBookings;
+
+    @Test
+    void execute_withFullPage_enrichesAllBookingsWithOneBatchCallPerLookup() {
+        // Arrange
+        List<BookingDetailedResponse> bookings = getMockBookings(15);
+        List<Long> bookingIds = bookings.stream().map(BookingDetailedResponse::getId).toList();
+
+        Map<Long, BookingSessionDto> sessionsByBookingId = new HashMap<>();
+        Map<Long, List<BookedSeatResponse>> seatsByBookingId = new HashMap<>();
+
+        for (Long bookingId : bookingIds) {
+            sessionsByBookingId.put(bookingId, getMockBookingSession(bookingId));
+            seatsByBookingId.put(bookingId, List.of(
+                    new BookedSeatResponse(bookingId * 10, "A", 1, STANDARD, BigDecimal.TEN, bookingId)
+            ));
+        }
+
+        when(bookingService.findDetailedByFilters(any(), any(), anyInt())).thenReturn(new PageImpl<>(bookings));
+        when(sessionService.findResponsesByBookingIds(bookingIds)).thenReturn(sessionsByBookingId);
+        when(bookedSeatService.findResponsesByBookingIds(bookingIds)).thenReturn(seatsByBookingId);
+
+        // Act
+        Page<BookingDetailedResponse> response = getUserBookings.execute(1L, null, 0);
+
+        // Assert
+        response.getContent().forEach(booking -> {
+            assertEquals(100 + booking.getId(), booking.getSession().getId());
+            assertEquals(1000 + booking.getId(), booking.getMovie().getId());
+            assertEquals(1, booking.getBookedSeats().size());
+        });
+
+        verify(sessionService, times(1)).findResponsesByBookingIds(bookingIds);
+        verify(bookedSeatService, times(1)).findResponsesByBookingIds(bookingIds);
+        verifyNoMoreInteractions(sessionService, bookedSeatService);
+    }
+
+    @Test
+    void execute_withBookingWithoutSeats_setsEmptySeatList() {
+        // Arrange
+        List<BookingDetailedResponse> bookings = getMockBookings(1);
+
+        when(bookingService.findDetailedByFilters(any(), any(), anyInt())).thenReturn(new PageImpl<>(bookings));
+        when(sessionService.findResponsesByBookingIds(any())).thenReturn(Map.of(1L, getMockBookingSession(1L)));
+        when(bookedSeatService.findResponsesByBookingIds(any())).thenReturn(Map.of());
+
+        // Act
+        Page<BookingDetailedResponse> response = getUserBookings.execute(1L, null, 0);
+
+        // Assert
+        assertTrue(response.getContent().get(0).getBookedSeats().isEmpty());
+    }
+
+    @Test
+    void execute_withBookingWithoutSession_throwsNotFoundException() {
+        // Arrange
+        List<BookingDetailedResponse> bookings = getMockBookings(1);
+
+        when(bookingService.findDetailedByFilters(any(), any(), anyInt())).thenReturn(new PageImpl<>(bookings));
+        when(sessionService.findResponsesByBookingIds(any())).thenReturn(Map.of());
+        when(bookedSeatService.findResponsesByBookingIds(any())).thenReturn(Map.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> getUserBookings.execute(1L, null, 0))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void execute_withEmptyPage_skipsEnrichment() {
+        // Arrange
+        when(bookingService.findDetailedByFilters(any(), any(), anyInt())).thenReturn(Page.empty());
+
+        // Act
+        Page<BookingDetailedResponse> response = getUserBookings.execute(1L, null, 0);
+
+        // Assert
+        assertTrue(response.isEmpty());
+        verifyNoInteractions(sessionService, bookedSeatService);
+    }
+
+    private static List<BookingDetailedResponse> getMockBookings(int count) {
+        LocalDateTime now = LocalDateTime.now();
+
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new BookingDetailedResponse(id, PAYMENT_CONFIRMED, BigDecimal.TEN,
+                        "checkout-" + id, null, now, now, now.plusMinutes(10), "intent-" + id))
+                .toList();
+    }
+
+    private static BookingSessionDto getMockBookingSession(Long bookingId) {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+
+        return new BookingSessionDto(
+                bookingId,
+                100 + bookingId,
+                startTime,
+                startTime.plusHours(2),
+                Language.ENGLISH,
+                false,
+                false,
+                BigDecimal.TEN,
+                BigDecimal.valueOf(20),
+                BigDecimal.valueOf(5),
+                1L,
+                "Theater",
+                "logo.png",
+                "Address",
+                "Screen 1",
+                1000 + bookingId,
+                "Movie",
+                "Description",
+                ACTION,
+                120,
+                "poster.png",
+                LocalDate.now()
+        );
+    }
+}
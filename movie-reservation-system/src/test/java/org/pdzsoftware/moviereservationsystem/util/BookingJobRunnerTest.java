@@ -0,0 +1,403 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.BookingCheckoutRefDto;
+import org.pdzsoftware.moviereservationsystem.dto.PaymentInfoDto;
+import org.pdzsoftware.moviereservationsystem.dto.SessionEndRefDto;
+import org.pdzsoftware.moviereservationsystem.enums.CheckoutStatus;
+import org.pdzsoftware.moviereservationsystem.enums.PaymentStatus;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
+import org.pdzsoftware.moviereservationsystem.model.Booking;
+import org.pdzsoftware.moviereservationsystem.repository.BookedSeatRepository;
+import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
+import org.pdzsoftware.moviereservationsystem.repository.SessionRepository;
+import org.pdzsoftware.moviereservationsystem.service.BookingStatusService;
+import org.pdzsoftware.moviereservationsystem.service.PaymentService;
+import org.pdzsoftware.moviereservationsystem.usecase.CancelBookingUseCase;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.AWAITING_PAYMENT;
+import static org.pdzsoftware.moviereservationsystem.enums.BookingStatus.EXPIRED;
+
+@ExtendWith(MockitoExtension.class)
+class BookingJobRunnerTest {
+    private static final String ALIGN_EXPIRED_STATUS_JOB = "align-expired-status";
+    private static final int PAGE_SIZE = 2;
+    private static final int CHUNK_SIZE = 2;
+    private static final int MARK_AS_PAST_BATCH_SIZE = 2;
+    private static final String MARK_AS_PAST_JOB = "mark-as-past";
+    private static final LocalDateTime INITIAL_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookedSeatRepository bookedSeatRepository;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private BookingStatusService bookingStatusService;
+    @Mock
+    private PaymentService paymentService;
+    @Mock
+    private JobCheckpointStore jobCheckpointStore;
+    @Mock
+    private JobLeaseManager jobLeaseManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private CancelBookingUseCase cancelBooking;
+    @Mock
+    private JobLease lease;
+
+    private BookingJobRunner bookingJobRunner;
+
+    @BeforeEach
+    void setUp() {
+        // Reconciles on the calling thread, so every page is done when the next one is fetched
+        bookingJobRunner = new BookingJobRunner(bookingRepository, bookedSeatRepository, sessionRepository,
+                bookingStatusService, paymentService, jobCheckpointStore, jobLeaseManager, transactionTemplate,
+                MoreExecutors.newDirectExecutorService(), new SimpleMeterRegistry(), cancelBooking);
+
+        ReflectionTestUtils.setField(bookingJobRunner, "reconciliationPageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(bookingJobRunner, "reconciliationMaxPagesPerRun", 10);
+        ReflectionTestUtils.setField(bookingJobRunner, "providerCallsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(bookingJobRunner, "deletionChunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(bookingJobRunner, "markAsPastBatchSize", MARK_AS_PAST_BATCH_SIZE);
+        bookingJobRunner.init();
+
+        lenient().when(lease.renew()).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<JobLease>>getArgument(2).accept(lease);
+            return null;
+        }).when(jobLeaseManager).runIfLeader(anyString(), any(), any());
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    @Test
+    void tryExpiringBooking_withProviderUnavailableOnExpire_throwsWithoutExpiringDirectly() throws Exception {
+        // Arrange
+        Booking booking = getMockAwaitingBooking();
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(paymentService.getPaymentInfoBySessionId("checkout-1")).thenReturn(getPendingPaymentInfo());
+        doThrow(new ServiceUnavailableException("Payment provider is unavailable"))
+                .when(paymentService).expireCheckoutSession("checkout-1");
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> bookingJobRunner.tryExpiringBooking(1L));
+        verifyNoInteractions(bookingStatusService);
+    }
+
+    @Test
+    void tryExpiringBooking_withProviderUnavailableOnPaymentInfo_throwsWithoutExpiringDirectly() throws Exception {
+        // Arrange
+        Booking booking = getMockAwaitingBooking();
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(paymentService.getPaymentInfoBySessionId("checkout-1"))
+                .thenThrow(new ServiceUnavailableException("Payment provider is unavailable"));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> bookingJobRunner.tryExpiringBooking(1L));
+        verifyNoInteractions(bookingStatusService);
+    }
+
+    @Test
+    void tryExpiringBooking_withExpireFailing_expiresDirectly() throws Exception {
+        // Arrange
+        Booking booking = getMockAwaitingBooking();
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+        when(paymentService.getPaymentInfoBySessionId("checkout-1")).thenReturn(getPendingPaymentInfo());
+        doThrow(new IllegalStateException("Unexpected response"))
+                .when(paymentService).expireCheckoutSession("checkout-1");
+
+        // Act
+        bookingJobRunner.tryExpiringBooking(1L);
+
+        // Assert
+        verify(bookingStatusService).validateAndUpdateStatus(booking, EXPIRED);
+    }
+
+    @Test
+    void alignExpiredStatus_withCheckpoint_resumesAfterCheckpointedId() throws Exception {
+        // Arrange
+        when(jobCheckpointStore.get(ALIGN_EXPIRED_STATUS_JOB)).thenReturn(Optional.of("41"));
+        when(bookingRepository.findExpiredRefsAfterId(eq(41L), any(Pageable.class))).thenReturn(getMockRefs(42, 42));
+        when(paymentService.getPaymentInfoBySessionId(anyString())).thenReturn(getPendingPaymentInfo());
+
+        // Act
+        bookingJobRunner.alignExpiredStatus();
+
+        // Assert
+        verify(bookingRepository, never()).findExpiredRefsAfterId(eq(0L), any(Pageable.class));
+        verify(paymentService).getPaymentInfoBySessionId("checkout-42");
+        verify(jobCheckpointStore).clear(ALIGN_EXPIRED_STATUS_JOB);
+    }
+
+    @Test
+    void alignExpiredStatus_withSeveralFullPages_advancesCheckpointAfterEachPage() throws Exception {
+        // Arrange
+        when(jobCheckpointStore.get(ALIGN_EXPIRED_STATUS_JOB)).thenReturn(Optional.empty());
+        when(bookingRepository.findExpiredRefsAfterId(eq(0L), any(Pageable.class))).thenReturn(getMockRefs(1, 2));
+        when(bookingRepository.findExpiredRefsAfterId(eq(2L), any(Pageable.class))).thenReturn(getMockRefs(3, 4));
+        when(bookingRepository.findExpiredRefsAfterId(eq(4L), any(Pageable.class))).thenReturn(List.of());
+        when(paymentService.getPaymentInfoBySessionId(anyString())).thenReturn(getPendingPaymentInfo());
+
+        // Act
+        bookingJobRunner.alignExpiredStatus();
+
+        // Assert
+        InOrder inOrder = inOrder(bookingRepository, jobCheckpointStore);
+        inOrder.verify(bookingRepository).findExpiredRefsAfterId(eq(0L), any(Pageable.class));
+        inOrder.verify(jobCheckpointStore).save(ALIGN_EXPIRED_STATUS_JOB, "2");
+        inOrder.verify(bookingRepository).findExpiredRefsAfterId(eq(2L), any(Pageable.class));
+        inOrder.verify(jobCheckpointStore).save(ALIGN_EXPIRED_STATUS_JOB, "4");
+        inOrder.verify(bookingRepository).findExpiredRefsAfterId(eq(4L), any(Pageable.class));
+        inOrder.verify(jobCheckpointStore).clear(ALIGN_EXPIRED_STATUS_JOB);
+
+        verify(paymentService, times(4)).getPaymentInfoBySessionId(anyString());
+    }
+
+    @Test
+    void alignExpiredStatus_withPageBudgetReached_keepsCheckpointForNextRun() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(bookingJobRunner, "reconciliationMaxPagesPerRun", 1);
+
+        when(jobCheckpointStore.get(ALIGN_EXPIRED_STATUS_JOB)).thenReturn(Optional.empty());
+        when(bookingRepository.findExpiredRefsAfterId(eq(0L), any(Pageable.class))).thenReturn(getMockRefs(1, 2));
+        when(paymentService.getPaymentInfoBySessionId(anyString())).thenReturn(getPendingPaymentInfo());
+
+        // Act
+        bookingJobRunner.alignExpiredStatus();
+
+        // Assert
+        verify(jobCheckpointStore).save(ALIGN_EXPIRED_STATUS_JOB, "2");
+        verify(jobCheckpointStore, never()).clear(anyString());
+        verify(bookingRepository, times(1)).findExpiredRefsAfterId(any(), any(Pageable.class));
+    }
+
+    @Test
+    void alignExpiredStatus_withEmptyQueue_clearsCheckpointWithoutCallingProvider() {
+        // Arrange
+        when(jobCheckpointStore.get(ALIGN_EXPIRED_STATUS_JOB)).thenReturn(Optional.empty());
+        when(bookingRepository.findExpiredRefsAfterId(eq(0L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        bookingJobRunner.alignExpiredStatus();
+
+        // Assert
+        verify(jobCheckpointStore).clear(ALIGN_EXPIRED_STATUS_JOB);
+        verify(jobCheckpointStore, never()).save(anyString(), anyString());
+        verifyNoInteractions(paymentService, bookingStatusService, cancelBooking);
+    }
+
+    @Test
+    void deleteMarkedBookings_withArchiveEnabled_archivesAndDeletesEachChunkInOneTransaction() {
+        // Arrange
+        ReflectionTestUtils.setField(bookingJobRunner, "archiveEnabled", true);
+
+        when(bookingRepository.findIdsToDelete(any(), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        // Act
+        bookingJobRunner.deleteMarkedBookings();
+
+        // Assert
+        InOrder inOrder = inOrder(transactionTemplate, bookingRepository, bookedSeatRepository);
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        inOrder.verify(bookingRepository).archiveByIds(eq(List.of(1L, 2L)), any());
+        inOrder.verify(bookedSeatRepository).deleteAllByBookingIds(List.of(1L, 2L));
+        inOrder.verify(bookingRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        inOrder.verify(transactionTemplate).executeWithoutResult(any());
+        inOrder.verify(bookingRepository).archiveByIds(eq(List.of(3L)), any());
+        inOrder.verify(bookedSeatRepository).deleteAllByBookingIds(List.of(3L));
+        inOrder.verify(bookingRepository).deleteAllByIdInBatch(List.of(3L));
+
+        verify(bookingRepository, times(2)).findIdsToDelete(any(), any(Pageable.class));
+    }
+
+    @Test
+    void deleteMarkedBookings_withArchiveDisabled_onlyDeletes() {
+        // Arrange
+        when(bookingRepository.findIdsToDelete(any(), any(Pageable.class))).thenReturn(List.of(1L));
+
+        // Act
+        bookingJobRunner.deleteMarkedBookings();
+
+        // Assert
+        verify(bookingRepository, never()).archiveByIds(any(), any());
+        verify(bookedSeatRepository).deleteAllByBookingIds(List.of(1L));
+        verify(bookingRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void deleteMarkedBookings_withFailingChunk_stopsWithoutDeletingFurtherChunks() {
+        // Arrange
+        ReflectionTestUtils.setField(bookingJobRunner, "archiveEnabled", true);
+
+        when(bookingRepository.findIdsToDelete(any(), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(bookingRepository.archiveByIds(any(), any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        bookingJobRunner.deleteMarkedBookings();
+
+        // Assert
+        verify(bookingRepository, times(1)).findIdsToDelete(any(), any(Pageable.class));
+        verify(bookedSeatRepository, never()).deleteAllByBookingIds(any());
+        verify(bookingRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void deleteMarkedBookings_withLeaseLostBeforeCommit_stopsWithoutFurtherChunks() {
+        // Arrange
+        when(bookingRepository.findIdsToDelete(any(), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        doThrow(new LeaseLostException("delete-bookings", 7L)).when(lease).verifyHeld();
+
+        // Act
+        assertThrows(LeaseLostException.class, () -> bookingJobRunner.deleteMarkedBookings());
+
+        // Assert
+        verify(bookingRepository, times(1)).findIdsToDelete(any(), any(Pageable.class));
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    void deleteMarkedBookings_withEmptyQueue_exitsWithoutTransaction() {
+        // Arrange
+        when(bookingRepository.findIdsToDelete(any(), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        bookingJobRunner.deleteMarkedBookings();
+
+        // Assert
+        verifyNoInteractions(transactionTemplate, bookedSeatRepository);
+    }
+
+    @Test
+    void markBookingsAsPastIfSessionEnded_withCheckpoint_resumesFromWatermarkAndAdvancesIt() {
+        // Arrange
+        LocalDateTime watermarkEnd = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime firstEnd = watermarkEnd.plusMinutes(5);
+        LocalDateTime lastEnd = watermarkEnd.plusMinutes(10);
+
+        when(jobCheckpointStore.get(MARK_AS_PAST_JOB)).thenReturn(Optional.of(watermarkEnd + ",5"));
+        when(sessionRepository.findEndedAfter(any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(new SessionEndRefDto(6L, firstEnd), new SessionEndRefDto(7L, lastEnd)))
+                .thenReturn(List.of());
+        when(bookingRepository.markBookingsAsPastBySessionIds(any(), any())).thenReturn(3);
+
+        // Act
+        bookingJobRunner.markBookingsAsPastIfSessionEnded();
+
+        // Assert
+        InOrder inOrder = inOrder(sessionRepository, bookingRepository, jobCheckpointStore);
+        inOrder.verify(sessionRepository).findEndedAfter(eq(watermarkEnd), eq(5L), any(), any(Pageable.class));
+        inOrder.verify(bookingRepository).markBookingsAsPastBySessionIds(eq(List.of(6L, 7L)), any());
+        inOrder.verify(jobCheckpointStore).save(MARK_AS_PAST_JOB, lastEnd + ",7," + INITIAL_WATERMARK);
+        inOrder.verify(sessionRepository).findEndedAfter(eq(lastEnd), eq(7L), any(), any(Pageable.class));
+        inOrder.verify(bookingRepository).markConfirmedBookingsAsPastIfSessionEnded(eq(INITIAL_WATERMARK), any());
+        inOrder.verify(jobCheckpointStore).save(eq(MARK_AS_PAST_JOB), startsWith(lastEnd + ",7,"));
+    }
+
+    @Test
+    void markBookingsAsPastIfSessionEnded_withConfirmationWatermark_onlyRevisitsLaterStatusChanges() {
+        // Arrange
+        LocalDateTime watermarkEnd = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime confirmedAfter = LocalDateTime.of(2020, 1, 1, 9, 59);
+
+        when(jobCheckpointStore.get(MARK_AS_PAST_JOB))
+                .thenReturn(Optional.of(watermarkEnd + ",5," + confirmedAfter));
+        when(sessionRepository.findEndedAfter(any(), any(), any(), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        bookingJobRunner.markBookingsAsPastIfSessionEnded();
+
+        // Assert
+        verify(bookingRepository).markConfirmedBookingsAsPastIfSessionEnded(eq(confirmedAfter), any());
+        ArgumentCaptor<String> checkpoint = ArgumentCaptor.forClass(String.class);
+        verify(jobCheckpointStore).save(eq(MARK_AS_PAST_JOB), checkpoint.capture());
+
+        String[] parts = checkpoint.getValue().split(",");
+        assertEquals(watermarkEnd.toString(), parts[0]);
+        assertEquals("5", parts[1]);
+        assertTrue(LocalDateTime.parse(parts[2]).isAfter(confirmedAfter));
+    }
+
+    @Test
+    void markBookingsAsPastIfSessionEnded_withoutNewlyEndedSessions_stillMarksLateConfirmations() {
+        // Arrange
+        when(jobCheckpointStore.get(MARK_AS_PAST_JOB)).thenReturn(Optional.empty());
+        when(sessionRepository.findEndedAfter(any(), any(), any(), any(Pageable.class))).thenReturn(List.of());
+        when(bookingRepository.markConfirmedBookingsAsPastIfSessionEnded(any(), any())).thenReturn(1);
+
+        // Act
+        bookingJobRunner.markBookingsAsPastIfSessionEnded();
+
+        // Assert
+        verify(bookingRepository, never()).markBookingsAsPastBySessionIds(any(), any());
+        verify(bookingRepository).markConfirmedBookingsAsPastIfSessionEnded(eq(INITIAL_WATERMARK), any());
+        verify(jobCheckpointStore).save(eq(MARK_AS_PAST_JOB), startsWith(INITIAL_WATERMARK + ",0,"));
+    }
+
+    @Test
+    void markBookingsAsPastIfSessionEnded_withLostLease_skipsBothPasses() {
+        // Arrange
+        when(jobCheckpointStore.get(MARK_AS_PAST_JOB)).thenReturn(Optional.empty());
+        when(lease.renew()).thenReturn(false);
+
+        // Act
+        bookingJobRunner.markBookingsAsPastIfSessionEnded();
+
+        // Assert
+        verifyNoInteractions(sessionRepository, bookingRepository);
+    }
+
+    private static List<BookingCheckoutRefDto> getMockRefs(long firstId, long lastId) {
+        return LongStream.rangeClosed(firstId, lastId)
+                .mapToObj(id -> new BookingCheckoutRefDto(id, "checkout-" + id))
+                .toList();
+    }
+
+    private static Booking getMockAwaitingBooking() {
+        return Booking.builder()
+                .id(1L)
+                .bookingStatus(AWAITING_PAYMENT)
+                .checkoutId("checkout-1")
+                .build();
+    }
+
+    private static PaymentInfoDto getPendingPaymentInfo() {
+        return new PaymentInfoDto("checkout", null, CheckoutStatus.PENDING, PaymentStatus.PENDING);
+    }
+}
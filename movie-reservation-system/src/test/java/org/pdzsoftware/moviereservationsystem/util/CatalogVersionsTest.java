@@ -0,0 +1,121 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.MOVIES_CACHE;
+import static org.pdzsoftware.moviereservationsystem.config.CacheConfig.MOVIE_PAGES_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionsTest {
+    private static final String CATALOG_KEY = "CatalogVersion:catalog";
+    private static final String MOVIE_KEY = "CatalogVersion:movie:1";
+    // Long enough that a test never straddles two buckets
+    private static final Duration BUCKET = Duration.ofDays(365);
+
+    @Mock
+    private RedisTemplate<String, String> template;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private CatalogVersions catalogVersions;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersions = new CatalogVersions(template);
+        lenient().when(template.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void catalogETag_withSameSharedVersion_isSameOnEveryInstance() {
+        // Arrange
+        when(valueOperations.get(CATALOG_KEY)).thenReturn("3");
+        CatalogVersions otherInstance = new CatalogVersions(template);
+
+        // Act
+        String eTag = catalogVersions.catalogETag(BUCKET);
+        String otherETag = otherInstance.catalogETag(BUCKET);
+
+        // Assert
+        assertEquals(eTag, otherETag);
+        assertTrue(eTag.startsWith("W/\"3-0-"));
+    }
+
+    @Test
+    void catalogETag_afterVersionChanged_changes() {
+        // Arrange
+        when(valueOperations.get(CATALOG_KEY)).thenReturn("3", "4");
+
+        // Act
+        String before = catalogVersions.catalogETag(BUCKET);
+        String after = catalogVersions.catalogETag(BUCKET);
+
+        // Assert
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void movieETag_withMissingVersions_readsThemAsZero() {
+        // Arrange
+        when(valueOperations.multiGet(List.of(CATALOG_KEY, MOVIE_KEY))).thenReturn(Arrays.asList(null, null));
+
+        // Act
+        String eTag = catalogVersions.movieETag(1L, BUCKET);
+
+        // Assert
+        assertTrue(eTag.startsWith("W/\"0-0-"));
+    }
+
+    @Test
+    void movieETag_withRedisFailing_returnsNull() {
+        // Arrange
+        when(valueOperations.multiGet(List.of(CATALOG_KEY, MOVIE_KEY)))
+                .thenThrow(new RedisConnectionFailureException("Redis is down"));
+
+        // Act
+        String eTag = catalogVersions.movieETag(1L, BUCKET);
+
+        // Assert
+        assertNull(eTag);
+    }
+
+    @Test
+    void bump_withMovieKey_incrementsOnlyThatMovie() {
+        // Act
+        catalogVersions.bump(MOVIES_CACHE, "1");
+
+        // Assert
+        verify(valueOperations).increment(MOVIE_KEY);
+        verify(valueOperations, never()).increment(CATALOG_KEY);
+    }
+
+    @Test
+    void bump_withMoviesClearAll_incrementsCatalog() {
+        // Act
+        catalogVersions.bump(MOVIES_CACHE, TwoTierCache.CLEAR_ALL);
+
+        // Assert
+        verify(valueOperations).increment(CATALOG_KEY);
+    }
+
+    @Test
+    void bump_withPageKey_incrementsCatalog() {
+        // Act
+        catalogVersions.bump(MOVIE_PAGES_CACHE, "0:null:-");
+
+        // Assert
+        verify(valueOperations).increment(CATALOG_KEY);
+    }
+}
@@ -0,0 +1,88 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobCheckpointStoreTest {
+    private static final String KEY = "JobCheckpoint:align-expired-status";
+
+    @Mock
+    private RedisTemplate<String, String> template;
+    @Mock
+    private ValueOperations<String, String> valueOps;
+    @InjectMocks
+    private JobCheckpointStore jobCheckpointStore;
+
+    @Test
+    void get_withSavedCheckpoint_returnsIt() {
+        // Arrange
+        when(template.opsForValue()).thenReturn(valueOps);
+        when(valueOps.get(KEY)).thenReturn("41");
+
+        // Act
+        Optional<String> checkpoint = jobCheckpointStore.get("align-expired-status");
+
+        // Assert
+        assertEquals(Optional.of("41"), checkpoint);
+    }
+
+    @Test
+    void get_withRedisUnavailable_returnsEmptySoJobStartsOver() {
+        // Arrange
+        when(template.opsForValue()).thenReturn(valueOps);
+        when(valueOps.get(KEY)).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        // Act
+        Optional<String> checkpoint = jobCheckpointStore.get("align-expired-status");
+
+        // Assert
+        assertTrue(checkpoint.isEmpty());
+    }
+
+    @Test
+    void save_always_setsPrefixedKey() {
+        // Arrange
+        when(template.opsForValue()).thenReturn(valueOps);
+
+        // Act
+        jobCheckpointStore.save("align-expired-status", "41");
+
+        // Assert
+        verify(valueOps).set(KEY, "41");
+    }
+
+    @Test
+    void save_withRedisUnavailable_doesNotThrow() {
+        // Arrange
+        when(template.opsForValue()).thenReturn(valueOps);
+        doThrow(new RedisConnectionFailureException("Connection refused")).when(valueOps).set(KEY, "41");
+
+        // Act
+        jobCheckpointStore.save("align-expired-status", "41");
+
+        // Assert
+        verify(valueOps).set(KEY, "41");
+    }
+
+    @Test
+    void clear_always_deletesPrefixedKey() {
+        // Act
+        jobCheckpointStore.clear("align-expired-status");
+
+        // Assert
+        verify(template).delete(KEY);
+    }
+}
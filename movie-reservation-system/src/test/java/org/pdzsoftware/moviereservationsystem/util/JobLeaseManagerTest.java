@@ -0,0 +1,165 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobLeaseManagerTest {
+    private static final String JOB = "job";
+    private static final String LEASE_KEY = "JobLease:job";
+    private static final String FENCING_KEY = "JobFencing:job";
+    private static final Duration LEASE_TIME = Duration.ofSeconds(30);
+
+    @Mock
+    private RedisTemplate<String, String> template;
+    @Mock
+    private ValueOperations<String, String> valueOps;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobLeaseManager jobLeaseManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobLeaseManager = new JobLeaseManager(template, meterRegistry, "node-1");
+
+        lenient().when(template.opsForValue()).thenReturn(valueOps);
+    }
+
+    @Test
+    void runIfLeader_withFreeLease_runsJobAndKeepsLeaseUntilItExpires() {
+        // Arrange
+        when(valueOps.increment(FENCING_KEY)).thenReturn(7L);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:7", LEASE_TIME)).thenReturn(true);
+        List<JobLease> leases = new ArrayList<>();
+
+        // Act
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, leases::add);
+
+        // Assert
+        assertEquals(1, leases.size());
+        assertEquals(7L, leases.get(0).getFencingToken());
+        verify(template, never()).delete(anyString());
+        assertEquals(1.0, meterRegistry.counter("job.lease.acquisitions", "job", JOB, "result", "acquired").count());
+    }
+
+    @Test
+    void runIfLeader_withLeaseHeldByAnotherNode_skipsJob() {
+        // Arrange
+        when(valueOps.increment(FENCING_KEY)).thenReturn(7L);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:7", LEASE_TIME)).thenReturn(false);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // Act
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, lease -> ran.set(true));
+
+        // Assert
+        assertFalse(ran.get());
+        assertEquals(1.0, meterRegistry.counter("job.lease.acquisitions", "job", JOB, "result", "skipped").count());
+    }
+
+    @Test
+    void runIfLeader_withOwnLeaseStillHeld_renewsItForNextTick() {
+        // Arrange
+        when(valueOps.increment(FENCING_KEY)).thenReturn(7L);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:7", LEASE_TIME)).thenReturn(true);
+        when(template.execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), eq("node-1:7"), eq("30000")))
+                .thenReturn(1L);
+        List<JobLease> leases = new ArrayList<>();
+
+        // Act
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, leases::add);
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, leases::add);
+
+        // Assert
+        assertEquals(2, leases.size());
+        assertSame(leases.get(0), leases.get(1));
+        verify(valueOps, times(1)).increment(FENCING_KEY);
+    }
+
+    @Test
+    void runIfLeader_withOwnLeaseExpired_acquiresAgainWithHigherFencingToken() {
+        // Arrange
+        when(valueOps.increment(FENCING_KEY)).thenReturn(7L, 8L);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:7", LEASE_TIME)).thenReturn(true);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:8", LEASE_TIME)).thenReturn(true);
+        when(template.execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), eq("node-1:7"), eq("30000")))
+                .thenReturn(0L);
+        List<JobLease> leases = new ArrayList<>();
+
+        // Act
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, leases::add);
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, leases::add);
+
+        // Assert
+        assertEquals(7L, leases.get(0).getFencingToken());
+        assertEquals(8L, leases.get(1).getFencingToken());
+    }
+
+    @Test
+    void renew_withLeaseStillHeld_extendsItByLeaseTime() {
+        // Arrange
+        when(valueOps.increment(FENCING_KEY)).thenReturn(7L);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:7", LEASE_TIME)).thenReturn(true);
+        when(template.execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), eq("node-1:7"), eq("30000")))
+                .thenReturn(1L);
+        AtomicBoolean renewed = new AtomicBoolean();
+
+        // Act
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, lease -> renewed.set(lease.renew()));
+
+        // Assert
+        assertTrue(renewed.get());
+    }
+
+    @Test
+    void renew_withLeaseTakenOverByAnotherNode_returnsFalse() {
+        // Arrange
+        when(valueOps.increment(FENCING_KEY)).thenReturn(7L);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:7", LEASE_TIME)).thenReturn(true);
+        when(template.execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), eq("node-1:7"), eq("30000")))
+                .thenReturn(0L);
+        AtomicBoolean renewed = new AtomicBoolean(true);
+
+        // Act
+        jobLeaseManager.runIfLeader(JOB, LEASE_TIME, lease -> renewed.set(lease.renew()));
+
+        // Assert
+        assertFalse(renewed.get());
+    }
+
+    @Test
+    void runIfLeader_withLeaseLostBeforeCommit_stopsJobWithoutThrowing() {
+        // Arrange
+        when(valueOps.increment(FENCING_KEY)).thenReturn(7L);
+        when(valueOps.setIfAbsent(LEASE_KEY, "node-1:7", LEASE_TIME)).thenReturn(true);
+        when(template.execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), eq("node-1:7"), eq("30000")))
+                .thenReturn(0L);
+        AtomicBoolean committed = new AtomicBoolean();
+
+        // Act
+        assertDoesNotThrow(() -> jobLeaseManager.runIfLeader(JOB, LEASE_TIME, lease -> {
+            lease.verifyHeld();
+            committed.set(true);
+        }));
+
+        // Assert
+        assertFalse(committed.get());
+    }
+}
@@ -0,0 +1,120 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.exception.custom.ServiceUnavailableException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobSchedulerTest {
+    private static final String EXPIRY_TIMERS_METRIC = "booking.expiry.timers";
+    private static final Long BOOKING_ID = 1L;
+
+    @Mock
+    private BookingJobRunner bookingJobRunner;
+    @Mock
+    private TaskScheduler taskScheduler;
+    @Mock
+    private ScheduledFuture<?> firstTimer;
+    @Mock
+    private ScheduledFuture<?> secondTimer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JobScheduler jobScheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobScheduler = new JobScheduler(bookingJobRunner, taskScheduler, meterRegistry);
+    }
+
+    @Test
+    void scheduleBookingExpiration_withPendingTimer_replacesIt() {
+        // Arrange
+        doReturn(firstTimer, secondTimer).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        when(secondTimer.cancel(false)).thenReturn(true);
+
+        // Act
+        jobScheduler.scheduleBookingExpiration(BOOKING_ID, LocalDateTime.now().plusMinutes(10));
+        jobScheduler.scheduleBookingExpiration(BOOKING_ID, LocalDateTime.now().plusMinutes(20));
+        jobScheduler.cancelBookingExpiration(BOOKING_ID);
+
+        // Assert
+        verify(firstTimer).cancel(false);
+        verify(secondTimer).cancel(false);
+        assertEquals(2.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "scheduled").count());
+        assertEquals(1.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "cancelled").count());
+    }
+
+    @Test
+    void runBookingExpiration_afterBeingReplaced_keepsNewerTimerCancellable() {
+        // Arrange
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(firstTimer, secondTimer).when(taskScheduler).schedule(tasks.capture(), any(Instant.class));
+        when(secondTimer.cancel(false)).thenReturn(true);
+
+        jobScheduler.scheduleBookingExpiration(BOOKING_ID, LocalDateTime.now());
+        jobScheduler.scheduleBookingExpiration(BOOKING_ID, LocalDateTime.now().plusMinutes(10));
+
+        // Act
+        tasks.getAllValues().get(0).run();
+        jobScheduler.cancelBookingExpiration(BOOKING_ID);
+
+        // Assert
+        verify(bookingJobRunner).tryExpiringBooking(BOOKING_ID);
+        verify(secondTimer).cancel(false);
+        assertEquals(1.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "cancelled").count());
+    }
+
+    @Test
+    void runBookingExpiration_whenFired_removesItsOwnEntry() {
+        // Arrange
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(firstTimer).when(taskScheduler).schedule(task.capture(), any(Instant.class));
+
+        jobScheduler.scheduleBookingExpiration(BOOKING_ID, LocalDateTime.now());
+
+        // Act
+        task.getValue().run();
+        jobScheduler.cancelBookingExpiration(BOOKING_ID);
+
+        // Assert
+        verify(firstTimer, never()).cancel(anyBoolean());
+        assertEquals(1.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "fired").count());
+        assertEquals(0.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "cancelled").count());
+    }
+
+    @Test
+    void runBookingExpiration_withProviderUnavailable_schedulesRetry() {
+        // Arrange
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(firstTimer, secondTimer).when(taskScheduler).schedule(tasks.capture(), any(Instant.class));
+        doThrow(new ServiceUnavailableException("Payment provider is unavailable"))
+                .when(bookingJobRunner).tryExpiringBooking(BOOKING_ID);
+        when(secondTimer.cancel(false)).thenReturn(true);
+
+        jobScheduler.scheduleBookingExpiration(BOOKING_ID, LocalDateTime.now());
+
+        // Act
+        tasks.getValue().run();
+        jobScheduler.cancelBookingExpiration(BOOKING_ID);
+
+        // Assert
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+        verify(secondTimer).cancel(false);
+        assertEquals(1.0, meterRegistry.counter(EXPIRY_TIMERS_METRIC, "outcome", "retried").count());
+    }
+}
@@ -0,0 +1,131 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.MovieSessionCountDto;
+import org.pdzsoftware.moviereservationsystem.model.MovieSessionSummary;
+import org.pdzsoftware.moviereservationsystem.repository.MovieSessionSummaryRepository;
+import org.pdzsoftware.moviereservationsystem.repository.SessionRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MovieSessionSummaryJobTest {
+    private static final String REFRESH_JOB = "movie-session-summary";
+
+    @Mock
+    private MovieSessionSummaryRepository summaryRepository;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private JobCheckpointStore jobCheckpointStore;
+    @Mock
+    private JobLeaseManager jobLeaseManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private JobLease lease;
+
+    private MovieSessionSummaryJob movieSessionSummaryJob;
+
+    @BeforeEach
+    void setUp() {
+        movieSessionSummaryJob = new MovieSessionSummaryJob(summaryRepository, sessionRepository,
+                jobCheckpointStore, jobLeaseManager, transactionTemplate);
+        ReflectionTestUtils.setField(movieSessionSummaryJob, "batchSize", 500);
+
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<JobLease>>getArgument(2).accept(lease);
+            return null;
+        }).when(jobLeaseManager).runIfLeader(anyString(), any(), any());
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(lease.renew()).thenReturn(true);
+        lenient().doCallRealMethod().when(lease).verifyHeld();
+    }
+
+    @Test
+    void refreshSummaries_withChangedMovies_recountsEachOnceAndAdvancesWatermark() {
+        // Arrange
+        LocalDateTime watermark = LocalDateTime.now().minusMinutes(5);
+        when(jobCheckpointStore.get(REFRESH_JOB)).thenReturn(Optional.of(watermark.toString()));
+        when(summaryRepository.findMovieIdsWithoutSummary()).thenReturn(Set.of(1L));
+        when(sessionRepository.findMovieIdsWithSessionsChangedAfter(watermark)).thenReturn(Set.of(1L, 2L));
+        when(summaryRepository.findMovieIdsWithNextStartBefore(any(LocalDateTime.class))).thenReturn(Set.of(3L));
+
+        MovieSessionSummary existing = MovieSessionSummary.builder().movieId(2L).upcomingSessionCount(5).build();
+        when(summaryRepository.findAllById(any())).thenReturn(List.of(existing));
+        when(summaryRepository.countUpcomingSessions(any(), any(LocalDateTime.class))).thenReturn(List.of(
+                getMockCount(1L, 2), getMockCount(2L, 4), getMockCount(3L, 0)
+        ));
+
+        ArgumentCaptor<Collection<Long>> movieIdsCaptor = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<List<MovieSessionSummary>> newSummariesCaptor = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        movieSessionSummaryJob.refreshSummaries();
+
+        // Assert
+        verify(summaryRepository).countUpcomingSessions(movieIdsCaptor.capture(), any(LocalDateTime.class));
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(movieIdsCaptor.getValue()));
+
+        verify(summaryRepository).saveAll(newSummariesCaptor.capture());
+        assertEquals(List.of(1L, 3L), newSummariesCaptor.getValue().stream().map(MovieSessionSummary::getMovieId).sorted().toList());
+
+        // Existing rows are updated in place
+        assertEquals(4, existing.getUpcomingSessionCount());
+        assertNotNull(existing.getRefreshedAt());
+
+        verify(jobCheckpointStore).save(eq(REFRESH_JOB), anyString());
+    }
+
+    @Test
+    void refreshSummaries_withoutCheckpoint_looksForChangesSinceTheStart() {
+        // Arrange
+        when(jobCheckpointStore.get(REFRESH_JOB)).thenReturn(Optional.empty());
+
+        // Act
+        movieSessionSummaryJob.refreshSummaries();
+
+        // Assert
+        verify(sessionRepository).findMovieIdsWithSessionsChangedAfter(LocalDateTime.of(1970, 1, 1, 0, 0));
+        verify(summaryRepository, never()).countUpcomingSessions(any(), any());
+        verify(jobCheckpointStore).save(eq(REFRESH_JOB), anyString());
+    }
+
+    @Test
+    void refreshSummaries_withLeaseLost_rollsBackBatchAndKeepsWatermark() {
+        // Arrange
+        when(jobCheckpointStore.get(REFRESH_JOB)).thenReturn(Optional.empty());
+        when(summaryRepository.findMovieIdsWithoutSummary()).thenReturn(Set.of(1L));
+        when(summaryRepository.countUpcomingSessions(any(), any(LocalDateTime.class)))
+                .thenReturn(List.of(getMockCount(1L, 2)));
+        when(lease.renew()).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(LeaseLostException.class, () -> movieSessionSummaryJob.refreshSummaries());
+        verify(jobCheckpointStore, never()).save(anyString(), anyString());
+    }
+
+    private static MovieSessionCountDto getMockCount(Long movieId, long upcomingSessionCount) {
+        return new MovieSessionCountDto(movieId, upcomingSessionCount, LocalDateTime.now().plusDays(1));
+    }
+}
@@ -0,0 +1,155 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final String GROUP = "movie-list";
+    private static final String SAVED_EXECUTIONS_METRIC = "singleflight.saved.executions";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight(meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_withConcurrentCallers_sharesOneExecution() throws Exception {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        Future<String> owner = executor.submit(() -> singleFlight.execute(GROUP, "key", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<String> joiner = executor.submit(() -> singleFlight.execute(GROUP, "key", () -> {
+            executions.incrementAndGet();
+            return "other";
+        }));
+        waitForSavedExecutions(1);
+        release.countDown();
+
+        // Assert
+        assertEquals("result", owner.get(5, TimeUnit.SECONDS));
+        assertEquals("result", joiner.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void execute_withFailingExecution_throwsSameExceptionToJoiners() throws Exception {
+        // Arrange
+        IllegalStateException failure = new IllegalStateException("Database unavailable");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        Future<String> owner = executor.submit(() -> singleFlight.<String>execute(GROUP, "key", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<String> joiner = executor.submit(() -> singleFlight.execute(GROUP, "key", () -> "other"));
+        waitForSavedExecutions(1);
+        release.countDown();
+
+        // Assert
+        ExecutionException ownerException = assertThrows(ExecutionException.class, () -> owner.get(5, TimeUnit.SECONDS));
+        ExecutionException joinerException = assertThrows(ExecutionException.class, () -> joiner.get(5, TimeUnit.SECONDS));
+        assertSame(failure, ownerException.getCause());
+        assertSame(failure, joinerException.getCause());
+    }
+
+    @Test
+    void execute_afterExecutionFinished_runsAgainWithoutCountingSavedExecution() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        String first = singleFlight.execute(GROUP, "key", () -> "result-" + executions.incrementAndGet());
+        String second = singleFlight.execute(GROUP, "key", () -> "result-" + executions.incrementAndGet());
+
+        // Assert
+        assertEquals("result-1", first);
+        assertEquals("result-2", second);
+        assertEquals(0.0, meterRegistry.counter(SAVED_EXECUTIONS_METRIC, "group", GROUP).count());
+    }
+
+    @Test
+    void execute_afterExecutionFailed_runsAgain() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(GROUP, "key", () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("Database unavailable");
+        }));
+        String result = singleFlight.execute(GROUP, "key", () -> "result-" + executions.incrementAndGet());
+
+        // Assert
+        assertEquals("result-2", result);
+    }
+
+    @Test
+    void execute_withDifferentKeys_runsEachExecution() {
+        // Arrange
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        singleFlight.execute(GROUP, "first", executions::incrementAndGet);
+        singleFlight.execute(GROUP, "second", executions::incrementAndGet);
+        singleFlight.execute("movie-sessions", "first", executions::incrementAndGet);
+
+        // Assert
+        assertEquals(3, executions.get());
+    }
+
+    private void waitForSavedExecutions(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (meterRegistry.counter(SAVED_EXECUTIONS_METRIC, "group", GROUP).count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Second caller never joined the execution");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+    private static final String CACHE_NAME = "movies";
+    private static final String CHANNEL = "catalog-cache-invalidations";
+    private static final String REMOTE_KEY = TwoTierCache.KEY_PREFIX + CACHE_NAME + ":1";
+    private static final Duration REMOTE_TTL = Duration.ofMinutes(5);
+    private static final String REMOTE_GETS_METRIC = "cache.remote.gets";
+
+    @Mock
+    private RedisTemplate<String, String> template;
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+    @Mock
+    private Callable<String> valueLoader;
+    @Mock
+    private BiConsumer<String, String> evictionListener;
+
+    private Cache<String, Object> localCache;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCache twoTierCache;
+
+    @BeforeEach
+    void setUp() {
+        localCache = Caffeine.newBuilder().build();
+        meterRegistry = new SimpleMeterRegistry();
+        twoTierCache = new TwoTierCache(CACHE_NAME, localCache, template,
+                TwoTierCache.jsonCodec(new ObjectMapper(), String.class), REMOTE_TTL, CHANNEL, evictionListener, meterRegistry);
+
+        lenient().when(template.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void get_withLocalHit_skipsRemoteAndLoader() throws Exception {
+        // Arrange
+        localCache.put("1", "local");
+
+        // Act
+        String value = twoTierCache.get(1L, valueLoader);
+
+        // Assert
+        assertEquals("local", value);
+        verifyNoInteractions(template);
+        verify(valueLoader, never()).call();
+    }
+
+    @Test
+    void get_withRemoteHit_keepsItLocallyWithoutLoading() throws Exception {
+        // Arrange
+        when(valueOperations.get(REMOTE_KEY)).thenReturn("\"remote\"");
+
+        // Act
+        String first = twoTierCache.get(1L, valueLoader);
+        String second = twoTierCache.get(1L, valueLoader);
+
+        // Assert
+        assertEquals("remote", first);
+        assertEquals("remote", second);
+        assertEquals("remote", localCache.getIfPresent("1"));
+        verify(valueOperations, times(1)).get(REMOTE_KEY);
+        verify(valueLoader, never()).call();
+        assertEquals(1.0, meterRegistry.counter(REMOTE_GETS_METRIC, "cache", CACHE_NAME, "result", "hit").count());
+    }
+
+    @Test
+    void get_withMissOnBothTiers_loadsAndWritesBothTiers() throws Exception {
+        // Arrange
+        when(valueLoader.call()).thenReturn("loaded");
+
+        // Act
+        String value = twoTierCache.get(1L, valueLoader);
+
+        // Assert
+        assertEquals("loaded", value);
+        assertEquals("loaded", localCache.getIfPresent("1"));
+        verify(valueOperations).set(REMOTE_KEY, "\"loaded\"", REMOTE_TTL);
+        assertEquals(1.0, meterRegistry.counter(REMOTE_GETS_METRIC, "cache", CACHE_NAME, "result", "miss").count());
+    }
+
+    @Test
+    void get_withNullValue_cachesItOnBothTiers() throws Exception {
+        // Arrange
+        when(valueLoader.call()).thenReturn(null);
+
+        // Act
+        String first = twoTierCache.get(1L, valueLoader);
+        String second = twoTierCache.get(1L, valueLoader);
+
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        verify(valueLoader, times(1)).call();
+        verify(valueOperations).set(REMOTE_KEY, "", REMOTE_TTL);
+    }
+
+    @Test
+    void get_withRemoteFailing_fallsBackToLoader() throws Exception {
+        // Arrange
+        when(valueOperations.get(REMOTE_KEY)).thenThrow(new RedisConnectionFailureException("Redis is down"));
+        doThrow(new RedisConnectionFailureException("Redis is down"))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(valueLoader.call()).thenReturn("loaded");
+
+        // Act
+        String value = twoTierCache.get(1L, valueLoader);
+
+        // Assert
+        assertEquals("loaded", value);
+        assertEquals("loaded", localCache.getIfPresent("1"));
+        assertEquals(1.0, meterRegistry.counter(REMOTE_GETS_METRIC, "cache", CACHE_NAME, "result", "error").count());
+    }
+
+    @Test
+    void evict_always_dropsBothTiersNotifiesAndPublishesTheKey() {
+        // Arrange
+        localCache.put("1", "local");
+
+        // Act
+        twoTierCache.evict(1L);
+
+        // Assert
+        assertNull(localCache.getIfPresent("1"));
+        verify(template).delete(REMOTE_KEY);
+        verify(evictionListener).accept(CACHE_NAME, "1");
+        verify(template).convertAndSend(CHANNEL, CACHE_NAME + ":1");
+    }
+
+    @Test
+    void evict_withFailingListener_stillPublishesTheKey() {
+        // Arrange
+        doThrow(new RedisConnectionFailureException("Redis is down")).when(evictionListener).accept(CACHE_NAME, "1");
+
+        // Act
+        twoTierCache.evict(1L);
+
+        // Assert
+        verify(template).convertAndSend(CHANNEL, CACHE_NAME + ":1");
+    }
+
+    @Test
+    void evictLocal_withKey_dropsOnlyThatLocalEntry() {
+        // Arrange
+        localCache.put("1", "first");
+        localCache.put("2", "second");
+
+        // Act
+        twoTierCache.evictLocal("1");
+
+        // Assert
+        assertNull(localCache.getIfPresent("1"));
+        assertEquals("second", localCache.getIfPresent("2"));
+        verifyNoInteractions(template, evictionListener);
+    }
+
+    @Test
+    void evictLocal_withClearAll_dropsEveryLocalEntry() {
+        // Arrange
+        localCache.put("1", "first");
+        localCache.put("2", "second");
+
+        // Act
+        twoTierCache.evictLocal(TwoTierCache.CLEAR_ALL);
+
+        // Assert
+        assertEquals(0, localCache.estimatedSize());
+        verifyNoInteractions(template, evictionListener);
+    }
+}
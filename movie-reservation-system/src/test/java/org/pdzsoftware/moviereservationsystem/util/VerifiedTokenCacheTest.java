@@ -0,0 +1,89 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.dto.AuthenticatedUserDto;
+import org.pdzsoftware.moviereservationsystem.exception.custom.UnauthorizedException;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+    private static final String TOKEN = "access-token";
+    private static final String VERIFICATION_METRIC = "auth.token.verification";
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtils, meterRegistry, 100, 5);
+    }
+
+    @Test
+    void verify_withValidToken_checksSignatureOnceAndServesRepeatsFromCache() {
+        // Arrange
+        AuthenticatedUserDto principal = getMockPrincipal(Instant.now().plusSeconds(600));
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(principal);
+
+        // Act
+        AuthenticatedUserDto first = verifiedTokenCache.verify(TOKEN);
+        AuthenticatedUserDto second = verifiedTokenCache.verify(TOKEN);
+
+        // Assert
+        assertSame(principal, first);
+        assertSame(principal, second);
+        verify(jwtUtils, times(1)).verifyToken(TOKEN);
+        assertEquals(1, meterRegistry.timer(VERIFICATION_METRIC, "source", "signature").count());
+        assertEquals(1, meterRegistry.timer(VERIFICATION_METRIC, "source", "cache").count());
+    }
+
+    @Test
+    void verify_withInvalidToken_throwsAndNeverCachesIt() {
+        // Arrange
+        when(jwtUtils.verifyToken(TOKEN)).thenThrow(new UnauthorizedException("Invalid JWT token"));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> verifiedTokenCache.verify(TOKEN));
+        assertThrows(UnauthorizedException.class, () -> verifiedTokenCache.verify(TOKEN));
+        verify(jwtUtils, times(2)).verifyToken(TOKEN);
+    }
+
+    @Test
+    void verify_withExpiredToken_checksSignatureAgain() {
+        // Arrange
+        AuthenticatedUserDto principal = getMockPrincipal(Instant.now().minusSeconds(1));
+        when(jwtUtils.verifyToken(TOKEN)).thenReturn(principal);
+
+        // Act
+        verifiedTokenCache.verify(TOKEN);
+        verifiedTokenCache.verify(TOKEN);
+
+        // Assert
+        verify(jwtUtils, times(2)).verifyToken(TOKEN);
+    }
+
+    @Test
+    void verify_withNullToken_throwsWithoutVerifying() {
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> verifiedTokenCache.verify(null));
+        verifyNoInteractions(jwtUtils);
+    }
+
+    private static AuthenticatedUserDto getMockPrincipal(Instant expiresAt) {
+        return new AuthenticatedUserDto(1L, "user@example.com", "ROLE_CUSTOMER", expiresAt);
+    }
+}
@@ -0,0 +1,182 @@
+package org.pdzsoftware.moviereservationsystem.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pdzsoftware.moviereservationsystem.model.WebhookEvent;
+import org.pdzsoftware.moviereservationsystem.repository.BookingRepository;
+import org.pdzsoftware.moviereservationsystem.repository.WebhookEventRepository;
+import org.pdzsoftware.moviereservationsystem.service.impl.StripeWebhookService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.pdzsoftware.moviereservationsystem.enums.WebhookEventStatus.*;
+import static org.pdzsoftware.moviereservationsystem.service.impl.WebhookInboxService.INBOX_METRIC;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookInboxWorkerTest {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_DELAY_MS = 1000L;
+
+    @Mock
+    private WebhookEventRepository webhookEventRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private StripeWebhookService stripeWebhookService;
+    @Mock
+    private JobLeaseManager jobLeaseManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private JobLease lease;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WebhookInboxWorker webhookInboxWorker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        webhookInboxWorker = new WebhookInboxWorker(webhookEventRepository, bookingRepository, stripeWebhookService,
+                jobLeaseManager, transactionTemplate, meterRegistry);
+
+        // A single lane, so every event of a poll is handled in one micro-batch
+        ReflectionTestUtils.setField(webhookInboxWorker, "laneCount", 1);
+        ReflectionTestUtils.setField(webhookInboxWorker, "batchSize", 10);
+        ReflectionTestUtils.setField(webhookInboxWorker, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(webhookInboxWorker, "retryBaseDelayMs", RETRY_BASE_DELAY_MS);
+        webhookInboxWorker.init();
+
+        lenient().when(lease.renew()).thenReturn(true);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<JobLease>>getArgument(2).accept(lease);
+            return null;
+        }).when(jobLeaseManager).runIfLeader(anyString(), any(), any());
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        lenient().when(bookingRepository.findReadOnlyByIdIn(any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        webhookInboxWorker.shutdown();
+    }
+
+    @Test
+    void processInbox_withFailingEvent_backsOffAndKeepsItReceived() {
+        // Arrange
+        WebhookEvent webhookEvent = getMockEvent(1L, 10L, 1);
+        mockPoll(List.of(webhookEvent));
+        doThrow(new IllegalStateException("Booking not found"))
+                .when(stripeWebhookService).handleStripeEvent(any(), anyMap());
+
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        webhookInboxWorker.processInbox();
+
+        // Assert
+        assertEquals(RECEIVED, webhookEvent.getEventStatus());
+        assertEquals(2, webhookEvent.getAttempts());
+        assertEquals("Booking not found", webhookEvent.getLastError());
+        // Second attempt, so twice the base delay
+        assertTrue(!webhookEvent.getNextAttemptAt().isBefore(before.plusSeconds(2)));
+        assertTrue(webhookEvent.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(3)));
+        assertEquals(1.0, meterRegistry.counter(INBOX_METRIC, "outcome", "retried").count());
+    }
+
+    @Test
+    void processInbox_withLastAttemptFailing_marksEventFailed() {
+        // Arrange
+        WebhookEvent webhookEvent = getMockEvent(1L, 10L, MAX_ATTEMPTS - 1);
+        mockPoll(List.of(webhookEvent));
+        doThrow(new IllegalStateException("Booking not found"))
+                .when(stripeWebhookService).handleStripeEvent(any(), anyMap());
+
+        // Act
+        webhookInboxWorker.processInbox();
+
+        // Assert
+        assertEquals(FAILED, webhookEvent.getEventStatus());
+        assertEquals(MAX_ATTEMPTS, webhookEvent.getAttempts());
+        assertEquals(1.0, meterRegistry.counter(INBOX_METRIC, "outcome", "failed").count());
+    }
+
+    @Test
+    void processInbox_withEarlierEventOfBookingFailing_holdsLaterOnesWithoutCountingAttempts() {
+        // Arrange
+        WebhookEvent failing = getMockEvent(1L, 10L, 0);
+        WebhookEvent sameBooking = getMockEvent(2L, 10L, 0);
+        WebhookEvent otherBooking = getMockEvent(3L, 20L, 0);
+        mockPoll(List.of(failing, sameBooking, otherBooking));
+        doThrow(new IllegalStateException("Booking not found"))
+                .when(stripeWebhookService).handleStripeEvent(argThat(event -> "evt_1".equals(event.getId())), anyMap());
+
+        // Act
+        webhookInboxWorker.processInbox();
+
+        // Assert
+        assertEquals(RECEIVED, failing.getEventStatus());
+        assertEquals(1, failing.getAttempts());
+        assertEquals(RECEIVED, sameBooking.getEventStatus());
+        assertEquals(0, sameBooking.getAttempts());
+        assertEquals(PROCESSED, otherBooking.getEventStatus());
+
+        verify(stripeWebhookService, never()).handleStripeEvent(argThat(event -> "evt_2".equals(event.getId())), anyMap());
+    }
+
+    @Test
+    void processInbox_always_pollsOnlyDueEvents() {
+        // Arrange
+        when(webhookEventRepository.findIdsByStatus(eq(RECEIVED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        webhookInboxWorker.processInbox();
+
+        // Assert
+        verify(webhookEventRepository).findIdsByStatus(eq(RECEIVED), any(LocalDateTime.class), any(Pageable.class));
+        verify(webhookEventRepository, never()).claimAll(any(), any());
+    }
+
+    private void mockPoll(List<WebhookEvent> webhookEvents) {
+        List<Long> eventIds = webhookEvents.stream().map(WebhookEvent::getId).toList();
+
+        when(webhookEventRepository.findIdsByStatus(eq(RECEIVED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(eventIds);
+        when(webhookEventRepository.claimAll(eq(eventIds), any())).thenReturn(eventIds.size());
+        when(webhookEventRepository.findAllById(eventIds)).thenReturn(webhookEvents);
+    }
+
+    private static WebhookEvent getMockEvent(Long id, Long bookingId, int attempts) {
+        return WebhookEvent.builder()
+                .id(id)
+                .providerEventId("evt_" + id)
+                .eventType("checkout.session.completed")
+                .bookingId(bookingId)
+                .payload("{\"id\":\"evt_" + id + "\",\"type\":\"checkout.session.completed\"}")
+                .eventStatus(PROCESSING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
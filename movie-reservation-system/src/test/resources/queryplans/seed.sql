@@ -0,0 +1,65 @@
+-- Production shaped volumes, so the planner only picks an index when one actually fits the query.
+-- IDs start past the ones inserted by V2__init_data.sql, which sets explicit IDs.
+
+insert into tb_theater (id, theater_name, full_address_line, created_at, updated_at)
+select 1000000 + g, 'Theater ' || g, 'Address ' || g, now(), now()
+from generate_series(1, 20) g;
+
+insert into tb_screen (id, screen_name, theater_fk, created_at, updated_at)
+select 1000000 + g, 'Screen ' || g, 1000001 + g % 20, now(), now()
+from generate_series(1, 200) g;
+
+insert into tb_seat (id, seat_row, seat_number, seat_type, screen_fk, created_at, updated_at)
+select 1000000 + g, chr(65 + (g - 1) / 15 % 10), 1 + (g - 1) % 15, 'STANDARD', 1000001 + (g - 1) / 150, now(), now()
+from generate_series(1, 30000) g;
+
+insert into tb_movie (id, title, description, genre, minutes_duration, release_date, created_at, updated_at)
+select 1000000 + g, 'Movie ' || g, 'Description ' || g, 'ACTION', 120, current_date - 30, now(), now()
+from generate_series(1, 500) g;
+
+-- Sessions from 100 days ago to 38 days ahead, created well before the summary job watermark
+insert into tb_session (id, screen_fk, movie_fk, start_time, end_time, standard_seat_price, vip_seat_price,
+                        pwd_seat_price, has_subtitles, audio_language, is_threed, created_at, updated_at)
+select 1000000 + g,
+       1000001 + g % 200,
+       1000001 + g % 500,
+       now() - interval '100 days' + g * interval '4 minutes',
+       now() - interval '100 days' + g * interval '4 minutes' + interval '2 hours',
+       20, 40, 10, false, 'ENGLISH', false,
+       now() - interval '200 days' + g * interval '1 minute',
+       now() - interval '200 days' + g * interval '1 minute'
+from generate_series(1, 50000) g;
+
+insert into tb_user (id, user_name, email, password_hash, user_role, created_at, updated_at)
+select 1000000 + g, 'User ' || g, 'user' || g || '@queryplans.test', 'hash', 'CUSTOMER', now(), now()
+from generate_series(1, 50000) g;
+
+-- Mostly settled bookings, a few percent still holding seats or waiting in a cleanup queue
+insert into tb_booking (id, user_fk, session_fk, booking_status, total_price, checkout_id, payment_intent_id,
+                        qr_code_validated, created_at, updated_at, expires_at)
+select 1000000 + g,
+       1000001 + g % 50000,
+       1000001 + (g * 7) % 50000,
+       case
+           when g % 50 = 0 then 'AWAITING_PAYMENT'
+           when g % 50 = 1 then 'PAYMENT_RETRY'
+           when g % 50 in (2, 3) then 'PAYMENT_CONFIRMED'
+           when g % 50 = 4 then 'AWAITING_DELETION'
+           when g % 50 in (5, 6) then 'EXPIRED'
+           when g % 50 < 12 then 'CANCELLED'
+           else 'PAST'
+       end,
+       40,
+       'checkout-' || g,
+       'intent-' || g,
+       false,
+       now() - interval '100 days' + g * interval '10 seconds',
+       now() - interval '100 days' + g * interval '10 seconds',
+       now() - interval '100 days' + g * interval '10 seconds' + interval '10 minutes'
+from generate_series(1, 500000) g;
+
+insert into tb_booked_seat (id, booking_id, seat_id, seat_price, created_at, updated_at)
+select 1000000 + g, 1000001 + (g - 1) / 2, 1000001 + g % 30000, 20, now(), now()
+from generate_series(1, 1000000) g;
+
+analyze;